@@ -0,0 +1,302 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.juanfridano.cihealthchecker.benchmark.SyntheticPayloads.SyntheticRun;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetSocketAddress;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Stand-in for {@code GET /repos/{owner}/{repo}/actions/runs} and its per-workflow variant
+ * {@code /actions/workflows/{id}/runs}, so the fetch path can be load tested without touching api.github.com. Every repository gets a deterministic set of runs spread over the last {@code days}
+ * days; pages carry the real payload shape plus ETag and X-RateLimit-* headers, and the server can add page
+ * latency and random 5xx responses.
+ * <p>
+ * Standalone: {@code java -cp <test classpath> ...FakeGitHubServer port=8089 latencyMs=150 errorRate=0.02}
+ */
+final class FakeGitHubServer implements AutoCloseable {
+
+    private static final Pattern RUNS_PATH = Pattern.compile("/repos/([^/]+)/([^/]+)/actions(?:/workflows/(\\d+))?/runs/?");
+    private static final int[] ERROR_STATUSES = {500, 502, 503};
+
+    record Settings(int port, int runsPerRepository, int workflowNames, int days, Duration latency,
+                    Duration latencyJitter, double errorRate, int rateLimit, long seed) {
+
+        static Settings parse(Map<String, String> args) {
+            return new Settings(
+                Integer.parseInt(args.getOrDefault("port", "0")),
+                Integer.parseInt(args.getOrDefault("runsPerRepo", "5000")),
+                Integer.parseInt(args.getOrDefault("workflowNames", "50")),
+                Integer.parseInt(args.getOrDefault("days", "30")),
+                Duration.ofMillis(Long.parseLong(args.getOrDefault("latencyMs", "100"))),
+                Duration.ofMillis(Long.parseLong(args.getOrDefault("jitterMs", "50"))),
+                Double.parseDouble(args.getOrDefault("errorRate", "0")),
+                Integer.parseInt(args.getOrDefault("rateLimit", "5000")),
+                Long.parseLong(args.getOrDefault("seed", "42")));
+        }
+    }
+
+    private final Settings settings;
+    private final HttpServer server;
+    private final OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+    private final Map<String, List<SyntheticRun>> datasets = new ConcurrentHashMap<>();
+
+    private final Object rateLimitLock = new Object();
+    private long remaining;
+    private long resetEpochSecond;
+
+    private final AtomicLong requests = new AtomicLong();
+    private final AtomicLong notModified = new AtomicLong();
+    private final AtomicLong injectedErrors = new AtomicLong();
+    private final AtomicLong rateLimited = new AtomicLong();
+
+    FakeGitHubServer(Settings settings) throws IOException {
+        this.settings = settings;
+        this.remaining = settings.rateLimit();
+        this.resetEpochSecond = Instant.now().getEpochSecond() + 3600;
+        this.server = HttpServer.create(new InetSocketAddress("localhost", settings.port()), 0);
+        this.server.setExecutor(Executors.newVirtualThreadPerTaskExecutor());
+        this.server.createContext("/", this::handle);
+    }
+
+    public static void main(String[] args) throws IOException {
+        FakeGitHubServer server = new FakeGitHubServer(Settings.parse(parseArgs(args)));
+        server.start();
+        System.out.println("Fake GitHub API listening on " + server.baseUrl());
+    }
+
+    static Map<String, String> parseArgs(String[] args) {
+        Map<String, String> parsed = new HashMap<>();
+        for (String arg : args) {
+            int eq = arg.indexOf('=');
+            if (eq > 0) {
+                parsed.put(arg.substring(0, eq), arg.substring(eq + 1));
+            }
+        }
+        return parsed;
+    }
+
+    void start() {
+        server.start();
+    }
+
+    String baseUrl() {
+        return "http://localhost:" + server.getAddress().getPort();
+    }
+
+    String stats() {
+        return String.format("requests=%d notModified=%d injected5xx=%d rateLimited=%d",
+            requests.get(), notModified.get(), injectedErrors.get(), rateLimited.get());
+    }
+
+    @Override
+    public void close() {
+        server.stop(0);
+    }
+
+    private void handle(HttpExchange exchange) throws IOException {
+        try (exchange) {
+            requests.incrementAndGet();
+            Matcher path = RUNS_PATH.matcher(exchange.getRequestURI().getPath());
+            if (!"GET".equals(exchange.getRequestMethod()) || !path.matches()) {
+                send(exchange, 404, "{\"message\":\"Not Found\"}");
+                return;
+            }
+            sleepLatency();
+
+            long remainingAfter = consumeQuota();
+            if (remainingAfter < 0) {
+                rateLimited.incrementAndGet();
+                addRateLimitHeaders(exchange, 0);
+                send(exchange, 403, "{\"message\":\"API rate limit exceeded\"}");
+                return;
+            }
+            addRateLimitHeaders(exchange, remainingAfter);
+
+            ThreadLocalRandom random = ThreadLocalRandom.current();
+            if (settings.errorRate() > 0 && random.nextDouble() < settings.errorRate()) {
+                injectedErrors.incrementAndGet();
+                send(exchange, ERROR_STATUSES[random.nextInt(ERROR_STATUSES.length)], "{\"message\":\"Server Error\"}");
+                return;
+            }
+
+            Map<String, String> query = parseQuery(exchange.getRequestURI().getRawQuery());
+            int perPage = Math.min(100, Integer.parseInt(query.getOrDefault("per_page", "30")));
+            int page = Math.max(1, Integer.parseInt(query.getOrDefault("page", "1")));
+            List<SyntheticRun> matching = filterCreated(dataset(path.group(1) + "/" + path.group(2)), query.get("created"));
+            matching = filterAttributes(matching, path.group(3), query);
+
+            int from = Math.min(matching.size(), (page - 1) * perPage);
+            List<SyntheticRun> slice = matching.subList(from, Math.min(matching.size(), from + perPage));
+            String etag = "\"" + Long.toHexString(slice.stream().mapToLong(SyntheticRun::id).reduce(matching.size(), (h, id) -> h * 31 + id)) + "\"";
+            exchange.getResponseHeaders().set("ETag", etag);
+            if (etag.equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                notModified.incrementAndGet();
+                exchange.sendResponseHeaders(304, -1);
+                return;
+            }
+            send(exchange, 200, SyntheticPayloads.page(slice, matching.size()));
+        }
+    }
+
+    // Conditional requests answered with 304 don't count against the budget on GitHub, but we can only tell
+    // after the lookup; charging up front keeps the fake on the pessimistic side.
+    private long consumeQuota() {
+        synchronized (rateLimitLock) {
+            long nowSecond = Instant.now().getEpochSecond();
+            if (nowSecond >= resetEpochSecond) {
+                remaining = settings.rateLimit();
+                resetEpochSecond = nowSecond + 3600;
+            }
+            return remaining > 0 ? --remaining : -1;
+        }
+    }
+
+    private void addRateLimitHeaders(HttpExchange exchange, long remainingAfter) {
+        exchange.getResponseHeaders().set("X-RateLimit-Limit", String.valueOf(settings.rateLimit()));
+        exchange.getResponseHeaders().set("X-RateLimit-Remaining", String.valueOf(remainingAfter));
+        synchronized (rateLimitLock) {
+            exchange.getResponseHeaders().set("X-RateLimit-Reset", String.valueOf(resetEpochSecond));
+        }
+    }
+
+    private void sleepLatency() {
+        long millis = settings.latency().toMillis();
+        long jitter = settings.latencyJitter().toMillis();
+        if (jitter > 0) {
+            millis += ThreadLocalRandom.current().nextLong(jitter + 1);
+        }
+        if (millis <= 0) return;
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private List<SyntheticRun> dataset(String repository) {
+        return datasets.computeIfAbsent(repository, name -> {
+            Random random = new Random(settings.seed() ^ name.hashCode());
+            int span = settings.days() * 24 * 3600;
+            OffsetDateTime from = now.minusSeconds(span);
+            List<SyntheticRun> runs = new ArrayList<>(settings.runsPerRepository());
+            for (int i = 0; i < settings.runsPerRepository(); i++) {
+                runs.add(SyntheticPayloads.randomRun(i + 1, random, settings.workflowNames(), from, span));
+            }
+            // GitHub returns newest first
+            runs.sort(Comparator.comparing(SyntheticRun::createdAt).reversed());
+            return List.copyOf(runs);
+        });
+    }
+
+    /**
+     * Supports the qualifier forms the client sends: {@code >X}, {@code >=X}, {@code <X}, {@code <=X} and
+     * {@code X..Y}, where X is a date or an ISO-8601 timestamp.
+     */
+    static List<SyntheticRun> filterCreated(List<SyntheticRun> runs, String created) {
+        if (created == null || created.isBlank()) return runs;
+        OffsetDateTime lower = null;
+        OffsetDateTime upper = null;
+        boolean lowerInclusive = true;
+        boolean upperInclusive = true;
+        int range = created.indexOf("..");
+        if (range >= 0) {
+            lower = parseBound(created.substring(0, range), false);
+            upper = parseBound(created.substring(range + 2), true);
+        } else if (created.startsWith(">=")) {
+            lower = parseBound(created.substring(2), false);
+        } else if (created.startsWith(">")) {
+            lower = parseBound(created.substring(1), true);
+            lowerInclusive = false;
+        } else if (created.startsWith("<=")) {
+            upper = parseBound(created.substring(2), true);
+        } else if (created.startsWith("<")) {
+            upper = parseBound(created.substring(1), false);
+            upperInclusive = false;
+        } else {
+            lower = parseBound(created, false);
+            upper = parseBound(created, true);
+        }
+        List<SyntheticRun> matching = new ArrayList<>();
+        for (SyntheticRun run : runs) {
+            OffsetDateTime at = run.createdAt();
+            if (lower != null && (lowerInclusive ? at.isBefore(lower) : !at.isAfter(lower))) continue;
+            if (upper != null && (upperInclusive ? at.isAfter(upper) : !at.isBefore(upper))) continue;
+            matching.add(run);
+        }
+        return matching;
+    }
+
+    // Every synthetic run is completed, so a status filter only matches "completed" or a conclusion
+    private static List<SyntheticRun> filterAttributes(List<SyntheticRun> runs, String workflowId, Map<String, String> query) {
+        String status = query.get("status");
+        String branch = query.get("branch");
+        String event = query.get("event");
+        if (workflowId == null && status == null && branch == null && event == null) return runs;
+        List<SyntheticRun> matching = new ArrayList<>();
+        for (SyntheticRun run : runs) {
+            if (workflowId != null && run.workflowId() != Long.parseLong(workflowId)) continue;
+            if (status != null && !"completed".equals(status) && !status.equals(run.conclusion())) continue;
+            if (branch != null && !branch.equals(run.headBranch())) continue;
+            if (event != null && !event.equals(run.event())) continue;
+            matching.add(run);
+        }
+        return matching;
+    }
+
+    // A bare date stands for the whole day, so its end is the last second of that day
+    private static OffsetDateTime parseBound(String value, boolean endOfDay) {
+        if (value.isEmpty() || "*".equals(value)) return null;
+        if (value.length() == 10) {
+            OffsetDateTime start = LocalDate.parse(value).atStartOfDay().atOffset(ZoneOffset.UTC);
+            return endOfDay ? start.plusDays(1).minusNanos(1) : start;
+        }
+        return OffsetDateTime.parse(value);
+    }
+
+    private static Map<String, String> parseQuery(String rawQuery) {
+        Map<String, String> query = new HashMap<>();
+        if (rawQuery == null) return query;
+        for (String pair : rawQuery.split("&")) {
+            int eq = pair.indexOf('=');
+            if (eq > 0) {
+                query.put(URLDecoder.decode(pair.substring(0, eq), StandardCharsets.UTF_8),
+                    URLDecoder.decode(pair.substring(eq + 1), StandardCharsets.UTF_8));
+            }
+        }
+        return query;
+    }
+
+    private static void send(HttpExchange exchange, int status, String body) throws IOException {
+        send(exchange, status, body.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static void send(HttpExchange exchange, int status, byte[] body) throws IOException {
+        exchange.getResponseHeaders().set("Content-Type", "application/json; charset=utf-8");
+        exchange.sendResponseHeaders(status, body.length);
+        try (OutputStream out = exchange.getResponseBody()) {
+            out.write(body);
+        }
+    }
+}
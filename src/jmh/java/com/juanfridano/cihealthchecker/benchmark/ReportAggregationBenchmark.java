@@ -0,0 +1,92 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.service.CiReportService;
+import com.juanfridano.cihealthchecker.service.WorkflowRunAggregator;
+import com.juanfridano.cihealthchecker.service.WorkflowRunFetcher;
+import com.juanfridano.cihealthchecker.store.RunColumns;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Aggregation cost of a report once the pages are decoded: the bare aggregator, the same aggregation over
+ * {@link RunColumns}, and {@link CiReportService#generateReport} on top of a fetcher that replays in-memory pages.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = "-Xmx4g")
+public class ReportAggregationBenchmark {
+
+    private static final OffsetDateTime SINCE = OffsetDateTime.parse("2025-05-01T00:00:00Z");
+
+    @Param({"10000", "100000", "1000000"})
+    public int runs;
+
+    @Param({"50", "500", "5000"})
+    public int workflowNames;
+
+    private List<List<WorkflowRun>> pages;
+    private CiReportService reportService;
+    private RunColumns columns;
+
+    @Setup
+    public void setUp() {
+        pages = SyntheticRuns.pages(runs, workflowNames, 100, 42);
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.setOwner("camunda");
+        gitHubProperties.setRepo("camunda");
+        WorkflowRunFetcher replayingFetcher = new WorkflowRunFetcher(List.of(), gitHubProperties, new SimpleMeterRegistry()) {
+            @Override
+            public void fetchRuns(Collection<RepositoryRef> repositories, String createdQuery, RunFilter filter,
+                                  Consumer<? super List<WorkflowRun>> pageConsumer) {
+                pages.forEach(pageConsumer);
+            }
+        };
+        columns = new RunColumns(runs);
+        pages.forEach(page -> page.forEach(columns::put));
+        reportService = new CiReportService(replayingFetcher, Optional.empty(), Optional.empty(), Optional.empty(), gitHubProperties, new SimpleMeterRegistry());
+    }
+
+    @Benchmark
+    public List<CiHealthReportEntry> aggregate() {
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        pages.forEach(aggregator);
+        return aggregator.toEntries();
+    }
+
+    @Benchmark
+    public List<CiHealthReportEntry> aggregateColumns() {
+        return columns.aggregate(Set.of("camunda/camunda"), SINCE);
+    }
+
+    @Benchmark
+    public List<CiHealthReportEntry> generateReport() {
+        return reportService.generateReport(OffsetDateTime.now().minusDays(30));
+    }
+}
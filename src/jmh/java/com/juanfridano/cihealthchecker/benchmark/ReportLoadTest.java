@@ -0,0 +1,122 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.juanfridano.cihealthchecker.CihealthcheckerApplication;
+import org.springframework.boot.SpringApplication;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+/**
+ * End-to-end load scenario: boots the application against a {@link FakeGitHubServer} and drives {@code /report}
+ * with a fixed number of concurrent callers, then prints throughput and latency percentiles.
+ * <p>
+ * {@code ./mvnw -Pbenchmark test-compile exec:exec@load -Dload.args="requests=500 concurrency=32 latencyMs=150"}
+ * <p>
+ * Any {@link FakeGitHubServer.Settings} key is accepted as well; {@code repos}, {@code daysBack}, {@code fresh},
+ * {@code path} and {@code accept} shape the request mix.
+ */
+public final class ReportLoadTest {
+
+    private ReportLoadTest() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = FakeGitHubServer.parseArgs(args);
+        int requests = Integer.parseInt(options.getOrDefault("requests", "200"));
+        int warmup = Integer.parseInt(options.getOrDefault("warmup", "20"));
+        int concurrency = Integer.parseInt(options.getOrDefault("concurrency", "16"));
+        int repositories = Integer.parseInt(options.getOrDefault("repos", "1"));
+        String path = options.getOrDefault("path", "/report?daysBack=" + options.getOrDefault("daysBack", "3")
+            + "&fresh=" + options.getOrDefault("fresh", "true"));
+        String accept = options.getOrDefault("accept", "application/json");
+
+        System.setProperty("spring.devtools.restart.enabled", "false");
+        try (FakeGitHubServer github = new FakeGitHubServer(FakeGitHubServer.Settings.parse(options))) {
+            github.start();
+            String repositoryList = IntStream.rangeClosed(1, repositories)
+                .mapToObj(i -> "load/repo-" + i)
+                .collect(Collectors.joining(","));
+            try (ConfigurableApplicationContext app = SpringApplication.run(CihealthcheckerApplication.class,
+                "--server.port=0",
+                "--github.api-url=" + github.baseUrl(),
+                "--github.token=load-test",
+                "--github.repositories=" + repositoryList,
+                "--report.snapshots.enabled=false",
+                "--logging.level.root=WARN")) {
+                String port = app.getEnvironment().getProperty("local.server.port");
+                URI target = URI.create("http://localhost:" + port + path);
+                HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+
+                run(http, target, accept, warmup, concurrency);
+                Result result = run(http, target, accept, requests, concurrency);
+                System.out.println();
+                System.out.println("GET " + path + " against " + repositories + " repositories, "
+                    + concurrency + " concurrent callers");
+                System.out.println(result);
+                System.out.println("fake GitHub: " + github.stats());
+            }
+        }
+    }
+
+    private static Result run(HttpClient http, URI target, String accept, int requests, int concurrency) throws Exception {
+        long[] latencies = new long[requests];
+        AtomicInteger next = new AtomicInteger();
+        AtomicInteger failures = new AtomicInteger();
+        long started = System.nanoTime();
+        try (ExecutorService callers = Executors.newVirtualThreadPerTaskExecutor()) {
+            List<Future<?>> workers = new ArrayList<>();
+            for (int w = 0; w < concurrency; w++) {
+                workers.add(callers.submit(() -> {
+                    for (int i = next.getAndIncrement(); i < requests; i = next.getAndIncrement()) {
+                        long start = System.nanoTime();
+                        try {
+                            HttpRequest request = HttpRequest.newBuilder(target).header("Accept", accept).GET().build();
+                            HttpResponse<Void> response = http.send(request, HttpResponse.BodyHandlers.discarding());
+                            if (response.statusCode() != 200) failures.incrementAndGet();
+                        } catch (Exception e) {
+                            failures.incrementAndGet();
+                        }
+                        latencies[i] = System.nanoTime() - start;
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> worker : workers) {
+                worker.get();
+            }
+        }
+        return new Result(requests, failures.get(), System.nanoTime() - started, latencies);
+    }
+
+    private record Result(int requests, int failures, long elapsedNanos, long[] latencies) {
+
+        @Override
+        public String toString() {
+            long[] sorted = latencies.clone();
+            Arrays.sort(sorted);
+            return String.format("%d requests (%d non-200) in %.1f s: %.1f req/s, latency ms p50=%.1f p90=%.1f p99=%.1f max=%.1f",
+                requests, failures, elapsedNanos / 1e9, requests / (elapsedNanos / 1e9),
+                percentile(sorted, 0.50), percentile(sorted, 0.90), percentile(sorted, 0.99),
+                sorted.length == 0 ? 0 : sorted[sorted.length - 1] / 1e6);
+        }
+
+        private static double percentile(long[] sorted, double q) {
+            if (sorted.length == 0) return 0;
+            return sorted[Math.min(sorted.length - 1, (int) Math.ceil(q * sorted.length) - 1)] / 1e6;
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.service.WorkflowRunAggregator;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+/**
+ * Serialization of the {@code /report} body with the ObjectMapper configuration Spring MVC uses.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ReportSerializationBenchmark {
+
+    @Param({"50", "500", "5000"})
+    public int workflowNames;
+
+    private List<CiHealthReportEntry> entries;
+    private ObjectMapper objectMapper;
+
+    @Setup
+    public void setUp() {
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        SyntheticRuns.pages(workflowNames * 20, workflowNames, 100, 42).forEach(aggregator);
+        entries = aggregator.toEntries();
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+    }
+
+    @Benchmark
+    public byte[] serializeReport() throws JsonProcessingException {
+        return objectMapper.writeValueAsBytes(entries);
+    }
+}
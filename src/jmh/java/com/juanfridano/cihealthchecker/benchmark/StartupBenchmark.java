@@ -0,0 +1,187 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import java.io.IOException;
+import java.net.ConnectException;
+import java.net.ServerSocket;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+
+/**
+ * Cold start of new replicas: launches the application as a fresh JVM against a {@link FakeGitHubServer}, with and
+ * without an AppCDS archive, and reports the time from launch until {@code /report} first answers 200 and the
+ * resident set size at that moment (read from {@code /proc}, so Linux only).
+ * <p>
+ * {@code ./mvnw -Pcds,benchmark package exec:exec@startup -DskipTests -Dstartup.args="runs=5"}
+ * <p>
+ * {@code jar} (by default the jar extracted by the {@code cds} profile) or {@code classpath} choose what is launched,
+ * {@code archive} the CDS archive, which is created with a training run when missing, {@code modes} the variants
+ * ({@code jvm,cds}) and {@code jvmArgs} extra comma-separated JVM options. {@link FakeGitHubServer.Settings} keys
+ * shape the data; latency defaults to zero so only the application is measured.
+ */
+public final class StartupBenchmark {
+
+    private static final String MAIN_CLASS = "com.juanfridano.cihealthchecker.CihealthcheckerApplication";
+    private static final Duration STARTUP_TIMEOUT = Duration.ofSeconds(120);
+
+    private StartupBenchmark() {
+    }
+
+    public static void main(String[] args) throws Exception {
+        Map<String, String> options = FakeGitHubServer.parseArgs(args);
+        options.putIfAbsent("latencyMs", "0");
+        options.putIfAbsent("jitterMs", "0");
+        int runs = Integer.parseInt(options.getOrDefault("runs", "5"));
+        List<String> modes = List.of(options.getOrDefault("modes", "jvm,cds").split(","));
+        String classpath = options.get("classpath");
+        Path jar = classpath == null ? Path.of(options.getOrDefault("jar", extractedJar().toString())) : null;
+        Path archive = Path.of(options.getOrDefault("archive", "target/extracted/application.jsa"));
+        List<String> jvmArgs = options.containsKey("jvmArgs") ? List.of(options.get("jvmArgs").split(",")) : List.of();
+        String path = options.getOrDefault("path", "/report?daysBack=1");
+
+        try (FakeGitHubServer github = new FakeGitHubServer(FakeGitHubServer.Settings.parse(options))) {
+            github.start();
+            Launcher launcher = new Launcher(jar, classpath, jvmArgs, github.baseUrl());
+            if (modes.contains("cds") && !Files.exists(archive)) {
+                train(launcher, archive);
+            }
+            HttpClient http = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(1)).build();
+            System.out.println();
+            System.out.println("Until first 200 from GET " + path + ", " + runs + " launches each");
+            for (String mode : modes) {
+                List<String> modeArgs = "cds".equals(mode) ? List.of("-XX:SharedArchiveFile=" + archive) : List.of();
+                long[] millis = new long[runs];
+                long[] rssKb = new long[runs];
+                for (int run = 0; run < runs; run++) {
+                    Sample sample = launcher.measure(http, modeArgs, path);
+                    millis[run] = sample.millis();
+                    rssKb[run] = sample.rssKb();
+                }
+                System.out.println(summary(mode, millis, rssKb));
+            }
+        }
+    }
+
+    private static void train(Launcher launcher, Path archive) throws IOException, InterruptedException {
+        Files.createDirectories(archive.toAbsolutePath().getParent());
+        System.out.println("Training run for " + archive);
+        Process process = launcher.start(
+            List.of("-XX:ArchiveClassesAtExit=" + archive, "-Xlog:cds=error", "-Dspring.context.exit=onRefresh"), 0, true);
+        if (process.waitFor() != 0 || !Files.exists(archive)) {
+            throw new IllegalStateException("Training run did not produce " + archive);
+        }
+    }
+
+    private static Path extractedJar() throws IOException {
+        Path extracted = Path.of("target/extracted");
+        if (!Files.isDirectory(extracted)) {
+            throw new IllegalStateException("No target/extracted, build with -Pcds package or pass jar= or classpath=");
+        }
+        try (Stream<Path> files = Files.list(extracted)) {
+            return files.filter(file -> file.getFileName().toString().endsWith(".jar")).findFirst()
+                .orElseThrow(() -> new IllegalStateException("No application jar in target/extracted"));
+        }
+    }
+
+    private static String summary(String mode, long[] millis, long[] rssKb) {
+        long[] sortedMillis = millis.clone();
+        long[] sortedRss = rssKb.clone();
+        Arrays.sort(sortedMillis);
+        Arrays.sort(sortedRss);
+        return String.format("%-4s first /report ms p50=%d min=%d max=%d, RSS MB p50=%s",
+            mode, sortedMillis[sortedMillis.length / 2], sortedMillis[0], sortedMillis[sortedMillis.length - 1],
+            sortedRss[0] < 0 ? "n/a" : String.valueOf(sortedRss[sortedRss.length / 2] / 1024));
+    }
+
+    private record Sample(long millis, long rssKb) {
+    }
+
+    private record Launcher(Path jar, String classpath, List<String> jvmArgs, String githubUrl) {
+
+        Sample measure(HttpClient http, List<String> modeArgs, String path) throws Exception {
+            int port = freePort();
+            URI target = URI.create("http://localhost:" + port + path);
+            long started = System.nanoTime();
+            Process process = start(modeArgs, port, false);
+            try {
+                while (System.nanoTime() - started < STARTUP_TIMEOUT.toNanos()) {
+                    if (!process.isAlive()) {
+                        throw new IllegalStateException("Application exited with " + process.exitValue());
+                    }
+                    try {
+                        HttpResponse<Void> response = http.send(HttpRequest.newBuilder(target).GET().build(),
+                            HttpResponse.BodyHandlers.discarding());
+                        if (response.statusCode() == 200) {
+                            long millis = (System.nanoTime() - started) / 1_000_000;
+                            return new Sample(millis, rssKb(process.pid()));
+                        }
+                    } catch (ConnectException e) {
+                        // not listening yet
+                    }
+                    Thread.sleep(5);
+                }
+                throw new IllegalStateException("No 200 from " + target + " within " + STARTUP_TIMEOUT);
+            } finally {
+                process.destroy();
+                if (!process.waitFor(10, java.util.concurrent.TimeUnit.SECONDS)) {
+                    process.destroyForcibly().waitFor();
+                }
+            }
+        }
+
+        Process start(List<String> modeArgs, int port, boolean showOutput) throws IOException {
+            List<String> command = new ArrayList<>();
+            command.add(Path.of(System.getProperty("java.home"), "bin", "java").toString());
+            command.addAll(jvmArgs);
+            command.addAll(modeArgs);
+            command.add("-Dspring.devtools.restart.enabled=false");
+            if (classpath != null) {
+                command.addAll(List.of("-cp", classpath, MAIN_CLASS));
+            } else {
+                command.addAll(List.of("-jar", jar.toString()));
+            }
+            command.addAll(List.of(
+                "--server.port=" + port,
+                "--github.api-url=" + githubUrl,
+                "--github.token=startup-benchmark",
+                "--github.repositories=load/repo-1",
+                "--report.snapshots.enabled=false",
+                "--logging.level.root=WARN"));
+            ProcessBuilder builder = new ProcessBuilder(command);
+            if (showOutput) {
+                builder.inheritIO();
+            } else {
+                builder.redirectOutput(ProcessBuilder.Redirect.DISCARD).redirectError(ProcessBuilder.Redirect.DISCARD);
+            }
+            return builder.start();
+        }
+
+        private static int freePort() throws IOException {
+            try (ServerSocket socket = new ServerSocket(0)) {
+                return socket.getLocalPort();
+            }
+        }
+
+        private static long rssKb(long pid) {
+            try {
+                for (String line : Files.readAllLines(Path.of("/proc", String.valueOf(pid), "status"))) {
+                    if (line.startsWith("VmRSS:")) {
+                        return Long.parseLong(line.replaceAll("\\D", ""));
+                    }
+                }
+            } catch (IOException | NumberFormatException e) {
+                // not on Linux
+            }
+            return -1;
+        }
+    }
+}
@@ -0,0 +1,125 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Deterministic GitHub-shaped {@code /actions/runs} pages, including the nested repository/actor/head_commit
+ * objects that make up most of a real payload.
+ */
+final class SyntheticPayloads {
+
+    private static final String[] CONCLUSIONS = {"success", "success", "success", "failure", "cancelled", "skipped"};
+    private static final String[] EVENTS = {"push", "pull_request", "pull_request", "schedule", "merge_group"};
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private SyntheticPayloads() {
+    }
+
+    record SyntheticRun(long id, String name, long workflowId, String conclusion, String headBranch, String headSha,
+                        String event, OffsetDateTime createdAt, OffsetDateTime startedAt, OffsetDateTime updatedAt) {
+    }
+
+    static byte[] page(int runs, int workflowNames, long seed) {
+        Random random = new Random(seed);
+        List<SyntheticRun> page = new ArrayList<>(runs);
+        for (int i = 0; i < runs; i++) {
+            page.add(randomRun(seed * 100_000 + i, random, workflowNames, BASE, 30 * 24 * 3600));
+        }
+        return page(page, runs);
+    }
+
+    static byte[] page(List<SyntheticRun> runs, long totalCount) {
+        StringBuilder json = new StringBuilder(runs.size() * 6_000 + 64);
+        json.append("{\"total_count\":").append(totalCount).append(",\"workflow_runs\":[");
+        for (int i = 0; i < runs.size(); i++) {
+            if (i > 0) json.append(',');
+            appendRun(json, runs.get(i));
+        }
+        json.append("]}");
+        return json.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    static SyntheticRun randomRun(long id, Random random, int workflowNames, OffsetDateTime from, int spanSeconds) {
+        OffsetDateTime created = from.plusSeconds(random.nextInt(spanSeconds));
+        OffsetDateTime started = created.plusSeconds(random.nextInt(120));
+        OffsetDateTime updated = started.plusSeconds(60 + random.nextInt(3600));
+        int workflow = random.nextInt(workflowNames);
+        String sha = "%016x%016x%08x".formatted(random.nextLong(), random.nextLong(), random.nextInt());
+        return new SyntheticRun(id, "Workflow " + workflow, 1_000L + workflow,
+            CONCLUSIONS[random.nextInt(CONCLUSIONS.length)], "feature/branch-" + random.nextInt(500), sha,
+            EVENTS[random.nextInt(EVENTS.length)], created, started, updated);
+    }
+
+    private static void appendRun(StringBuilder json, SyntheticRun run) {
+        long id = run.id();
+        String sha = run.headSha();
+        json.append("{\"id\":").append(id)
+            .append(",\"name\":\"").append(run.name()).append('"')
+            .append(",\"node_id\":\"WFR_kwLOA").append(id).append('"')
+            .append(",\"head_branch\":\"").append(run.headBranch()).append('"')
+            .append(",\"head_sha\":\"").append(sha).append('"')
+            .append(",\"path\":\".github/workflows/ci.yml\",\"display_title\":\"Some pull request title\"")
+            .append(",\"run_number\":").append(id % 100_000)
+            .append(",\"event\":\"").append(run.event()).append("\",\"status\":\"completed\"")
+            .append(",\"conclusion\":\"").append(run.conclusion()).append('"')
+            .append(",\"workflow_id\":").append(run.workflowId())
+            .append(",\"check_suite_id\":").append(id * 3)
+            .append(",\"url\":\"https://api.github.com/repos/camunda/camunda/actions/runs/").append(id).append('"')
+            .append(",\"html_url\":\"https://github.com/camunda/camunda/actions/runs/").append(id).append('"')
+            .append(",\"pull_requests\":[{\"url\":\"https://api.github.com/repos/camunda/camunda/pulls/1\",\"id\":1,\"number\":1,")
+            .append("\"head\":{\"ref\":\"feature\",\"sha\":\"").append(sha).append("\",\"repo\":{\"id\":54298946,\"name\":\"camunda\"}},")
+            .append("\"base\":{\"ref\":\"main\",\"sha\":\"").append(sha).append("\",\"repo\":{\"id\":54298946,\"name\":\"camunda\"}}}]")
+            .append(",\"created_at\":\"").append(run.createdAt()).append('"')
+            .append(",\"updated_at\":\"").append(run.updatedAt()).append('"')
+            .append(",\"actor\":");
+        appendUser(json);
+        json.append(",\"run_attempt\":1,\"referenced_workflows\":[]")
+            .append(",\"run_started_at\":\"").append(run.startedAt()).append('"')
+            .append(",\"triggering_actor\":");
+        appendUser(json);
+        json.append(",\"jobs_url\":\"https://api.github.com/repos/camunda/camunda/actions/runs/").append(id).append("/jobs\"")
+            .append(",\"logs_url\":\"https://api.github.com/repos/camunda/camunda/actions/runs/").append(id).append("/logs\"")
+            .append(",\"head_commit\":{\"id\":\"").append(sha).append("\",\"tree_id\":\"").append(sha)
+            .append("\",\"message\":\"Merge branch 'main' into feature\\n\\nSigned-off-by: someone\",\"timestamp\":\"")
+            .append(run.createdAt()).append("\",\"author\":{\"name\":\"Octo Cat\",\"email\":\"octocat@example.com\"},")
+            .append("\"committer\":{\"name\":\"GitHub\",\"email\":\"noreply@github.com\"}}")
+            .append(",\"repository\":");
+        appendRepository(json);
+        json.append(",\"head_repository\":");
+        appendRepository(json);
+        json.append('}');
+    }
+
+    private static void appendUser(StringBuilder json) {
+        json.append("{\"login\":\"octocat\",\"id\":583231,\"node_id\":\"MDQ6VXNlcjU4MzIzMQ==\",")
+            .append("\"avatar_url\":\"https://avatars.githubusercontent.com/u/583231?v=4\",\"gravatar_id\":\"\",")
+            .append("\"url\":\"https://api.github.com/users/octocat\",\"html_url\":\"https://github.com/octocat\",")
+            .append("\"followers_url\":\"https://api.github.com/users/octocat/followers\",")
+            .append("\"repos_url\":\"https://api.github.com/users/octocat/repos\",")
+            .append("\"events_url\":\"https://api.github.com/users/octocat/events{/privacy}\",")
+            .append("\"type\":\"User\",\"user_view_type\":\"public\",\"site_admin\":false}");
+    }
+
+    private static void appendRepository(StringBuilder json) {
+        json.append("{\"id\":54298946,\"node_id\":\"MDEwOlJlcG9zaXRvcnk1NDI5ODk0Ng==\",\"name\":\"camunda\",")
+            .append("\"full_name\":\"camunda/camunda\",\"private\":false,\"owner\":");
+        appendUser(json);
+        json.append(",\"html_url\":\"https://github.com/camunda/camunda\",\"description\":\"Process orchestration\",")
+            .append("\"fork\":false,\"url\":\"https://api.github.com/repos/camunda/camunda\",");
+        for (String suffix : new String[]{"forks", "keys", "collaborators", "teams", "hooks", "issue_events", "events",
+            "assignees", "branches", "tags", "blobs", "git_tags", "git_refs", "trees", "statuses", "languages",
+            "stargazers", "contributors", "subscribers", "subscription", "commits", "git_commits", "comments",
+            "issue_comment", "contents", "compare", "merges", "archive", "downloads", "issues", "pulls",
+            "milestones", "notifications", "labels", "releases", "deployments"}) {
+            json.append('"').append(suffix).append("_url\":\"https://api.github.com/repos/camunda/camunda/")
+                .append(suffix).append("{/id}\",");
+        }
+        json.setLength(json.length() - 1);
+        json.append('}');
+    }
+}
@@ -0,0 +1,52 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.SplittableRandom;
+
+/**
+ * Deterministic datasets of decoded workflow runs, already split into GitHub-sized pages.
+ */
+final class SyntheticRuns {
+
+    private static final String[] CONCLUSIONS = {"success", "success", "success", "failure", "cancelled", "skipped"};
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private SyntheticRuns() {
+    }
+
+    static List<List<WorkflowRun>> pages(int runs, int workflowNames, int perPage, long seed) {
+        SplittableRandom random = new SplittableRandom(seed);
+        String[] names = new String[workflowNames];
+        for (int i = 0; i < workflowNames; i++) {
+            names[i] = "Workflow " + i;
+        }
+        List<List<WorkflowRun>> pages = new ArrayList<>(runs / perPage + 1);
+        List<WorkflowRun> page = new ArrayList<>(perPage);
+        for (int i = 0; i < runs; i++) {
+            OffsetDateTime created = BASE.plusSeconds(random.nextInt(30 * 24 * 3600));
+            OffsetDateTime started = created.plusSeconds(random.nextInt(120));
+            WorkflowRun run = new WorkflowRun();
+            run.setId((long) i);
+            run.setRepositoryName("camunda/camunda");
+            run.setName(names[random.nextInt(workflowNames)]);
+            run.setConclusion(CONCLUSIONS[random.nextInt(CONCLUSIONS.length)]);
+            run.setCreated_at(created);
+            run.setRun_started_at(started);
+            run.setUpdated_at(started.plusSeconds(60 + random.nextInt(3600)));
+            page.add(run);
+            if (page.size() == perPage) {
+                pages.add(page);
+                page = new ArrayList<>(perPage);
+            }
+        }
+        if (!page.isEmpty()) {
+            pages.add(page);
+        }
+        return pages;
+    }
+}
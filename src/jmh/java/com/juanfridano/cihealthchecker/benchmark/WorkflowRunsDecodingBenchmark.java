@@ -0,0 +1,63 @@
+package com.juanfridano.cihealthchecker.benchmark;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.juanfridano.cihealthchecker.client.WorkflowRunsJsonReader;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Decoding of one {@code /actions/runs} page: Jackson databind (what SpringDecoder does) against the
+ * streaming {@link WorkflowRunsJsonReader}. Run with {@code -prof gc} to compare allocation per page.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class WorkflowRunsDecodingBenchmark {
+
+    @Param({"100"})
+    public int runsPerPage;
+
+    private byte[] payload;
+    private ObjectMapper objectMapper;
+    private WorkflowRunsJsonReader reader;
+
+    @Setup
+    public void setUp() {
+        payload = SyntheticPayloads.page(runsPerPage, 50, 42);
+        objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .build();
+        reader = new WorkflowRunsJsonReader();
+    }
+
+    @Benchmark
+    public GitHubWorkflowResponse databind() throws IOException {
+        return objectMapper.readValue(payload, GitHubWorkflowResponse.class);
+    }
+
+    @Benchmark
+    public GitHubWorkflowResponse streamingToPage() throws IOException {
+        return reader.readResponse(new ByteArrayInputStream(payload));
+    }
+}
@@ -1,11 +1,17 @@
 package com.juanfridano.cihealthchecker;
 
+import com.juanfridano.cihealthchecker.config.GitHubRuntimeHints;
+
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.cloud.openfeign.EnableFeignClients;
+import org.springframework.context.annotation.ImportRuntimeHints;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication
 @EnableFeignClients
+@EnableScheduling
+@ImportRuntimeHints(GitHubRuntimeHints.class)
 public class CihealthcheckerApplication {
 
 	public static void main(String[] args) {
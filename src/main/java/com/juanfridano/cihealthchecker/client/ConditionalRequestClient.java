@@ -0,0 +1,84 @@
+package com.juanfridano.cihealthchecker.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.RequiredArgsConstructor;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.Reader;
+import java.io.StringReader;
+import java.nio.charset.Charset;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Sends {@code If-None-Match} for URLs we already hold a decoded response for. A 304 (which does not count
+ * against the GitHub rate limit) is turned into a 200 whose body carries the cached object, so the
+ * decoder can hand it back without parsing anything.
+ */
+@RequiredArgsConstructor
+public class ConditionalRequestClient implements Client {
+
+    private final Client delegate;
+    private final GitHubResponseCache cache;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        GitHubResponseCache.CachedResponse cached = cache.get(request.url());
+        if (cached == null || cached.etag() == null) {
+            cache.recordMiss();
+            return delegate.execute(request, options);
+        }
+
+        Map<String, Collection<String>> headers = new TreeMap<>(String.CASE_INSENSITIVE_ORDER);
+        headers.putAll(request.headers());
+        headers.put("If-None-Match", List.of(cached.etag()));
+        Request conditional = Request.create(request.httpMethod(), request.url(), headers, request.body(),
+            request.charset(), request.requestTemplate());
+
+        Response response = delegate.execute(conditional, options);
+        if (response.status() != 304) {
+            cache.recordMiss();
+            return response;
+        }
+        cache.recordHit();
+        response.close();
+        return response.toBuilder()
+            .status(200)
+            .body(new CachedBody(cached.body()))
+            .build();
+    }
+
+    record CachedBody(Object value) implements Response.Body {
+
+        @Override
+        public Integer length() {
+            return 0;
+        }
+
+        @Override
+        public boolean isRepeatable() {
+            return true;
+        }
+
+        @Override
+        public InputStream asInputStream() {
+            return new ByteArrayInputStream(new byte[0]);
+        }
+
+        @Override
+        public Reader asReader(Charset charset) {
+            return new StringReader("");
+        }
+
+        @Override
+        public void close() {
+        }
+    }
+
+}
@@ -0,0 +1,39 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.model.GitHubJobsResponse;
+
+import feign.Response;
+import feign.codec.Decoder;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+import java.lang.reflect.Type;
+import java.util.Collection;
+
+/**
+ * Counterpart of {@link ConditionalRequestClient}: returns the cached object for revalidated responses
+ * and remembers every fresh response that carries an ETag.
+ */
+@RequiredArgsConstructor
+public class ConditionalResponseDecoder implements Decoder {
+
+    private final Decoder delegate;
+    private final GitHubResponseCache cache;
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (response.body() instanceof ConditionalRequestClient.CachedBody cachedBody) {
+            return cachedBody.value();
+        }
+        Object decoded = delegate.decode(response, type);
+        // Jobs of completed runs are kept for good by JobBreakdownService, don't let them crowd out runs pages
+        if (decoded instanceof GitHubJobsResponse) {
+            return decoded;
+        }
+        Collection<String> etags = response.headers().get("ETag");
+        if (decoded != null && etags != null && !etags.isEmpty()) {
+            cache.put(response.request().url(), new GitHubResponseCache.CachedResponse(etags.iterator().next(), decoded));
+        }
+        return decoded;
+    }
+}
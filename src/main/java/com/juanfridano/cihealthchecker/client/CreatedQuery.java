@@ -0,0 +1,100 @@
+package com.juanfridano.cihealthchecker.client;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Builds values for the {@code created} search qualifier of the workflow runs API, in UTC with second precision.
+ */
+public final class CreatedQuery {
+
+    private CreatedQuery() {
+    }
+
+    public static String from(OffsetDateTime start) {
+        return ">=" + format(start);
+    }
+
+    /**
+     * Lower bound rounded down to the full hour. Callers drop the few extra runs themselves; in exchange the
+     * query string, and with it the ETag cache key, stays the same for an hour.
+     */
+    public static String fromHour(OffsetDateTime start) {
+        return from(start.withOffsetSameInstant(ZoneOffset.UTC).truncatedTo(ChronoUnit.HOURS));
+    }
+
+    public static String between(OffsetDateTime start, OffsetDateTime end) {
+        return format(start) + ".." + format(end);
+    }
+
+    private static String format(OffsetDateTime time) {
+        return time.withOffsetSameInstant(ZoneOffset.UTC)
+            .truncatedTo(ChronoUnit.SECONDS)
+            .format(DateTimeFormatter.ISO_OFFSET_DATE_TIME);
+    }
+
+    /**
+     * A created range with both ends inclusive, as GitHub treats {@code a..b}; a {@code null} end is open.
+     */
+    public record Window(OffsetDateTime start, OffsetDateTime end) {
+
+        /**
+         * @return the window of a {@link #from} or {@link #between} query, or {@code null} for any other form
+         */
+        public static Window parse(String createdQuery) {
+            if (createdQuery == null) return null;
+            try {
+                if (createdQuery.startsWith(">=")) {
+                    return new Window(OffsetDateTime.parse(createdQuery.substring(2)), null);
+                }
+                int range = createdQuery.indexOf("..");
+                if (range > 0) {
+                    return new Window(OffsetDateTime.parse(createdQuery.substring(0, range)),
+                        OffsetDateTime.parse(createdQuery.substring(range + 2)));
+                }
+            } catch (DateTimeParseException e) {
+                return null;
+            }
+            return null;
+        }
+
+        public String toQuery() {
+            return end == null ? from(start) : between(start, end);
+        }
+
+        /**
+         * Splits into up to {@code parts} adjacent windows of about equal length, an open end being measured up
+         * to {@code now}. Boundaries snap to full hours or minutes when the parts are that long, so repeated
+         * plans produce the same queries and keep hitting the ETag cache. A one-second window cannot be split
+         * and comes back as is.
+         */
+        public List<Window> split(int parts, OffsetDateTime now) {
+            long first = start.toEpochSecond();
+            long last = (end == null ? now : end).toEpochSecond();
+            long span = last - first + 1;
+            if (span < 2 || parts < 2) return List.of(this);
+
+            long unit = span / parts >= 3600 ? 3600 : span / parts >= 60 ? 60 : 1;
+            List<Window> windows = new ArrayList<>(parts);
+            long windowStart = first;
+            for (int i = 1; i < parts; i++) {
+                long boundary = Math.floorDiv(first + span * i / parts, unit) * unit;
+                if (boundary <= windowStart || boundary > last) continue;
+                windows.add(new Window(toDateTime(windowStart), toDateTime(boundary - 1)));
+                windowStart = boundary;
+            }
+            windows.add(new Window(toDateTime(windowStart), end));
+            return windows;
+        }
+
+        private static OffsetDateTime toDateTime(long epochSecond) {
+            return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+        }
+    }
+}
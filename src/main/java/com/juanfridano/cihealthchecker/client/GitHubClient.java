@@ -6,18 +6,70 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestParam;
 
+import com.juanfridano.cihealthchecker.model.GitHubJobsResponse;
 import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowsResponse;
 
-@FeignClient(name = "githubClient", url = "https://api.github.com")
+@FeignClient(name = "githubClient", url = "${github.api-url:https://api.github.com}", configuration = GitHubClientConfiguration.class)
 public interface GitHubClient {
 
+    /**
+     * {@code created} takes GitHub's date qualifiers, e.g. {@code >=2025-06-01T12:00:00Z} or
+     * {@code 2025-06-01T00:00:00Z..2025-06-02T00:00:00Z} (see {@link CreatedQuery}). Filters left {@code null}
+     * are not sent.
+     */
     @GetMapping("/repos/{owner}/{repo}/actions/runs")
     GitHubWorkflowResponse getWorkflowRuns(
         @RequestHeader("Authorization") String token,
         @PathVariable("owner") String owner,
         @PathVariable("repo") String repo,
         @RequestParam("created") String created,
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "branch", required = false) String branch,
+        @RequestParam(value = "event", required = false) String event,
         @RequestParam("per_page") int perPage,
         @RequestParam("page") int page
     );
-}
\ No newline at end of file
+
+    /**
+     * Runs of a single workflow; {@code workflowId} is the numeric id or the workflow file name, e.g. {@code ci.yml}.
+     */
+    @GetMapping("/repos/{owner}/{repo}/actions/workflows/{workflowId}/runs")
+    GitHubWorkflowResponse getWorkflowRunsForWorkflow(
+        @RequestHeader("Authorization") String token,
+        @PathVariable("owner") String owner,
+        @PathVariable("repo") String repo,
+        @PathVariable("workflowId") String workflowId,
+        @RequestParam("created") String created,
+        @RequestParam(value = "status", required = false) String status,
+        @RequestParam(value = "branch", required = false) String branch,
+        @RequestParam(value = "event", required = false) String event,
+        @RequestParam("per_page") int perPage,
+        @RequestParam("page") int page
+    );
+
+    /**
+     * Workflows defined in a repository, to resolve a workflow name to its id.
+     */
+    @GetMapping("/repos/{owner}/{repo}/actions/workflows")
+    GitHubWorkflowsResponse getWorkflows(
+        @RequestHeader("Authorization") String token,
+        @PathVariable("owner") String owner,
+        @PathVariable("repo") String repo,
+        @RequestParam("per_page") int perPage,
+        @RequestParam("page") int page
+    );
+
+    /**
+     * Jobs of the latest attempt of a run, each with its steps.
+     */
+    @GetMapping("/repos/{owner}/{repo}/actions/runs/{runId}/jobs")
+    GitHubJobsResponse getWorkflowRunJobs(
+        @RequestHeader("Authorization") String token,
+        @PathVariable("owner") String owner,
+        @PathVariable("repo") String repo,
+        @PathVariable("runId") long runId,
+        @RequestParam("per_page") int perPage,
+        @RequestParam("page") int page
+    );
+}
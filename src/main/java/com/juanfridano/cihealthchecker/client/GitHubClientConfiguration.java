@@ -0,0 +1,44 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+
+import feign.Client;
+import feign.codec.Decoder;
+import feign.optionals.OptionalDecoder;
+import io.micrometer.core.instrument.MeterRegistry;
+
+import org.springframework.beans.factory.ObjectFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.boot.autoconfigure.http.HttpMessageConverters;
+import org.springframework.cloud.openfeign.support.HttpMessageConverterCustomizer;
+import org.springframework.cloud.openfeign.support.ResponseEntityDecoder;
+import org.springframework.cloud.openfeign.support.SpringDecoder;
+import org.springframework.context.annotation.Bean;
+
+// Not a @Configuration on purpose: it only applies to GitHubClient, not to every Feign client
+public class GitHubClientConfiguration {
+
+    @Bean
+    public Decoder feignDecoder(ObjectFactory<HttpMessageConverters> messageConverters,
+                                ObjectProvider<HttpMessageConverterCustomizer> customizers,
+                                GitHubProperties gitHubProperties,
+                                GitHubResponseCache responseCache,
+                                MeterRegistry meterRegistry) {
+        Decoder springDecoder = new OptionalDecoder(new ResponseEntityDecoder(new SpringDecoder(messageConverters, customizers)));
+        Decoder decoder = new WorkflowRunsDecoder(new WorkflowRunsJsonReader(), springDecoder, meterRegistry);
+        if (!gitHubProperties.getCache().isEnabled()) {
+            return decoder;
+        }
+        return new ConditionalResponseDecoder(decoder, responseCache);
+    }
+
+    @Bean
+    public Client feignClient(GitHubProperties gitHubProperties, GitHubResponseCache responseCache,
+                              GitHubRequestScheduler requestScheduler, MeterRegistry meterRegistry) {
+        Client client = requestScheduler.wrap(new MeteredClient(new Client.Default(null, null), meterRegistry));
+        if (!gitHubProperties.getCache().isEnabled()) {
+            return client;
+        }
+        return new ConditionalRequestClient(client, responseCache);
+    }
+}
@@ -0,0 +1,50 @@
+package com.juanfridano.cihealthchecker.client;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Exposes the rate-limit budget, the adaptive concurrency limit and the ETag cache effectiveness.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubClientMetrics implements MeterBinder {
+
+    private final GitHubResponseCache responseCache;
+    private final GitHubRequestScheduler requestScheduler;
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        Gauge.builder("github.ratelimit.remaining", requestScheduler, GitHubRequestScheduler::getRemaining)
+            .description("Last X-RateLimit-Remaining reported by GitHub")
+            .register(registry);
+        Gauge.builder("github.scheduler.concurrency.limit", requestScheduler, GitHubRequestScheduler::getConcurrencyLimit)
+            .description("Current adaptive limit of concurrent GitHub calls")
+            .register(registry);
+
+        FunctionCounter.builder("github.cache.requests", responseCache, GitHubResponseCache::getHits)
+            .description("Conditional requests answered from the ETag cache")
+            .tag("result", "hit")
+            .register(registry);
+        FunctionCounter.builder("github.cache.requests", responseCache, GitHubResponseCache::getMisses)
+            .description("Conditional requests answered from the ETag cache")
+            .tag("result", "miss")
+            .register(registry);
+        Gauge.builder("github.cache.hit.ratio", responseCache, GitHubClientMetrics::hitRatio)
+            .description("Share of cacheable requests answered with 304 since startup")
+            .register(registry);
+        Gauge.builder("github.cache.size", responseCache, GitHubResponseCache::size)
+            .register(registry);
+    }
+
+    private static double hitRatio(GitHubResponseCache cache) {
+        long hits = cache.getHits();
+        long total = hits + cache.getMisses();
+        return total == 0 ? 0 : (double) hits / total;
+    }
+}
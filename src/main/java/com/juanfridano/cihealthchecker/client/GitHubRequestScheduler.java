@@ -0,0 +1,226 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+/**
+ * Central gate for every HTTP call to GitHub. Tracks the rate-limit budget from the response headers,
+ * waits for the reset instead of burning the last requests, adapts the number of concurrent calls
+ * (halved on throttling, server errors and I/O failures, grown by one per success) and retries throttled or failed calls with jittered backoff.
+ */
+@Slf4j
+@Component
+public class GitHubRequestScheduler {
+
+    private final GitHubProperties.Scheduler settings;
+    private final Clock clock;
+
+    private final ReentrantLock lock = new ReentrantLock();
+    private final Condition permitReleased = lock.newCondition();
+    private int concurrencyLimit;
+    private int inFlight;
+    private long remaining = -1;
+    private Instant resetAt = Instant.EPOCH;
+    private Instant pausedUntil = Instant.EPOCH;
+
+    @Autowired
+    public GitHubRequestScheduler(GitHubProperties gitHubProperties) {
+        this(gitHubProperties, Clock.systemUTC());
+    }
+
+    GitHubRequestScheduler(GitHubProperties gitHubProperties, Clock clock) {
+        this.settings = gitHubProperties.getScheduler();
+        this.clock = clock;
+        this.concurrencyLimit = Math.max(1, settings.getMaxConcurrency());
+    }
+
+    public Client wrap(Client delegate) {
+        return (request, options) -> execute(delegate, request, options);
+    }
+
+    public Response execute(Client delegate, Request request, Request.Options options) throws IOException {
+        for (int attempt = 1; ; attempt++) {
+            awaitBudget();
+            acquire();
+            Response response;
+            try {
+                response = delegate.execute(request, options);
+            } catch (IOException e) {
+                release(true);
+                if (attempt >= settings.getMaxAttempts()) throw e;
+                Duration delay = backoff(attempt);
+                log.warn("GitHub call {} failed ({}), retrying in {} ms", request.url(), e.getMessage(), delay.toMillis());
+                sleep(delay);
+                continue;
+            }
+
+            boolean throttled = isThrottled(response);
+            updateBudget(response, throttled);
+            release(throttled || response.status() >= 500);
+            if (!throttled && response.status() < 500) {
+                return response;
+            }
+
+            Duration delay = retryDelay(response, attempt);
+            if (attempt >= settings.getMaxAttempts() || delay.compareTo(settings.getMaxWait()) > 0) {
+                return response;
+            }
+            log.warn("GitHub call {} returned {}, retrying in {} ms (attempt {}/{})",
+                request.url(), response.status(), delay.toMillis(), attempt, settings.getMaxAttempts());
+            response.close();
+            sleep(delay);
+        }
+    }
+
+    public int getConcurrencyLimit() {
+        lock.lock();
+        try {
+            return concurrencyLimit;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    public long getRemaining() {
+        lock.lock();
+        try {
+            return remaining;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void awaitBudget() throws InterruptedIOException {
+        Instant until;
+        lock.lock();
+        try {
+            Instant now = clock.instant();
+            until = pausedUntil;
+            // Keep a reserve for other callers sharing the token and let the window reset first
+            if (remaining >= 0 && remaining <= settings.getReserve() + inFlight && resetAt.isAfter(now)) {
+                until = until.isAfter(resetAt) ? until : resetAt;
+            }
+        } finally {
+            lock.unlock();
+        }
+        Duration wait = Duration.between(clock.instant(), until);
+        if (wait.isNegative() || wait.isZero()) return;
+        if (wait.compareTo(settings.getMaxWait()) > 0) {
+            log.warn("GitHub rate limit exhausted for another {} s, not waiting", wait.toSeconds());
+            return;
+        }
+        log.info("GitHub rate limit budget low, pausing {} ms", wait.toMillis());
+        sleep(wait);
+    }
+
+    private void acquire() throws InterruptedIOException {
+        lock.lock();
+        try {
+            while (inFlight >= concurrencyLimit) {
+                permitReleased.await();
+            }
+            inFlight++;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a GitHub request slot");
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // Throttling, 5xx and I/O errors all mean GitHub or the path to it is overloaded
+    private void release(boolean congested) {
+        lock.lock();
+        try {
+            inFlight--;
+            if (congested) {
+                concurrencyLimit = Math.max(1, concurrencyLimit / 2);
+            } else if (concurrencyLimit < settings.getMaxConcurrency()) {
+                concurrencyLimit++;
+            }
+            permitReleased.signalAll();
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    private void updateBudget(Response response, boolean throttled) {
+        Long remainingHeader = longHeader(response, "X-RateLimit-Remaining");
+        Long resetHeader = longHeader(response, "X-RateLimit-Reset");
+        Long retryAfter = longHeader(response, "Retry-After");
+        lock.lock();
+        try {
+            if (remainingHeader != null) remaining = remainingHeader;
+            if (resetHeader != null) resetAt = Instant.ofEpochSecond(resetHeader);
+            if (throttled && retryAfter != null) {
+                Instant until = clock.instant().plusSeconds(retryAfter);
+                if (until.isAfter(pausedUntil)) pausedUntil = until;
+            }
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // 429, or 403 from the primary (remaining 0) or secondary (Retry-After) rate limit
+    private static boolean isThrottled(Response response) {
+        if (response.status() == 429) return true;
+        if (response.status() != 403) return false;
+        return Long.valueOf(0).equals(longHeader(response, "X-RateLimit-Remaining"))
+            || longHeader(response, "Retry-After") != null;
+    }
+
+    private Duration retryDelay(Response response, int attempt) {
+        Long retryAfter = longHeader(response, "Retry-After");
+        if (retryAfter != null) {
+            return Duration.ofSeconds(retryAfter);
+        }
+        Long resetHeader = longHeader(response, "X-RateLimit-Reset");
+        if (isThrottled(response) && resetHeader != null) {
+            Duration untilReset = Duration.between(clock.instant(), Instant.ofEpochSecond(resetHeader));
+            return untilReset.isNegative() ? backoff(attempt) : untilReset.plusSeconds(1);
+        }
+        return backoff(attempt);
+    }
+
+    // Full jitter: uniformly random in [0, initial * 2^(attempt - 1)]
+    private Duration backoff(int attempt) {
+        long ceiling = settings.getInitialBackoff().toMillis() << Math.min(attempt - 1, 16);
+        return Duration.ofMillis(ThreadLocalRandom.current().nextLong(ceiling + 1));
+    }
+
+    void sleep(Duration duration) throws InterruptedIOException {
+        try {
+            Thread.sleep(duration);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while backing off from GitHub");
+        }
+    }
+
+    private static Long longHeader(Response response, String name) {
+        Collection<String> values = response.headers().get(name);
+        if (values == null || values.isEmpty()) return null;
+        try {
+            return Long.parseLong(values.iterator().next().trim());
+        } catch (NumberFormatException e) {
+            return null;
+        }
+    }
+}
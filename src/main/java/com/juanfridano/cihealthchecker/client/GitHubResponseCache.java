@@ -0,0 +1,61 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Bounded LRU of decoded GitHub responses and their ETags, keyed by request URL including the query.
+ */
+@Component
+public class GitHubResponseCache {
+
+    public record CachedResponse(String etag, Object body) {
+    }
+
+    private final Map<String, CachedResponse> entries;
+    private final AtomicLong hits = new AtomicLong();
+    private final AtomicLong misses = new AtomicLong();
+
+    public GitHubResponseCache(GitHubProperties gitHubProperties) {
+        int maxEntries = gitHubProperties.getCache().getMaxEntries();
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, CachedResponse> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    public synchronized CachedResponse get(String url) {
+        return entries.get(url);
+    }
+
+    public synchronized void put(String url, CachedResponse response) {
+        entries.put(url, response);
+    }
+
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    void recordHit() {
+        hits.incrementAndGet();
+    }
+
+    void recordMiss() {
+        misses.incrementAndGet();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+}
@@ -0,0 +1,46 @@
+package com.juanfridano.cihealthchecker.client;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.RequiredArgsConstructor;
+
+import java.io.IOException;
+
+/**
+ * Times every HTTP attempt against GitHub, tagged by client method and status code. Sits below the
+ * scheduler, so retried 5xx, throttled 403 and conditional 304 responses show up as separate samples.
+ */
+@RequiredArgsConstructor
+public class MeteredClient implements Client {
+
+    private final Client delegate;
+    private final MeterRegistry meterRegistry;
+
+    @Override
+    public Response execute(Request request, Request.Options options) throws IOException {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "IO_ERROR";
+        try {
+            Response response = delegate.execute(request, options);
+            status = String.valueOf(response.status());
+            return response;
+        } finally {
+            sample.stop(Timer.builder("github.api.requests")
+                .description("HTTP calls to the GitHub API, per attempt")
+                .tag("method", methodName(request))
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private static String methodName(Request request) {
+        if (request.requestTemplate() == null || request.requestTemplate().methodMetadata() == null) {
+            return "unknown";
+        }
+        return request.requestTemplate().methodMetadata().method().getName();
+    }
+}
@@ -0,0 +1,51 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+
+import feign.Response;
+import feign.codec.Decoder;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.lang.reflect.Type;
+import java.util.concurrent.TimeUnit;
+
+public class WorkflowRunsDecoder implements Decoder {
+
+    private final WorkflowRunsJsonReader reader;
+    private final Decoder delegate;
+    private final Timer decodeTimer;
+    private final DistributionSummary pageSize;
+
+    public WorkflowRunsDecoder(WorkflowRunsJsonReader reader, Decoder delegate, MeterRegistry meterRegistry) {
+        this.reader = reader;
+        this.delegate = delegate;
+        this.decodeTimer = Timer.builder("github.runs.decode")
+            .description("Time to stream-decode one workflow runs page")
+            .publishPercentileHistogram()
+            .register(meterRegistry);
+        this.pageSize = DistributionSummary.builder("github.runs.page.size")
+            .description("Workflow runs per decoded page")
+            .baseUnit("runs")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Object decode(Response response, Type type) throws IOException {
+        if (type != GitHubWorkflowResponse.class || response.body() == null) {
+            return delegate.decode(response, type);
+        }
+        long start = System.nanoTime();
+        GitHubWorkflowResponse decoded;
+        try (InputStream in = response.body().asInputStream()) {
+            decoded = reader.readResponse(in);
+        } finally {
+            decodeTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+        pageSize.record(decoded.getWorkflowRuns() == null ? 0 : decoded.getWorkflowRuns().size());
+        return decoded;
+    }
+}
@@ -0,0 +1,93 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParseException;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Pull parser for the {@code /actions/runs} payload. Only the fields the report needs are read,
+ * every other subtree (repository, actor, head_commit, ...) is skipped token by token.
+ */
+public class WorkflowRunsJsonReader {
+
+    private final JsonFactory jsonFactory;
+
+    public WorkflowRunsJsonReader() {
+        this(new JsonFactory());
+    }
+
+    public WorkflowRunsJsonReader(JsonFactory jsonFactory) {
+        this.jsonFactory = jsonFactory;
+    }
+
+    /**
+     * Reads one page; {@code total_count} is {@code null} if the payload did not contain it. A page holds at most
+     * {@code per_page} runs, so it is collected into a list and handed to the page consumers whole.
+     */
+    public GitHubWorkflowResponse readResponse(InputStream in) throws IOException {
+        List<WorkflowRun> runs = new ArrayList<>();
+        Long totalCount = null;
+        try (JsonParser parser = jsonFactory.createParser(in)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                throw new JsonParseException(parser, "Expected workflow runs object");
+            }
+            String field;
+            while ((field = parser.nextFieldName()) != null) {
+                JsonToken token = parser.nextToken();
+                switch (field) {
+                    case "total_count" -> totalCount = token == JsonToken.VALUE_NULL ? null : parser.getLongValue();
+                    case "workflow_runs" -> readRuns(parser, token, runs);
+                    default -> parser.skipChildren();
+                }
+            }
+        }
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(totalCount);
+        response.setWorkflowRuns(runs);
+        return response;
+    }
+
+    private void readRuns(JsonParser parser, JsonToken token, List<WorkflowRun> runs) throws IOException {
+        if (token == JsonToken.VALUE_NULL) return;
+        if (token != JsonToken.START_ARRAY) {
+            throw new JsonParseException(parser, "Expected workflow_runs array");
+        }
+        while (parser.nextToken() == JsonToken.START_OBJECT) {
+            runs.add(readRun(parser));
+        }
+    }
+
+    private WorkflowRun readRun(JsonParser parser) throws IOException {
+        WorkflowRun run = new WorkflowRun();
+        String field;
+        while ((field = parser.nextFieldName()) != null) {
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id" -> run.setId(token == JsonToken.VALUE_NULL ? null : parser.getLongValue());
+                case "name" -> run.setName(parser.getValueAsString());
+                case "conclusion" -> run.setConclusion(parser.getValueAsString());
+                case "head_sha" -> run.setHead_sha(parser.getValueAsString());
+                case "run_attempt" -> run.setRun_attempt(token == JsonToken.VALUE_NULL ? null : parser.getIntValue());
+                case "created_at" -> run.setCreated_at(readTimestamp(parser));
+                case "run_started_at" -> run.setRun_started_at(readTimestamp(parser));
+                case "updated_at" -> run.setUpdated_at(readTimestamp(parser));
+                default -> parser.skipChildren();
+            }
+        }
+        return run;
+    }
+
+    private static OffsetDateTime readTimestamp(JsonParser parser) throws IOException {
+        String text = parser.getValueAsString();
+        return text == null ? null : OffsetDateTime.parse(text);
+    }
+}
@@ -1,5 +1,11 @@
 package com.juanfridano.cihealthchecker.config;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+
 import lombok.Getter;
 import lombok.Setter;
 import org.springframework.boot.context.properties.ConfigurationProperties;
@@ -10,7 +16,69 @@ import org.springframework.context.annotation.Configuration;
 @Getter
 @Setter
 public class GitHubProperties {
+    private String apiUrl = "https://api.github.com";
     private String token;
     private String owner;
     private String repo;
+    private List<String> repositories = new ArrayList<>();
+    private int perPage = 100;
+    private int fetchParallelism = 8;
+    private int repositoryParallelism = 8;
+    private int resultCap = 1000;
+    private Store store = new Store();
+    private Cache cache = new Cache();
+    private Scheduler scheduler = new Scheduler();
+    private Webhook webhook = new Webhook();
+    private Jobs jobs = new Jobs();
+
+    // Falls back to the single owner/repo pair when no repository list is configured
+    public List<RepositoryRef> getRepositoryRefs() {
+        if (repositories.isEmpty()) {
+            return List.of(new RepositoryRef(owner, repo));
+        }
+        return repositories.stream().map(RepositoryRef::parse).toList();
+    }
+
+    @Getter
+    @Setter
+    public static class Store {
+        private boolean enabled = false;
+        private String path = "data/workflow-runs.jsonl";
+        private int backfillDays = 90;
+        private int resyncDays = 3;
+        private Duration syncInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Cache {
+        private boolean enabled = true;
+        private int maxEntries = 1000;
+    }
+
+    @Getter
+    @Setter
+    public static class Scheduler {
+        private int maxConcurrency = 16;
+        private int maxAttempts = 4;
+        private Duration initialBackoff = Duration.ofMillis(500);
+        private Duration maxWait = Duration.ofSeconds(60);
+        private int reserve = 10;
+    }
+
+    @Getter
+    @Setter
+    public static class Webhook {
+        private boolean enabled = false;
+        private String secret;
+        private int retentionDays = 30;
+        private Duration backfillRetryInterval = Duration.ofMinutes(10);
+    }
+
+    @Getter
+    @Setter
+    public static class Jobs {
+        private int cacheMaxRuns = 20000;
+        private int maxRunsPerRequest = 100;
+    }
 }
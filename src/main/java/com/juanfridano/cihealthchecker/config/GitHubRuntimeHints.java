@@ -0,0 +1,36 @@
+package com.juanfridano.cihealthchecker.config;
+
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.model.GitHubJobsResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflow;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowsResponse;
+import com.juanfridano.cihealthchecker.model.WorkflowJob;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStep;
+
+import org.springframework.aot.hint.MemberCategory;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.RuntimeHintsRegistrar;
+
+/**
+ * Reflection metadata for a native image. Controller return types are found by Spring's AOT processing, but the
+ * GitHub payloads are only bound by Jackson behind the Feign client (and read back from the run store and webhook
+ * bodies), so their constructors, accessors and fields are registered here.
+ */
+public class GitHubRuntimeHints implements RuntimeHintsRegistrar {
+
+    private static final Class<?>[] BOUND_TYPES = {
+        GitHubWorkflowResponse.class, WorkflowRun.class, GitHubJobsResponse.class, WorkflowJob.class, WorkflowStep.class,
+        GitHubWorkflowsResponse.class, GitHubWorkflow.class
+    };
+
+    @Override
+    public void registerHints(RuntimeHints hints, ClassLoader classLoader) {
+        for (Class<?> type : BOUND_TYPES) {
+            hints.reflection().registerType(type, MemberCategory.INVOKE_DECLARED_CONSTRUCTORS,
+                MemberCategory.INVOKE_PUBLIC_METHODS, MemberCategory.DECLARED_FIELDS);
+        }
+        hints.proxies().registerJdkProxy(GitHubClient.class);
+    }
+}
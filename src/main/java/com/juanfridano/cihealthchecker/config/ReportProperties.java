@@ -0,0 +1,63 @@
+package com.juanfridano.cihealthchecker.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "report")
+@Getter
+@Setter
+public class ReportProperties {
+    private Snapshots snapshots = new Snapshots();
+    private Trends trends = new Trends();
+    private Exports exports = new Exports();
+    private Analysis analysis = new Analysis();
+    private DayCache dayCache = new DayCache();
+
+    @Getter
+    @Setter
+    public static class Snapshots {
+        private boolean enabled = false;
+        private List<Integer> windows = new ArrayList<>(List.of(1, 3, 7, 30));
+        private Duration refreshInterval = Duration.ofMinutes(5);
+    }
+
+    @Getter
+    @Setter
+    public static class Trends {
+        private int retentionDays = 90;
+    }
+
+    @Getter
+    @Setter
+    public static class Exports {
+        private boolean enabled = false;
+        private String path = "data/exports";
+        private String cron = "0 15 0 * * *";
+        private int retentionDays = 90;
+    }
+
+    @Getter
+    @Setter
+    public static class Analysis {
+        private int commitWindow = 200;
+        private int lookbackDays = 14;
+    }
+
+    @Getter
+    @Setter
+    public static class DayCache {
+        private boolean enabled = false;
+        private int maxEntries = 1000;
+        private Duration sealAfter = Duration.ofHours(6);
+        private boolean diskEnabled = false;
+        private String diskPath = "data/day-partials";
+        private int diskMaxEntries = 50000;
+    }
+}
@@ -0,0 +1,26 @@
+package com.juanfridano.cihealthchecker.controller;
+
+import java.util.List;
+
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowAnalysis;
+import com.juanfridano.cihealthchecker.service.AnalysisService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class AnalysisController {
+
+    private final AnalysisService analysisService;
+
+    @GetMapping("/analysis")
+    public List<WorkflowAnalysis> getAnalysis(@RequestParam(required = false) List<String> repos) {
+        if (repos == null || repos.isEmpty()) {
+            return analysisService.getAnalysis();
+        }
+        return analysisService.getAnalysis(repos.stream().map(RepositoryRef::parse).distinct().toList());
+    }
+}
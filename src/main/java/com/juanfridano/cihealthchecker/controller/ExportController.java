@@ -0,0 +1,71 @@
+package com.juanfridano.cihealthchecker.controller;
+
+import java.io.IOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.Optional;
+
+import com.juanfridano.cihealthchecker.export.ExportService;
+import com.juanfridano.cihealthchecker.model.ExportFile;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "report.exports", name = "enabled", havingValue = "true")
+public class ExportController {
+
+    // Tomcat's sendfile contract, the same one its DefaultServlet uses for static files
+    private static final String SENDFILE_SUPPORTED = "org.apache.tomcat.sendfile.support";
+    private static final String SENDFILE_FILENAME = "org.apache.tomcat.sendfile.filename";
+    private static final String SENDFILE_START = "org.apache.tomcat.sendfile.start";
+    private static final String SENDFILE_END = "org.apache.tomcat.sendfile.end";
+
+    private final ExportService exportService;
+
+    @GetMapping("/exports")
+    public List<ExportFile> listExports() throws IOException {
+        return exportService.list();
+    }
+
+    /**
+     * Streams an export file as is. Under Tomcat the connector hands the file to the kernel with sendfile, so the
+     * bytes never pass through the JVM heap; other containers get a channel transfer.
+     */
+    @GetMapping("/exports/{name}")
+    public void download(@PathVariable String name, HttpServletRequest request, HttpServletResponse response) throws IOException {
+        Optional<Path> file = exportService.resolve(name);
+        if (file.isEmpty()) {
+            response.sendError(HttpServletResponse.SC_NOT_FOUND);
+            return;
+        }
+        long size = Files.size(file.get());
+        response.setContentType(name.endsWith(".csv.gz") ? "application/gzip" : MediaType.APPLICATION_OCTET_STREAM_VALUE);
+        response.setContentLengthLong(size);
+        response.setHeader(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=\"" + name + "\"");
+        if (Boolean.TRUE.equals(request.getAttribute(SENDFILE_SUPPORTED))) {
+            request.setAttribute(SENDFILE_FILENAME, file.get().toAbsolutePath().toString());
+            request.setAttribute(SENDFILE_START, 0L);
+            request.setAttribute(SENDFILE_END, size);
+            return;
+        }
+        try (FileChannel channel = FileChannel.open(file.get(), StandardOpenOption.READ)) {
+            long position = 0;
+            var out = Channels.newChannel(response.getOutputStream());
+            while (position < size) {
+                position += channel.transferTo(position, size - position, out);
+            }
+        }
+    }
+}
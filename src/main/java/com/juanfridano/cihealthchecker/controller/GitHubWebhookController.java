@@ -0,0 +1,35 @@
+package com.juanfridano.cihealthchecker.controller;
+
+import com.juanfridano.cihealthchecker.service.GitHubWebhookService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RestController;
+
+@Slf4j
+@RestController
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "github.webhook", name = "enabled", havingValue = "true")
+public class GitHubWebhookController {
+
+    private final GitHubWebhookService webhookService;
+
+    @PostMapping("/webhooks/github")
+    public ResponseEntity<Void> receive(@RequestHeader(value = "X-GitHub-Event", required = false) String event,
+                                        @RequestHeader(value = "X-Hub-Signature-256", required = false) String signature,
+                                        @RequestBody byte[] body) {
+        if (!webhookService.isValidSignature(body, signature)) {
+            log.warn("Rejected {} webhook with invalid signature", event);
+            return ResponseEntity.status(HttpStatus.UNAUTHORIZED).build();
+        }
+        return switch (webhookService.handle(event, body)) {
+            case ACCEPTED -> ResponseEntity.accepted().build();
+            case DUPLICATE, IGNORED -> ResponseEntity.noContent().build();
+        };
+    }
+}
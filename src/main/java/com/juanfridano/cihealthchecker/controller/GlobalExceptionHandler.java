@@ -7,7 +7,9 @@ import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.bind.annotation.RestControllerAdvice;
 
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
 import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
 
 @RestControllerAdvice
 public class GlobalExceptionHandler {
@@ -23,6 +25,27 @@ public class GlobalExceptionHandler {
                 ));
     }
 
+    @ExceptionHandler(CiProviderException.class)
+    public ResponseEntity<Map<String, Object>> handleCiProviderException(CiProviderException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_GATEWAY)
+                .body(Map.of(
+                        "error", "CI Provider Error",
+                        "provider", ex.getProvider(),
+                        "message", ex.getMessage(),
+                        "status", 502
+                ));
+    }
+
+    @ExceptionHandler(InvalidRequestException.class)
+    public ResponseEntity<Map<String, Object>> handleBadRequest(InvalidRequestException ex) {
+        return ResponseEntity.status(HttpStatus.BAD_REQUEST)
+                .body(Map.of(
+                        "error", "Bad Request",
+                        "message", ex.getMessage(),
+                        "status", 400
+                ));
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<Map<String, Object>> handleGenericException(Exception ex) {
         return ResponseEntity.status(HttpStatus.INTERNAL_SERVER_ERROR)
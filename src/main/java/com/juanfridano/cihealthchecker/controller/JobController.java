@@ -0,0 +1,34 @@
+package com.juanfridano.cihealthchecker.controller;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.juanfridano.cihealthchecker.model.JobHealthEntry;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.service.JobBreakdownService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class JobController {
+
+    private final JobBreakdownService jobBreakdownService;
+
+    /**
+     * Job and step stats behind one {@code /report} entry, identified by its {@code repository} and
+     * {@code workflowName}; takes the same window and filters.
+     */
+    @GetMapping("/report/jobs")
+    public List<JobHealthEntry> getJobs(@RequestParam String repository,
+                                        @RequestParam String workflowName,
+                                        @RequestParam(defaultValue = "3") int daysBack,
+                                        @RequestParam(defaultValue = "20") int maxRuns,
+                                        RunFilter filter) {
+        OffsetDateTime since = OffsetDateTime.now().minusDays(daysBack);
+        return jobBreakdownService.getJobBreakdown(RepositoryRef.parse(repository), workflowName, since, filter, maxRuns);
+    }
+}
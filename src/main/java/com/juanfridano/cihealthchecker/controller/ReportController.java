@@ -1,25 +1,165 @@
 package com.juanfridano.cihealthchecker.controller;
 
 import java.util.List;
+import java.util.Optional;
 
 import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.ReportSnapshot;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
 import com.juanfridano.cihealthchecker.service.CiReportService;
+import com.juanfridano.cihealthchecker.service.ReportSnapshotService;
+import io.micrometer.core.instrument.MeterRegistry;
 import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
 
+@Slf4j
 @RestController
 @RequiredArgsConstructor
 public class ReportController {
 
+    private static final long STREAM_TIMEOUT_MS = 10 * 60 * 1000L;
+
     private final CiReportService reportService;
+    private final Optional<ReportSnapshotService> snapshotService;
+    private final MeterRegistry meterRegistry;
 
+    /**
+     * {@code status}, {@code branch}, {@code event} and {@code workflowId} query parameters are bound into
+     * {@link RunFilter} and passed on to GitHub.
+     */
     @GetMapping("/report")
-    public List<CiHealthReportEntry> getReport(@RequestParam(defaultValue = "3") int daysBack) {
+    public ResponseEntity<List<CiHealthReportEntry>> getReport(@RequestParam(defaultValue = "3") int daysBack,
+                                                               @RequestParam(required = false) List<String> repos,
+                                                               @RequestParam(defaultValue = "false") boolean fresh,
+                                                               RunFilter filter) {
+        boolean snapshotEligible = (repos == null || repos.isEmpty()) && filter.isEmpty()
+            && snapshotService.isPresent() && snapshotService.get().isTracked(daysBack);
+        Optional<ReportSnapshot> cached = snapshotEligible && !fresh
+            ? snapshotService.get().getSnapshot(daysBack)
+            : Optional.empty();
+
+        ReportSnapshot snapshot;
+        if (cached.isPresent()) {
+            snapshot = cached.get();
+        } else if (snapshotEligible) {
+            snapshot = snapshotService.get().refresh(daysBack);
+        } else {
+            snapshot = liveReport(daysBack, repositories(repos), filter);
+        }
+
+        String source = cached.isPresent() ? "snapshot" : "live";
+        meterRegistry.counter("report.requests", "source", source).increment();
+        OffsetDateTime now = OffsetDateTime.now();
+        return ResponseEntity.ok()
+            .header(HttpHeaders.AGE, String.valueOf(Math.max(0, snapshot.ageAt(now).toSeconds())))
+            .header("X-Report-Generated-At", snapshot.getGeneratedAt().toString())
+            .header("X-Report-Source", source)
+            .body(snapshot.getEntries());
+    }
+
+    /**
+     * Same entries as {@code /report}, written as NDJSON as each repository finishes instead of after the last one.
+     * The servlet thread is released right away; the report is produced on a virtual thread.
+     */
+    @GetMapping(value = "/report/stream", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseBodyEmitter streamReport(@RequestParam(defaultValue = "3") int daysBack,
+                                            @RequestParam(required = false) List<String> repos,
+                                            RunFilter filter) {
+        ResponseBodyEmitter emitter = new ResponseBodyEmitter(STREAM_TIMEOUT_MS);
+        stream(daysBack, repos, filter, emitter, entry -> {
+            emitter.send(entry, MediaType.APPLICATION_JSON);
+            emitter.send("\n", MediaType.TEXT_PLAIN);
+        });
+        return emitter;
+    }
+
+    @GetMapping(value = "/report/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamReportEvents(@RequestParam(defaultValue = "3") int daysBack,
+                                         @RequestParam(required = false) List<String> repos,
+                                         RunFilter filter) {
+        SseEmitter emitter = new SseEmitter(STREAM_TIMEOUT_MS);
+        stream(daysBack, repos, filter, emitter,
+            entry -> emitter.send(SseEmitter.event().name("entry").data(entry, MediaType.APPLICATION_JSON)));
+        return emitter;
+    }
+
+    private void stream(int daysBack, List<String> repos, RunFilter filter, ResponseBodyEmitter emitter, EntryWriter writer) {
+        meterRegistry.counter("report.requests", "source", "stream").increment();
         OffsetDateTime since = OffsetDateTime.now().minusDays(daysBack);
-        return reportService.generateReport(since);
+        List<RepositoryRef> repositories = repositories(repos);
+        Consumer<List<CiHealthReportEntry>> sink = entries -> {
+            try {
+                for (CiHealthReportEntry entry : entries) {
+                    writer.write(entry);
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        };
+        AtomicBoolean abandoned = new AtomicBoolean();
+        Thread producer = Thread.ofVirtual().name("report-stream").unstarted(() -> {
+            try {
+                if (repositories == null) {
+                    reportService.streamReport(since, filter, sink);
+                } else {
+                    reportService.streamReport(since, repositories, filter, sink);
+                }
+                emitter.complete();
+            } catch (UncheckedIOException e) {
+                // client went away; the container already tore down the response
+                log.debug("Report stream aborted: {}", e.getMessage());
+            } catch (RuntimeException e) {
+                if (abandoned.get()) {
+                    log.debug("Report stream abandoned: {}", e.getMessage());
+                    return;
+                }
+                log.error("Report stream failed: {}", e.getMessage());
+                emitter.completeWithError(e);
+            }
+        });
+        // A client that disconnects or times out stops the repositories that are still being fetched
+        Runnable abandon = () -> {
+            abandoned.set(true);
+            producer.interrupt();
+        };
+        emitter.onError(error -> abandon.run());
+        emitter.onTimeout(abandon);
+        producer.start();
+    }
+
+    @FunctionalInterface
+    private interface EntryWriter {
+        void write(CiHealthReportEntry entry) throws IOException;
+    }
+
+    private ReportSnapshot liveReport(int daysBack, List<RepositoryRef> repositories, RunFilter filter) {
+        OffsetDateTime now = OffsetDateTime.now();
+        OffsetDateTime since = now.minusDays(daysBack);
+        return ReportSnapshot.builder()
+            .daysBack(daysBack)
+            .generatedAt(now)
+            .entries(repositories == null
+                ? reportService.generateReport(since, reportService.getConfiguredRepositories(), filter)
+                : reportService.generateReport(since, repositories, filter))
+            .build();
+    }
+
+    private static List<RepositoryRef> repositories(List<String> repos) {
+        return repos == null || repos.isEmpty() ? null : repos.stream().map(RepositoryRef::parse).distinct().toList();
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,32 @@
+package com.juanfridano.cihealthchecker.controller;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.TrendBucket;
+import com.juanfridano.cihealthchecker.model.WorkflowTrend;
+import com.juanfridano.cihealthchecker.service.TrendService;
+import lombok.RequiredArgsConstructor;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@RequiredArgsConstructor
+public class TrendController {
+
+    private final TrendService trendService;
+
+    @GetMapping("/trends")
+    public List<WorkflowTrend> getTrends(@RequestParam(defaultValue = "7") int daysBack,
+                                         @RequestParam(defaultValue = "day") String bucket,
+                                         @RequestParam(required = false) List<String> repos) {
+        OffsetDateTime since = OffsetDateTime.now().minusDays(daysBack);
+        TrendBucket trendBucket = TrendBucket.parse(bucket);
+        if (repos == null || repos.isEmpty()) {
+            return trendService.getTrends(since, trendBucket);
+        }
+        return trendService.getTrends(since, trendBucket, repos.stream().map(RepositoryRef::parse).distinct().toList());
+    }
+}
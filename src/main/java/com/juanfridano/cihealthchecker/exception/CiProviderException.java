@@ -0,0 +1,22 @@
+package com.juanfridano.cihealthchecker.exception;
+
+import lombok.Getter;
+
+/**
+ * Failure of a non-GitHub {@link com.juanfridano.cihealthchecker.provider.CiRunSource}. Retryable ones are
+ * attempted again by the fetch engine before they propagate.
+ */
+@Getter
+public class CiProviderException extends RuntimeException {
+
+    private final String provider;
+    private final int status;
+    private final boolean retryable;
+
+    public CiProviderException(String provider, int status, String message, boolean retryable) {
+        super(message);
+        this.provider = provider;
+        this.status = status;
+        this.retryable = retryable;
+    }
+}
@@ -0,0 +1,10 @@
+package com.juanfridano.cihealthchecker.exception;
+
+/**
+ * A request parameter or payload that cannot be served as given; answered with 400 Bad Request.
+ */
+public class InvalidRequestException extends IllegalArgumentException {
+    public InvalidRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,231 @@
+package com.juanfridano.cihealthchecker.export;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.ExportFile;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.service.WorkflowRunAggregator;
+import com.juanfridano.cihealthchecker.service.WorkflowRunFetcher;
+import com.juanfridano.cihealthchecker.store.RunColumns;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import java.util.stream.Stream;
+import java.util.zip.GZIPInputStream;
+import java.util.zip.GZIPOutputStream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Writes one set of files per UTC day for the configured repositories: the day's report as
+ * {@code report-<day>.csv.gz}, and its raw runs as {@code runs-<day>.csv.gz} and as gzipped {@link RunColumns}
+ * blocks in {@code runs-<day>.cols.gz}. A day is closed once written with every run concluded, so it is never
+ * exported twice; a day written while runs were still in progress stays open and is exported again by the next
+ * scheduled export, for up to {@link #REVISIT_DAYS} days. With a run store covering the day the export costs no
+ * GitHub calls at all.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "report.exports", name = "enabled", havingValue = "true")
+public class ExportService {
+
+    static final int REVISIT_DAYS = 7;
+
+    private static final Pattern FILE_NAME = Pattern.compile("(?:report|runs)-(\\d{4}-\\d{2}-\\d{2})\\.(?:csv|cols)\\.gz");
+
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final GitHubProperties gitHubProperties;
+    private final ReportProperties reportProperties;
+
+    @Scheduled(cron = "${report.exports.cron:0 15 0 * * *}", zone = "UTC")
+    public void exportPreviousDay() {
+        LocalDate previousDay = LocalDate.now(ZoneOffset.UTC).minusDays(1);
+        // Older days are only revisited if they were exported with runs still in progress
+        for (LocalDate day = previousDay.minusDays(REVISIT_DAYS - 1); !day.isAfter(previousDay); day = day.plusDays(1)) {
+            if (day.isBefore(previousDay) && !Files.exists(runsColumnsFile(day))) continue;
+            try {
+                export(day);
+            } catch (IOException | RuntimeException e) {
+                log.error("Export of {} failed: {}", day, e.getMessage());
+            }
+        }
+        try {
+            prune();
+        } catch (IOException e) {
+            log.error("Pruning exports failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * @return the files written, empty if the day had been exported already with all its runs concluded
+     */
+    public List<Path> export(LocalDate day) throws IOException {
+        Path directory = directory();
+        Files.createDirectories(directory);
+        Path report = directory.resolve("report-" + day + ".csv.gz");
+        Path runsCsv = directory.resolve("runs-" + day + ".csv.gz");
+        Path runsColumns = runsColumnsFile(day);
+        if (Files.exists(report) && Files.exists(runsCsv) && Files.exists(runsColumns) && isClosed(runsColumns)) {
+            return List.of();
+        }
+
+        OffsetDateTime start = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+        List<WorkflowRun> runs = runsCreatedOn(gitHubProperties.getRepositoryRefs(), start, start.plusDays(1));
+        runs.sort(Comparator.comparing(WorkflowRun::getCreated_at, Comparator.nullsFirst(Comparator.naturalOrder()))
+            .thenComparing(WorkflowRun::getId, Comparator.nullsFirst(Comparator.naturalOrder())));
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        aggregator.accept(runs);
+        RunColumns columns = new RunColumns(runs.size());
+        runs.forEach(columns::put);
+
+        writeGzipped(report, out -> writeReportCsv(day, aggregator.toEntries(), out));
+        writeGzipped(runsCsv, out -> writeRunsCsv(runs, out));
+        writeGzipped(runsColumns, columns::writeTo);
+        int inProgress = columns.inProgress();
+        if (inProgress > 0) {
+            log.info("Exported {} runs created on {} to {}, {} still in progress and exported again later",
+                runs.size(), day, directory, inProgress);
+        } else {
+            log.info("Exported {} runs created on {} to {}", runs.size(), day, directory);
+        }
+        return List.of(report, runsCsv, runsColumns);
+    }
+
+    private static boolean isClosed(Path runsColumns) throws IOException {
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(runsColumns), 64 * 1024)) {
+            return RunColumns.readFrom(in).inProgress() == 0;
+        }
+    }
+
+    public List<ExportFile> list() throws IOException {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) {
+            return List.of();
+        }
+        List<ExportFile> files = new ArrayList<>();
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                if (!FILE_NAME.matcher(path.getFileName().toString()).matches()) continue;
+                files.add(ExportFile.builder()
+                    .name(path.getFileName().toString())
+                    .sizeBytes(Files.size(path))
+                    .modifiedAt(Files.getLastModifiedTime(path).toInstant().atOffset(ZoneOffset.UTC))
+                    .build());
+            }
+        }
+        return files;
+    }
+
+    /**
+     * Only names of exported files resolve, so nothing outside the export directory can be reached.
+     */
+    public Optional<Path> resolve(String name) {
+        if (name == null || !FILE_NAME.matcher(name).matches()) {
+            throw new InvalidRequestException("Not an export file name: " + name);
+        }
+        Path path = directory().resolve(name);
+        return Files.isRegularFile(path) ? Optional.of(path) : Optional.empty();
+    }
+
+    public void prune() throws IOException {
+        Path directory = directory();
+        if (!Files.isDirectory(directory)) return;
+        LocalDate oldest = LocalDate.now(ZoneOffset.UTC).minusDays(reportProperties.getExports().getRetentionDays());
+        try (Stream<Path> paths = Files.list(directory)) {
+            for (Path path : paths.toList()) {
+                Matcher matcher = FILE_NAME.matcher(path.getFileName().toString());
+                if (matcher.matches() && LocalDate.parse(matcher.group(1)).isBefore(oldest)) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    private List<WorkflowRun> runsCreatedOn(List<RepositoryRef> repositories, OffsetDateTime start, OffsetDateTime end) {
+        if (workflowRunStore.isPresent() && workflowRunStore.get().covers(repositories, start)) {
+            return new ArrayList<>(workflowRunStore.get().findCreatedSince(repositories, start).stream()
+                .filter(run -> run.getCreated_at() != null && run.getCreated_at().isBefore(end))
+                .toList());
+        }
+        List<WorkflowRun> runs = new ArrayList<>();
+        workflowRunFetcher.fetchRuns(repositories, CreatedQuery.between(start, end.minusSeconds(1)), page -> {
+            synchronized (runs) {
+                runs.addAll(page);
+            }
+        });
+        return runs;
+    }
+
+    private Path directory() {
+        return Path.of(reportProperties.getExports().getPath());
+    }
+
+    private Path runsColumnsFile(LocalDate day) {
+        return directory().resolve("runs-" + day + ".cols.gz");
+    }
+
+    private static void writeReportCsv(LocalDate day, List<CiHealthReportEntry> entries, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.row("day", "repository", "workflow_name", "total_runs", "failures", "cancelled", "skipped", "failure_rate",
+            "avg_duration_minutes", "p50_duration_seconds", "p90_duration_seconds", "p99_duration_seconds");
+        for (CiHealthReportEntry entry : entries) {
+            csv.row(day, entry.getRepository(), entry.getWorkflowName(), entry.getTotalRuns(), entry.getFailures(),
+                entry.getCancelled(), entry.getSkipped(), entry.getFailureRate(), entry.getAvgDurationMinutes(),
+                entry.getP50DurationSeconds(), entry.getP90DurationSeconds(), entry.getP99DurationSeconds());
+        }
+        csv.flush();
+    }
+
+    private static void writeRunsCsv(List<WorkflowRun> runs, OutputStream out) throws IOException {
+        CsvWriter csv = new CsvWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+        csv.row("id", "repository", "workflow_name", "conclusion", "head_sha", "created_at", "run_started_at",
+            "updated_at", "duration_seconds");
+        for (WorkflowRun run : runs) {
+            csv.row(run.getId(), run.getRepositoryName(), run.getName(), run.getConclusion(), run.getHead_sha(),
+                run.getCreated_at(), run.getRun_started_at(), run.getUpdated_at(), run.getDurationSeconds());
+        }
+        csv.flush();
+    }
+
+    // Written next to the target and moved into place, so downloads never see a half-written day
+    private static void writeGzipped(Path target, StreamWriter writer) throws IOException {
+        Path temp = target.resolveSibling(target.getFileName() + ".tmp");
+        try (OutputStream out = new BufferedOutputStream(new GZIPOutputStream(Files.newOutputStream(temp), 64 * 1024))) {
+            writer.write(out);
+        }
+        Files.move(temp, target, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    @FunctionalInterface
+    private interface StreamWriter {
+        void write(OutputStream out) throws IOException;
+    }
+}
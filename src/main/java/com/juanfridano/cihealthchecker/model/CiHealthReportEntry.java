@@ -6,9 +6,15 @@ import lombok.Data;
 @Builder
 @Data
 public class CiHealthReportEntry {
+    private String repository;
     private String workflowName;
     private long totalRuns;
     private long failures;
+    private long cancelled;
+    private long skipped;
     private double failureRate;
     private double avgDurationMinutes;
+    private long p50DurationSeconds;
+    private long p90DurationSeconds;
+    private long p99DurationSeconds;
 }
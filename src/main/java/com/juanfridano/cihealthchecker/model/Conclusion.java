@@ -0,0 +1,62 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.util.Locale;
+
+/**
+ * GitHub's workflow run conclusions, byte-coded for compact storage. {@code null} stands for a run without
+ * a conclusion yet; values GitHub adds later map to {@link #UNKNOWN}.
+ * <p>
+ * Only passes and failures say anything about the code under test: a cancelled run was stopped (usually superseded
+ * by a newer push), a skipped one never ran, and the remaining conclusions wait on someone or something else.
+ */
+public enum Conclusion {
+    SUCCESS,
+    FAILURE,
+    CANCELLED,
+    SKIPPED,
+    TIMED_OUT,
+    ACTION_REQUIRED,
+    NEUTRAL,
+    STALE,
+    STARTUP_FAILURE,
+    UNKNOWN;
+
+    public static final byte NONE_CODE = -1;
+
+    private static final Conclusion[] VALUES = values();
+
+    private final String value = name().toLowerCase(Locale.ROOT);
+
+    public String value() {
+        return value;
+    }
+
+    public byte code() {
+        return (byte) ordinal();
+    }
+
+    public boolean isPass() {
+        return this == SUCCESS || this == NEUTRAL;
+    }
+
+    public boolean isFailure() {
+        return this == FAILURE || this == TIMED_OUT || this == STARTUP_FAILURE;
+    }
+
+    public static Conclusion parse(String value) {
+        if (value == null) return null;
+        for (Conclusion conclusion : VALUES) {
+            if (conclusion.value.equalsIgnoreCase(value)) return conclusion;
+        }
+        return UNKNOWN;
+    }
+
+    public static byte encode(String value) {
+        Conclusion conclusion = parse(value);
+        return conclusion == null ? NONE_CODE : conclusion.code();
+    }
+
+    public static Conclusion decode(byte code) {
+        return code == NONE_CODE ? null : VALUES[code];
+    }
+}
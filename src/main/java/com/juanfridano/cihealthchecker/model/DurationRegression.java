@@ -0,0 +1,16 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.time.OffsetDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class DurationRegression {
+    private OffsetDateTime startedAt;
+    private OffsetDateTime detectedAt;
+    private long baselineSeconds;
+    private long currentSeconds;
+    private double changePercent;
+}
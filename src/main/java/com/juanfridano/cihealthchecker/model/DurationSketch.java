@@ -0,0 +1,102 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+import java.util.Arrays;
+
+/**
+ * Mergeable quantile sketch of durations in seconds, a log-bucketed histogram in the spirit of HDR histograms:
+ * every bin is 10% wider than the previous one, so any quantile is off by at most about 5%.
+ * Merging is an element-wise sum, which makes page, repository and time-bucket partials cheap to combine.
+ */
+public class DurationSketch {
+
+    // Bins up to 1.1^158 s, about 40 days, past the 35 days GitHub lets a workflow run take
+    public static final int BINS = 160;
+    private static final double BASE = 1.1;
+    private static final double LOG_BASE = Math.log(BASE);
+
+    private final int[] counts = new int[BINS];
+    private long total;
+
+    public void add(long seconds) {
+        counts[bin(seconds)]++;
+        total++;
+    }
+
+    public void merge(DurationSketch other) {
+        for (int bin = 0; bin < BINS; bin++) {
+            counts[bin] += other.counts[bin];
+        }
+        total += other.total;
+    }
+
+    public void clear() {
+        Arrays.fill(counts, 0);
+        total = 0;
+    }
+
+    public long getTotal() {
+        return total;
+    }
+
+    public boolean isEmpty() {
+        return total == 0;
+    }
+
+    public long quantile(double quantile) {
+        if (total == 0) return 0;
+        long rank = Math.max(1, (long) Math.ceil(quantile * total));
+        long seen = 0;
+        for (int bin = 0; bin < BINS; bin++) {
+            seen += counts[bin];
+            if (seen >= rank) return representative(bin);
+        }
+        return representative(BINS - 1);
+    }
+
+    /**
+     * Writes the non-empty bins as {@code (bin, count)} pairs after their number.
+     */
+    public void writeTo(DataOutput out) throws IOException {
+        int used = 0;
+        for (int count : counts) {
+            if (count != 0) used++;
+        }
+        out.writeShort(used);
+        for (int bin = 0; bin < BINS; bin++) {
+            if (counts[bin] != 0) {
+                out.writeByte(bin);
+                out.writeInt(counts[bin]);
+            }
+        }
+    }
+
+    public static DurationSketch readFrom(DataInput in) throws IOException {
+        DurationSketch sketch = new DurationSketch();
+        int used = in.readUnsignedShort();
+        for (int i = 0; i < used; i++) {
+            int bin = in.readUnsignedByte();
+            int count = in.readInt();
+            if (bin >= BINS || count < 0) {
+                throw new IOException("Corrupt duration sketch, bin " + bin + " count " + count);
+            }
+            sketch.counts[bin] += count;
+            sketch.total += count;
+        }
+        return sketch;
+    }
+
+    // Bin 0 holds zero-second runs, the last bin absorbs anything beyond about 40 days
+    static int bin(long seconds) {
+        if (seconds < 1) return 0;
+        return (int) Math.min(BINS - 1, 1 + (long) Math.floor(Math.log(seconds) / LOG_BASE));
+    }
+
+    // Geometric middle of the bin
+    static long representative(int bin) {
+        if (bin == 0) return 0;
+        return Math.round(Math.pow(BASE, bin - 0.5));
+    }
+}
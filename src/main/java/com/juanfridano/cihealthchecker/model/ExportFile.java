@@ -0,0 +1,14 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.time.OffsetDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class ExportFile {
+    private String name;
+    private long sizeBytes;
+    private OffsetDateTime modifiedAt;
+}
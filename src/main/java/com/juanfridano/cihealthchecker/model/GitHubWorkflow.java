@@ -0,0 +1,11 @@
+package com.juanfridano.cihealthchecker.model;
+
+import lombok.Data;
+
+@Data
+public class GitHubWorkflow {
+    private Long id;
+    private String name;
+    private String path;
+    private String state;
+}
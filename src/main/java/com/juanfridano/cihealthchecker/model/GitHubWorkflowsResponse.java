@@ -0,0 +1,14 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.util.List;
+
+import com.fasterxml.jackson.annotation.JsonProperty;
+
+import lombok.Data;
+
+@Data
+public class GitHubWorkflowsResponse {
+    @JsonProperty("total_count")
+    private Long totalCount;
+    private List<GitHubWorkflow> workflows;
+}
@@ -0,0 +1,27 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class JobHealthEntry {
+    private String repository;
+    private String workflowName;
+    private String jobName;
+    private long totalRuns;
+    private long failures;
+    private long cancelled;
+    private long skipped;
+    private double failureRate;
+    private double avgDurationMinutes;
+    private long p50DurationSeconds;
+    private long p90DurationSeconds;
+    private long p99DurationSeconds;
+    private List<StepHealthEntry> steps;
+
+    public static class JobHealthEntryBuilder implements OutcomeStatsBuilder<JobHealthEntryBuilder> {
+    }
+}
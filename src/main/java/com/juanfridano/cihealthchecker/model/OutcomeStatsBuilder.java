@@ -0,0 +1,24 @@
+package com.juanfridano.cihealthchecker.model;
+
+/**
+ * The outcome and duration fields job and step entries share, implemented by their Lombok builders so both are
+ * filled from the same {@link WorkflowStats}.
+ */
+public interface OutcomeStatsBuilder<B extends OutcomeStatsBuilder<B>> {
+
+    B totalRuns(long totalRuns);
+
+    B failures(long failures);
+
+    B cancelled(long cancelled);
+
+    B skipped(long skipped);
+
+    B failureRate(double failureRate);
+
+    B p50DurationSeconds(long p50DurationSeconds);
+
+    B p90DurationSeconds(long p90DurationSeconds);
+
+    B p99DurationSeconds(long p99DurationSeconds);
+}
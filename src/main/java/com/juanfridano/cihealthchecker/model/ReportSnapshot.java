@@ -0,0 +1,20 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Value;
+
+@Builder
+@Value
+public class ReportSnapshot {
+    int daysBack;
+    OffsetDateTime generatedAt;
+    List<CiHealthReportEntry> entries;
+
+    public Duration ageAt(OffsetDateTime now) {
+        return Duration.between(generatedAt, now);
+    }
+}
@@ -0,0 +1,54 @@
+package com.juanfridano.cihealthchecker.model;
+
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+
+import java.util.Arrays;
+import java.util.Locale;
+
+/**
+ * A repository or project on some CI provider. GitHub repositories are written {@code owner/repo}; others carry
+ * their provider as a prefix, e.g. {@code gitlab:group/subgroup/project}, where everything before the last slash
+ * is the owner.
+ */
+public record RepositoryRef(String provider, String owner, String name) {
+
+    public static final String GITHUB = "github";
+
+    public RepositoryRef(String owner, String name) {
+        this(GITHUB, owner, name);
+    }
+
+    public static RepositoryRef parse(String fullName) {
+        String value = fullName == null ? "" : fullName.trim();
+        String provider = GITHUB;
+        int colon = value.indexOf(':');
+        if (colon > 0) {
+            provider = value.substring(0, colon).toLowerCase(Locale.ROOT);
+            value = value.substring(colon + 1);
+        }
+        int slash = GITHUB.equals(provider) ? value.indexOf('/') : value.lastIndexOf('/');
+        if (slash <= 0 || slash == value.length() - 1 || value.indexOf('/', slash + 1) >= 0) {
+            throw new InvalidRequestException("Repository must be given as owner/repo: " + fullName);
+        }
+        String owner = value.substring(0, slash);
+        String name = value.substring(slash + 1);
+        if (owner.isBlank() || name.isBlank()) {
+            throw new InvalidRequestException("Repository must be given as owner/repo: " + fullName);
+        }
+        // Names end up in cache file paths
+        if (!isSafeSegment(provider) || !isSafeSegment(name)
+            || Arrays.stream(owner.split("/", -1)).anyMatch(segment -> !isSafeSegment(segment))) {
+            throw new InvalidRequestException("Repository names must not contain '.' or '..' segments or backslashes: " + fullName);
+        }
+        return new RepositoryRef(provider, owner, name);
+    }
+
+    private static boolean isSafeSegment(String segment) {
+        return !segment.equals(".") && !segment.equals("..") && segment.indexOf('/') < 0 && segment.indexOf('\\') < 0;
+    }
+
+    @Override
+    public String toString() {
+        return GITHUB.equals(provider) ? owner + "/" + name : provider + ":" + owner + "/" + name;
+    }
+}
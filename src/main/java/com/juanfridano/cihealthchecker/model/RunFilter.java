@@ -0,0 +1,25 @@
+package com.juanfridano.cihealthchecker.model;
+
+/**
+ * Server-side filters of the workflow runs API. {@code status} accepts statuses ({@code completed}) as well as
+ * conclusions ({@code failure}); {@code workflowId} is a numeric id or a workflow file name.
+ */
+public record RunFilter(String status, String branch, String event, String workflowId) {
+
+    public static final RunFilter NONE = new RunFilter(null, null, null, null);
+
+    public RunFilter {
+        status = blankToNull(status);
+        branch = blankToNull(branch);
+        event = blankToNull(event);
+        workflowId = blankToNull(workflowId);
+    }
+
+    public boolean isEmpty() {
+        return status == null && branch == null && event == null && workflowId == null;
+    }
+
+    private static String blankToNull(String value) {
+        return value == null || value.isBlank() ? null : value.trim();
+    }
+}
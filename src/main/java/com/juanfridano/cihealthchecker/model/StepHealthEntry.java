@@ -0,0 +1,22 @@
+package com.juanfridano.cihealthchecker.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class StepHealthEntry {
+    private int number;
+    private String stepName;
+    private long totalRuns;
+    private long failures;
+    private long cancelled;
+    private long skipped;
+    private double failureRate;
+    private long p50DurationSeconds;
+    private long p90DurationSeconds;
+    private long p99DurationSeconds;
+
+    public static class StepHealthEntryBuilder implements OutcomeStatsBuilder<StepHealthEntryBuilder> {
+    }
+}
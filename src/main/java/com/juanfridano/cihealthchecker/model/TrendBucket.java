@@ -0,0 +1,28 @@
+package com.juanfridano.cihealthchecker.model;
+
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+
+import java.util.Locale;
+
+public enum TrendBucket {
+    HOUR(1),
+    DAY(24);
+
+    private final int hours;
+
+    TrendBucket(int hours) {
+        this.hours = hours;
+    }
+
+    public int getHours() {
+        return hours;
+    }
+
+    public static TrendBucket parse(String value) {
+        try {
+            return valueOf(value.trim().toUpperCase(Locale.ROOT));
+        } catch (IllegalArgumentException e) {
+            throw new InvalidRequestException("Unknown trend bucket '" + value + "', expected hour or day");
+        }
+    }
+}
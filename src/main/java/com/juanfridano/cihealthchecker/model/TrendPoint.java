@@ -0,0 +1,20 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.time.OffsetDateTime;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class TrendPoint {
+    private OffsetDateTime bucketStart;
+    private long totalRuns;
+    private long failures;
+    private long cancelled;
+    private long skipped;
+    private double failureRate;
+    private long p50DurationSeconds;
+    private long p95DurationSeconds;
+    private long p99DurationSeconds;
+}
@@ -0,0 +1,17 @@
+package com.juanfridano.cihealthchecker.model;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class WorkflowAnalysis {
+    private String repository;
+    private String workflowName;
+    private WorkflowHealth health;
+    private long commits;
+    private long failingCommits;
+    private long flakyCommits;
+    private double flakeRate;
+    private DurationRegression durationRegression;
+}
@@ -0,0 +1,11 @@
+package com.juanfridano.cihealthchecker.model;
+
+/**
+ * {@code FAILING} when the newest commit has only failed so far, {@code FLAKY} when any commit both failed and
+ * passed, {@code STABLE} otherwise.
+ */
+public enum WorkflowHealth {
+    STABLE,
+    FLAKY,
+    FAILING
+}
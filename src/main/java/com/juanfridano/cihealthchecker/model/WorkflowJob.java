@@ -0,0 +1,30 @@
+package com.juanfridano.cihealthchecker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+@Data
+public class WorkflowJob {
+    private Long id;
+    private Long run_id;
+    private Integer run_attempt;
+    private String name;
+    private String status;
+    private String conclusion;
+    private OffsetDateTime started_at;
+    private OffsetDateTime completed_at;
+    private List<WorkflowStep> steps;
+
+    @JsonIgnore
+    public long getDurationSeconds() {
+        if (started_at != null && completed_at != null) {
+            return Math.max(0, Duration.between(started_at, completed_at).toSeconds());
+        }
+        return 0;
+    }
+}
@@ -1,5 +1,7 @@
 package com.juanfridano.cihealthchecker.model;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
 import lombok.Data;
 
 import java.time.Duration;
@@ -7,16 +9,29 @@ import java.time.OffsetDateTime;
 
 @Data
 public class WorkflowRun {
+    private Long id;
+    private String repositoryName;
     private String name;
     private String conclusion;
+    private String head_sha;
+    private Integer run_attempt;
     private OffsetDateTime created_at;
     private OffsetDateTime run_started_at;
     private OffsetDateTime updated_at;
 
+    @JsonIgnore
     public double getDurationMinutes() {
         if (run_started_at != null && updated_at != null) {
             return Duration.between(run_started_at, updated_at).toMinutes();
         }
         return 0;
     }
+
+    @JsonIgnore
+    public long getDurationSeconds() {
+        if (run_started_at != null && updated_at != null) {
+            return Math.max(0, Duration.between(run_started_at, updated_at).toSeconds());
+        }
+        return 0;
+    }
 }
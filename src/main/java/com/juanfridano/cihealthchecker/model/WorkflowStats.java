@@ -0,0 +1,115 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+import lombok.Getter;
+
+/**
+ * Counters and durations of a set of runs. Every run counts towards {@code totalRuns} and the durations, but the
+ * failure rate only compares failures against passes; cancelled and skipped runs are counted on their own.
+ */
+@Getter
+public class WorkflowStats {
+    private long totalRuns;
+    private long passes;
+    private long failures;
+    private long cancelled;
+    private long skipped;
+    private double durationMinutesSum;
+    private final DurationSketch durations = new DurationSketch();
+
+    /**
+     * Stats from counters kept elsewhere, e.g. hourly rollups.
+     */
+    public static WorkflowStats of(long totalRuns, long passes, long failures, long cancelled, long skipped,
+                                   double durationMinutesSum, DurationSketch durations) {
+        WorkflowStats stats = new WorkflowStats();
+        stats.totalRuns = totalRuns;
+        stats.passes = passes;
+        stats.failures = failures;
+        stats.cancelled = cancelled;
+        stats.skipped = skipped;
+        stats.durationMinutesSum = durationMinutesSum;
+        stats.durations.merge(durations);
+        return stats;
+    }
+
+    public void add(WorkflowRun run) {
+        add(Conclusion.parse(run.getConclusion()), run.getDurationMinutes(), run.getDurationSeconds());
+    }
+
+    public void add(Conclusion conclusion, double durationMinutes, long durationSeconds) {
+        totalRuns++;
+        if (conclusion != null) {
+            if (conclusion.isPass()) {
+                passes++;
+            } else if (conclusion.isFailure()) {
+                failures++;
+            } else if (conclusion == Conclusion.CANCELLED) {
+                cancelled++;
+            } else if (conclusion == Conclusion.SKIPPED) {
+                skipped++;
+            }
+        }
+        durationMinutesSum += durationMinutes;
+        durations.add(durationSeconds);
+    }
+
+    public void merge(WorkflowStats other) {
+        totalRuns += other.totalRuns;
+        passes += other.passes;
+        failures += other.failures;
+        cancelled += other.cancelled;
+        skipped += other.skipped;
+        durationMinutesSum += other.durationMinutesSum;
+        durations.merge(other.durations);
+    }
+
+    /**
+     * Failures in percent of the runs that either passed or failed.
+     */
+    public double getFailureRate() {
+        long decided = passes + failures;
+        return decided == 0 ? 0 : failures * 100.0 / decided;
+    }
+
+    public void writeTo(DataOutput out) throws IOException {
+        out.writeLong(totalRuns);
+        out.writeLong(passes);
+        out.writeLong(failures);
+        out.writeLong(cancelled);
+        out.writeLong(skipped);
+        out.writeDouble(durationMinutesSum);
+        durations.writeTo(out);
+    }
+
+    public static WorkflowStats readFrom(DataInput in) throws IOException {
+        WorkflowStats stats = new WorkflowStats();
+        stats.totalRuns = in.readLong();
+        stats.passes = in.readLong();
+        stats.failures = in.readLong();
+        stats.cancelled = in.readLong();
+        stats.skipped = in.readLong();
+        stats.durationMinutesSum = in.readDouble();
+        stats.durations.merge(DurationSketch.readFrom(in));
+        return stats;
+    }
+
+    public CiHealthReportEntry toEntry(String repository, String workflowName) {
+        return CiHealthReportEntry.builder()
+            .repository(repository)
+            .workflowName(workflowName)
+            .totalRuns(totalRuns)
+            .failures(failures)
+            .cancelled(cancelled)
+            .skipped(skipped)
+            .failureRate(getFailureRate())
+            .avgDurationMinutes(totalRuns == 0 ? 0 : durationMinutesSum / totalRuns)
+            .p50DurationSeconds(durations.quantile(0.50))
+            .p90DurationSeconds(durations.quantile(0.90))
+            .p99DurationSeconds(durations.quantile(0.99))
+            .build();
+    }
+}
@@ -0,0 +1,26 @@
+package com.juanfridano.cihealthchecker.model;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import lombok.Data;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+
+@Data
+public class WorkflowStep {
+    private String name;
+    private Integer number;
+    private String status;
+    private String conclusion;
+    private OffsetDateTime started_at;
+    private OffsetDateTime completed_at;
+
+    @JsonIgnore
+    public long getDurationSeconds() {
+        if (started_at != null && completed_at != null) {
+            return Math.max(0, Duration.between(started_at, completed_at).toSeconds());
+        }
+        return 0;
+    }
+}
@@ -0,0 +1,15 @@
+package com.juanfridano.cihealthchecker.model;
+
+import java.util.List;
+
+import lombok.Builder;
+import lombok.Data;
+
+@Builder
+@Data
+public class WorkflowTrend {
+    private String repository;
+    private String workflowName;
+    private TrendBucket bucket;
+    private List<TrendPoint> points;
+}
@@ -0,0 +1,31 @@
+package com.juanfridano.cihealthchecker.provider;
+
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+
+/**
+ * A CI system's paginated listing of runs, mapped onto {@link com.juanfridano.cihealthchecker.model.WorkflowRun}.
+ * Sources only fetch single pages; {@link com.juanfridano.cihealthchecker.service.WorkflowRunFetcher} drives them
+ * with the shared concurrency, window splitting and retry logic. Register an implementation as a bean and prefix
+ * repositories with its {@link #provider()}, e.g. {@code gitlab:group/project}.
+ */
+public interface CiRunSource {
+
+    /**
+     * Repository prefix this source answers for; unprefixed repositories belong to {@link RepositoryRef#GITHUB}.
+     */
+    String provider();
+
+    /**
+     * @param page 1-based
+     * @throws CiProviderException with {@code retryable} set for failures worth another attempt, unless the
+     *                             source already retries at the transport level
+     */
+    RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page);
+
+    /**
+     * Most results one query can page through, {@code 0} if unlimited. Windows reporting more are split.
+     */
+    default int resultCap() {
+        return 0;
+    }
+}
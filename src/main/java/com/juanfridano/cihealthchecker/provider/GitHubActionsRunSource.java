@@ -0,0 +1,49 @@
+package com.juanfridano.cihealthchecker.provider;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+
+import lombok.RequiredArgsConstructor;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * GitHub Actions runs. Rate limiting, retries and ETag revalidation happen in the Feign client underneath, so
+ * failures surface as {@link feign.FeignException}s that have already been retried.
+ */
+@Component
+@RequiredArgsConstructor
+public class GitHubActionsRunSource implements CiRunSource {
+
+    private final GitHubClient gitHubClient;
+    private final GitHubProperties gitHubProperties;
+
+    @Override
+    public String provider() {
+        return RepositoryRef.GITHUB;
+    }
+
+    @Override
+    public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+        String token = "Bearer " + gitHubProperties.getToken();
+        RunFilter filter = query.filter();
+        String created = query.to() == null
+            ? CreatedQuery.from(query.from())
+            : CreatedQuery.between(query.from(), query.to());
+        GitHubWorkflowResponse response = filter.workflowId() != null
+            ? gitHubClient.getWorkflowRunsForWorkflow(token, repository.owner(), repository.name(), filter.workflowId(),
+                created, filter.status(), filter.branch(), filter.event(), perPage, page)
+            : gitHubClient.getWorkflowRuns(token, repository.owner(), repository.name(), created,
+                filter.status(), filter.branch(), filter.event(), perPage, page);
+        return new RunPage(response.getWorkflowRuns(), response.getTotalCount());
+    }
+
+    @Override
+    public int resultCap() {
+        return gitHubProperties.getResultCap();
+    }
+}
@@ -0,0 +1,12 @@
+package com.juanfridano.cihealthchecker.provider;
+
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import java.util.List;
+
+/**
+ * One page of normalized runs. {@code totalCount} is the number of runs matching the whole query, or {@code null}
+ * if the source can't tell, in which case pages are walked one by one until a short page.
+ */
+public record RunPage(List<WorkflowRun> runs, Long totalCount) {
+}
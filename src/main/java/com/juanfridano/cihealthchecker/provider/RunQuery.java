@@ -0,0 +1,12 @@
+package com.juanfridano.cihealthchecker.provider;
+
+import com.juanfridano.cihealthchecker.model.RunFilter;
+
+import java.time.OffsetDateTime;
+
+/**
+ * What to list: runs created from {@code from} through {@code to}, both inclusive at second precision, and filters.
+ * A {@code null} {@code to} leaves the range open towards now.
+ */
+public record RunQuery(OffsetDateTime from, OffsetDateTime to, RunFilter filter) {
+}
@@ -0,0 +1,85 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowAnalysis;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class AnalysisService {
+
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final GitHubProperties gitHubProperties;
+    private final ReportProperties reportProperties;
+
+    private volatile WorkflowHealthAnalyzer analyzer;
+
+    public List<WorkflowAnalysis> getAnalysis() {
+        return getAnalysis(gitHubProperties.getRepositoryRefs());
+    }
+
+    /**
+     * Served from an analyzer that follows the run store once it covers the last
+     * {@code report.analysis.lookback-days} of every configured repository, otherwise analyzed from that many days
+     * of runs on GitHub.
+     */
+    public List<WorkflowAnalysis> getAnalysis(List<RepositoryRef> repositories) {
+        OffsetDateTime since = OffsetDateTime.now().minusDays(reportProperties.getAnalysis().getLookbackDays());
+        if (workflowRunStore.isPresent() && workflowRunStore.get().covers(gitHubProperties.getRepositoryRefs(), since)
+            && workflowRunStore.get().covers(repositories, since)) {
+            return followStore().query(repositories);
+        }
+
+        List<WorkflowRun> runs = new ArrayList<>();
+        try {
+            workflowRunFetcher.fetchRuns(repositories, CreatedQuery.fromHour(since), page -> {
+                synchronized (runs) {
+                    for (WorkflowRun run : page) {
+                        if (run.getConclusion() != null && run.getCreated_at() != null) runs.add(run);
+                    }
+                }
+            });
+        } catch (FeignException e) {
+            log.error("GitHub API call failed: {}", e.getMessage());
+            throw new GitHubClientException("GitHub API error: " + e.status() + " - " + e.getMessage());
+        }
+        runs.sort(Comparator.comparing(WorkflowRun::getCreated_at));
+        WorkflowHealthAnalyzer windowAnalyzer = new WorkflowHealthAnalyzer(reportProperties.getAnalysis().getCommitWindow());
+        runs.forEach(windowAnalyzer::record);
+        return windowAnalyzer.query(repositories);
+    }
+
+    // Attached only after the initial backfill, whose pages arrive newest first, so the replay feeds it in order
+    private WorkflowHealthAnalyzer followStore() {
+        WorkflowHealthAnalyzer current = analyzer;
+        if (current != null) return current;
+        synchronized (this) {
+            if (analyzer == null) {
+                WorkflowHealthAnalyzer storeAnalyzer = new WorkflowHealthAnalyzer(reportProperties.getAnalysis().getCommitWindow());
+                workflowRunStore.get().addCompletionListener(storeAnalyzer::record);
+                analyzer = storeAnalyzer;
+                log.info("Workflow analysis is following the run store");
+            }
+            return analyzer;
+        }
+    }
+}
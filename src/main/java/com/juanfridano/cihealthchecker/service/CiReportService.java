@@ -1,21 +1,46 @@
 package com.juanfridano.cihealthchecker.service;
 
-import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
 import com.juanfridano.cihealthchecker.config.GitHubProperties;
 import com.juanfridano.cihealthchecker.exception.GitHubClientException;
 import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
-import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
 import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+import com.juanfridano.cihealthchecker.service.DayPartialCache.DayKey;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
 
 import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 
+import java.time.LocalDate;
+import java.time.LocalTime;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
 import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.stream.Collectors;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Consumer;
 
 import org.springframework.stereotype.Service;
 
@@ -24,47 +49,285 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class CiReportService {
 
-    private final GitHubClient gitHubClient;
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final Optional<LiveWorkflowAggregates> liveAggregates;
+    private final Optional<DayPartialCache> dayPartialCache;
     private final GitHubProperties gitHubProperties;
+    private final MeterRegistry meterRegistry;
+    private final SingleFlight<ReportKey, List<CiHealthReportEntry>> inFlightReports = new SingleFlight<>();
+
+    // What the GitHub fetch actually depends on: the repositories, the hour-granular created filter and the filters
+    private record ReportKey(Set<RepositoryRef> repositories, String createdQuery, RunFilter filter) {
+    }
 
     public List<CiHealthReportEntry> generateReport(OffsetDateTime since) {
-        String token = "Bearer " + gitHubProperties.getToken();
-        String owner = gitHubProperties.getOwner();
-        String repo = gitHubProperties.getRepo();
-        String createdQuery = ">" + since.toLocalDate().toString(); // GitHub expects YYYY-MM-DD
-    
-        List<WorkflowRun> allRuns = new ArrayList<>();
-        int page = 1; //GitHub API is 1-based
-    
-        try {
-            while (true) {
-                GitHubWorkflowResponse response = gitHubClient.getWorkflowRuns(token, owner, repo, createdQuery, 100, page);
-                List<WorkflowRun> pageRuns = response.getWorkflowRuns();
-                if (pageRuns == null || pageRuns.isEmpty()) break;
-                allRuns.addAll(pageRuns);
-                page++;
+        return generateReport(since, getConfiguredRepositories());
+    }
+
+    public List<RepositoryRef> getConfiguredRepositories() {
+        return gitHubProperties.getRepositoryRefs();
+    }
+
+    public List<CiHealthReportEntry> generateReport(OffsetDateTime since, List<RepositoryRef> repositories) {
+        return generateReport(since, repositories, RunFilter.NONE);
+    }
+
+    /**
+     * Prefers webhook-fed live aggregates, then the local run store, then GitHub; filtered reports always come from
+     * GitHub, which applies the filters server-side. GitHub reports reuse cached day partials where possible.
+     * Concurrent calls that would hit GitHub with the same repositories, window and filters share one fetch.
+     */
+    public List<CiHealthReportEntry> generateReport(OffsetDateTime since, List<RepositoryRef> repositories, RunFilter filter) {
+        if (filter.isEmpty() && liveAggregates.isPresent() && liveAggregates.get().covers(repositories, since)) {
+            meterRegistry.counter("report.live.aggregates").increment();
+            return liveAggregates.get().report(repositories, since);
+        }
+        if (filter.isEmpty() && workflowRunStore.isPresent() && workflowRunStore.get().covers(repositories, since)) {
+            return storeReport(since, repositories);
+        }
+        String createdQuery = CreatedQuery.fromHour(since);
+        return inFlightReports.execute(new ReportKey(Set.copyOf(repositories), createdQuery, filter),
+            () -> dayPartialCache.isPresent()
+                ? partialReport(since, repositories, filter)
+                : fetchReport(since, createdQuery, filter, repositories),
+            () -> meterRegistry.counter("report.coalesced").increment());
+    }
+
+    /**
+     * Reports for several windows of the configured repositories, all ending at {@code now}. Windows the live
+     * aggregates or the run store cover are served from them; the others share a single GitHub fetch of the widest
+     * one, every run being folded into each window it falls in.
+     */
+    public Map<Integer, List<CiHealthReportEntry>> generateReports(OffsetDateTime now, Collection<Integer> windowsDaysBack) {
+        List<RepositoryRef> repositories = getConfiguredRepositories();
+        Map<Integer, List<CiHealthReportEntry>> reports = new TreeMap<>();
+        Map<Integer, OffsetDateTime> fetchedSince = new TreeMap<>();
+        for (int daysBack : windowsDaysBack) {
+            OffsetDateTime since = now.minusDays(daysBack);
+            if (coveredLocally(repositories, since)) {
+                reports.put(daysBack, generateReport(since, repositories));
+            } else {
+                fetchedSince.put(daysBack, since);
+            }
+        }
+        if (fetchedSince.isEmpty()) {
+            return reports;
+        }
+
+        OffsetDateTime earliest = fetchedSince.values().stream().min(OffsetDateTime::compareTo).orElseThrow();
+        Map<Integer, WorkflowRunAggregator> aggregators = new TreeMap<>();
+        fetchedSince.keySet().forEach(daysBack -> aggregators.put(daysBack, new WorkflowRunAggregator()));
+        Consumer<List<WorkflowRun>> aggregation = runs -> aggregators.forEach((daysBack, aggregator) -> {
+            OffsetDateTime since = fetchedSince.get(daysBack);
+            aggregator.accept(runs.stream()
+                .filter(run -> run.getCreated_at() == null || !run.getCreated_at().isBefore(since))
+                .toList());
+        });
+        timedFetch("github", Timer.start(meterRegistry), aggregation, pageConsumer ->
+            workflowRunFetcher.fetchRuns(repositories, CreatedQuery.fromHour(earliest), RunFilter.NONE, pageConsumer));
+        aggregators.forEach((daysBack, aggregator) -> reports.put(daysBack, aggregator.toEntries()));
+        return reports;
+    }
+
+    private boolean coveredLocally(List<RepositoryRef> repositories, OffsetDateTime since) {
+        return liveAggregates.isPresent() && liveAggregates.get().covers(repositories, since)
+            || workflowRunStore.isPresent() && workflowRunStore.get().covers(repositories, since);
+    }
+
+    // The store aggregates over its columns directly, so aggregation is the whole report
+    private List<CiHealthReportEntry> storeReport(OffsetDateTime since, List<RepositoryRef> repositories) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        List<CiHealthReportEntry> entries = workflowRunStore.get().aggregateCreatedSince(repositories, since);
+        long nanos = sample.stop(Timer.builder("report.generate")
+            .description("End-to-end report generation")
+            .tag("source", "store")
+            .publishPercentileHistogram()
+            .register(meterRegistry));
+        Timer.builder("report.aggregation")
+            .description("Time spent folding runs into per-workflow stats, per report")
+            .tag("source", "store")
+            .register(meterRegistry)
+            .record(nanos, TimeUnit.NANOSECONDS);
+        meterRegistry.counter("report.runs.processed", "source", "store")
+            .increment(entries.stream().mapToLong(CiHealthReportEntry::getTotalRuns).sum());
+        return entries;
+    }
+
+    private List<CiHealthReportEntry> fetchReport(OffsetDateTime since, String createdQuery, RunFilter filter,
+                                                  List<RepositoryRef> repositories) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        // The created filter starts at the full hour, drop what lies before the exact boundary
+        Consumer<List<WorkflowRun>> aggregation = runs -> aggregator.accept(runs.stream()
+            .filter(run -> run.getCreated_at() == null || !run.getCreated_at().isBefore(since))
+            .toList());
+        timedFetch("github", sample, aggregation,
+            pageConsumer -> workflowRunFetcher.fetchRuns(repositories, createdQuery, filter, pageConsumer));
+        return aggregator.toEntries();
+    }
+
+    /**
+     * Merges the cached partials of sealed days and fetches only what they leave open: the rest of the first day
+     * after {@code since}, days not cached yet and everything after the last sealed day. Each repository's gaps
+     * become a few created ranges, all of which are fetched concurrently, and sealed days fetched along the way are
+     * cached for later windows. A window reusing all its full days costs about one day of runs.
+     */
+    private List<CiHealthReportEntry> partialReport(OffsetDateTime since, List<RepositoryRef> repositories, RunFilter filter) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        DayPartialCache cache = dayPartialCache.get();
+        OffsetDateTime start = since.withOffsetSameInstant(ZoneOffset.UTC);
+        LocalDate firstFullDay = start.toLocalTime().equals(LocalTime.MIDNIGHT)
+            ? start.toLocalDate()
+            : start.toLocalDate().plusDays(1);
+        LocalDate lastSealedDay = cache.lastSealedDay(OffsetDateTime.now(ZoneOffset.UTC));
+
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        Map<DayKey, DayPartial> fetchedDays = new HashMap<>();
+        Map<RepositoryRef, List<String>> gapsByRepository = new LinkedHashMap<>();
+        for (RepositoryRef repository : repositories) {
+            List<String> gaps = new ArrayList<>();
+            OffsetDateTime gapStart = start.truncatedTo(ChronoUnit.HOURS);
+            for (LocalDate day = firstFullDay; !day.isAfter(lastSealedDay); day = day.plusDays(1)) {
+                DayKey key = new DayKey(repository, filter, day);
+                Map<String, WorkflowStats> partial = cache.get(key);
+                if (partial == null) {
+                    fetchedDays.put(key, new DayPartial());
+                    continue;
+                }
+                aggregator.merge(repository.toString(), partial);
+                OffsetDateTime dayStart = day.atStartOfDay().atOffset(ZoneOffset.UTC);
+                if (gapStart.isBefore(dayStart)) {
+                    gaps.add(CreatedQuery.between(gapStart, dayStart.minusSeconds(1)));
+                }
+                gapStart = dayStart.plusDays(1);
+            }
+            gaps.add(CreatedQuery.from(gapStart));
+            gapsByRepository.put(repository, gaps);
+        }
+
+        Map<String, RepositoryRef> repositoriesByName = new HashMap<>();
+        repositories.forEach(repository -> repositoriesByName.put(repository.toString(), repository));
+        Consumer<List<WorkflowRun>> aggregation = runs -> {
+            List<WorkflowRun> unsealed = new ArrayList<>(runs.size());
+            for (WorkflowRun run : runs) {
+                OffsetDateTime created = run.getCreated_at();
+                if (created != null && created.isBefore(since)) continue;
+                DayPartial day = created == null ? null : fetchedDays.get(new DayKey(
+                    repositoriesByName.get(run.getRepositoryName()), filter,
+                    created.withOffsetSameInstant(ZoneOffset.UTC).toLocalDate()));
+                if (day != null) {
+                    day.add(run);
+                } else {
+                    unsealed.add(run);
+                }
             }
+            aggregator.accept(unsealed);
+        };
+        timedFetch("partials", sample, aggregation,
+            pageConsumer -> workflowRunFetcher.fetchRuns(gapsByRepository, filter, pageConsumer));
+
+        fetchedDays.forEach((key, day) -> {
+            aggregator.merge(key.repository().toString(), day.statsByWorkflowName);
+            if (!day.inProgress) {
+                cache.put(key, day.statsByWorkflowName);
+            }
+        });
+        return aggregator.toEntries();
+    }
+
+    // One sealed day being fetched; cached only when none of its runs was still in progress
+    private static final class DayPartial {
+
+        private final Map<String, WorkflowStats> statsByWorkflowName = new HashMap<>();
+        private boolean inProgress;
+
+        synchronized void add(WorkflowRun run) {
+            statsByWorkflowName.computeIfAbsent(run.getName(), name -> new WorkflowStats()).add(run);
+            inProgress |= run.getConclusion() == null;
+        }
+    }
+
+    private void timedFetch(String source, Timer.Sample sample, Consumer<List<WorkflowRun>> aggregation,
+                            Consumer<Consumer<List<WorkflowRun>>> fetch) {
+        LongAdder aggregationNanos = new LongAdder();
+        LongAdder runCount = new LongAdder();
+        Consumer<List<WorkflowRun>> timedAggregation = runs -> {
+            long start = System.nanoTime();
+            aggregation.accept(runs);
+            aggregationNanos.add(System.nanoTime() - start);
+            runCount.add(runs.size());
+        };
+
+        try {
+            fetch.accept(timedAggregation);
         } catch (FeignException e) {
             log.error("GitHub API call failed: {}", e.getMessage());
             throw new GitHubClientException("GitHub API error: " + e.status() + " - " + e.getMessage());
+        } finally {
+            sample.stop(Timer.builder("report.generate")
+                .description("End-to-end report generation")
+                .tag("source", source)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+            // Summed over pages, which are folded in concurrently, so this is CPU time rather than wall time
+            Timer.builder("report.aggregation")
+                .description("Time spent folding runs into per-workflow stats, per report")
+                .tag("source", source)
+                .register(meterRegistry)
+                .record(aggregationNanos.sum(), TimeUnit.NANOSECONDS);
+            meterRegistry.counter("report.runs.processed", "source", source).increment(runCount.sum());
+        }
+    }
+
+    public void streamReport(OffsetDateTime since, RunFilter filter, Consumer<List<CiHealthReportEntry>> repositoryConsumer) {
+        streamReport(since, gitHubProperties.getRepositoryRefs(), filter, repositoryConsumer);
+    }
+
+    /**
+     * Builds the report one repository at a time, handing each repository's entries to {@code repositoryConsumer}
+     * as soon as that repository is done. Repositories run concurrently, at most {@code github.repository-parallelism}
+     * at a time; calls to the consumer are serialized, and a consumer that blocks (e.g. on a slow client socket)
+     * holds its permit, which throttles the remaining fetches.
+     */
+    public void streamReport(OffsetDateTime since, List<RepositoryRef> repositories, RunFilter filter,
+                             Consumer<List<CiHealthReportEntry>> repositoryConsumer) {
+        Semaphore permits = new Semaphore(Math.max(1, gitHubProperties.getRepositoryParallelism()));
+        Object consumerLock = new Object();
+        List<Future<?>> reports = new ArrayList<>(repositories.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+            // Cancelled inside the executor block, whose close would otherwise wait for every remaining repository
+            try {
+                for (RepositoryRef repository : repositories) {
+                    reports.add(completion.submit(() -> {
+                        permits.acquire();
+                        try {
+                            List<CiHealthReportEntry> entries = generateReport(since, List.of(repository), filter);
+                            synchronized (consumerLock) {
+                                repositoryConsumer.accept(entries);
+                            }
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }));
+                }
+                // In completion order, so a failed repository or a consumer that gave up stops the rest right away
+                for (int i = 0; i < reports.size(); i++) {
+                    completion.take().get();
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                reports.forEach(report -> report.cancel(true));
+                throw new IllegalStateException("Interrupted while streaming report", e);
+            } catch (ExecutionException e) {
+                reports.forEach(report -> report.cancel(true));
+                if (e.getCause() instanceof RuntimeException runtimeException) {
+                    throw runtimeException;
+                }
+                throw new IllegalStateException(e.getCause());
+            }
         }
-    
-        return allRuns.stream()
-            .collect(Collectors.groupingBy(WorkflowRun::getName))
-            .entrySet().stream()
-            .map(entry -> {
-                List<WorkflowRun> group = entry.getValue();
-                long total = group.size();
-                long failures = group.stream().filter(r -> !"success".equalsIgnoreCase(r.getConclusion())).count();
-                double avg = group.stream().mapToDouble(WorkflowRun::getDurationMinutes).average().orElse(0);
-                return CiHealthReportEntry.builder()
-                    .workflowName(entry.getKey())
-                    .totalRuns(total)
-                    .failures(failures)
-                    .failureRate((failures * 100.0 / total))
-                    .avgDurationMinutes(avg)
-                    .build();
-            })
-            .toList();
     }
 }
@@ -0,0 +1,253 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.URLEncoder;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.attribute.FileTime;
+import java.time.Instant;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-workflow partial aggregates of closed UTC days, keyed by repository, run filter and day. A day is only stored
+ * once {@code report.day-cache.seal-after} has passed since its end and none of its runs was still in progress, and
+ * is never changed afterwards; re-runs of a sealed day are not picked up. The memory tier is an LRU of
+ * {@code max-entries} days; with {@code disk-enabled} every day is also written to one small file under
+ * {@code disk-path}, which survives restarts and is evicted, least recently read first, beyond
+ * {@code disk-max-entries} files.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(prefix = "report.day-cache", name = "enabled", havingValue = "true")
+public class DayPartialCache {
+
+    private static final int FILE_MAGIC = 0x43494450;
+    private static final short FILE_VERSION = 1;
+    private static final String FILE_SUFFIX = ".day";
+
+    public record DayKey(RepositoryRef repository, RunFilter filter, LocalDate day) {
+    }
+
+    private final ReportProperties.DayCache properties;
+    private final MeterRegistry meterRegistry;
+    private final Map<DayKey, Map<String, WorkflowStats>> memory;
+    private final Path diskRoot;
+    private final AtomicInteger diskEntries = new AtomicInteger();
+
+    public DayPartialCache(ReportProperties reportProperties, MeterRegistry meterRegistry) {
+        this.properties = reportProperties.getDayCache();
+        this.meterRegistry = meterRegistry;
+        int maxEntries = properties.getMaxEntries();
+        this.memory = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<DayKey, Map<String, WorkflowStats>> eldest) {
+                return size() > maxEntries;
+            }
+        };
+        this.diskRoot = properties.isDiskEnabled() ? Path.of(properties.getDiskPath()).toAbsolutePath().normalize() : null;
+        if (diskRoot != null) {
+            try {
+                Files.createDirectories(diskRoot);
+                diskEntries.set(listDayFiles().size());
+            } catch (IOException e) {
+                throw new UncheckedIOException("Cannot open day partial directory " + diskRoot, e);
+            }
+            log.info("Day partial cache holds {} days on disk under {}", diskEntries.get(), diskRoot);
+        }
+    }
+
+    /**
+     * The last day that may be stored at {@code now}; later days are still open or within the seal period.
+     */
+    public LocalDate lastSealedDay(OffsetDateTime now) {
+        return now.withOffsetSameInstant(ZoneOffset.UTC).minus(properties.getSealAfter()).toLocalDate().minusDays(1);
+    }
+
+    /**
+     * @return the day's stats by workflow name, not to be modified, or {@code null} when the day is not cached
+     */
+    public Map<String, WorkflowStats> get(DayKey key) {
+        Map<String, WorkflowStats> partial;
+        synchronized (memory) {
+            partial = memory.get(key);
+        }
+        if (partial != null) {
+            meterRegistry.counter("report.day.partials", "result", "memory").increment();
+            return partial;
+        }
+        partial = diskRoot == null ? null : readDay(key);
+        if (partial == null) {
+            meterRegistry.counter("report.day.partials", "result", "miss").increment();
+            return null;
+        }
+        synchronized (memory) {
+            memory.put(key, partial);
+        }
+        meterRegistry.counter("report.day.partials", "result", "disk").increment();
+        return partial;
+    }
+
+    public void put(DayKey key, Map<String, WorkflowStats> partial) {
+        if (key.day().isAfter(lastSealedDay(OffsetDateTime.now(ZoneOffset.UTC)))) {
+            throw new IllegalArgumentException("Day " + key.day() + " is not sealed yet");
+        }
+        Map<String, WorkflowStats> immutable = Collections.unmodifiableMap(new HashMap<>(partial));
+        synchronized (memory) {
+            memory.put(key, immutable);
+        }
+        if (diskRoot != null) {
+            writeDay(key, immutable);
+        }
+    }
+
+    public int size() {
+        synchronized (memory) {
+            return memory.size();
+        }
+    }
+
+    private Map<String, WorkflowStats> readDay(DayKey key) {
+        Path file = dayFile(key);
+        try (DataInputStream data = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+            if (data.readInt() != FILE_MAGIC || data.readShort() != FILE_VERSION) {
+                throw new IOException("Not a day partial file");
+            }
+            int workflows = data.readInt();
+            Map<String, WorkflowStats> partial = new HashMap<>();
+            for (int i = 0; i < workflows; i++) {
+                partial.put(data.readBoolean() ? data.readUTF() : null, WorkflowStats.readFrom(data));
+            }
+            // Modification time doubles as last access for eviction
+            Files.setLastModifiedTime(file, FileTime.from(Instant.now()));
+            return Collections.unmodifiableMap(partial);
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException e) {
+            log.warn("Dropping unreadable day partial {}: {}", file, e.getMessage());
+            deleteQuietly(file);
+            return null;
+        }
+    }
+
+    // Written next to the target and moved into place, so a crash never leaves a truncated day behind
+    private void writeDay(DayKey key, Map<String, WorkflowStats> partial) {
+        Path file = dayFile(key);
+        Path temp = null;
+        try {
+            Files.createDirectories(file.getParent());
+            temp = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            boolean added = !Files.exists(file);
+            try (DataOutputStream data = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temp)))) {
+                data.writeInt(FILE_MAGIC);
+                data.writeShort(FILE_VERSION);
+                data.writeInt(partial.size());
+                for (Map.Entry<String, WorkflowStats> entry : partial.entrySet()) {
+                    data.writeBoolean(entry.getKey() != null);
+                    if (entry.getKey() != null) data.writeUTF(entry.getKey());
+                    entry.getValue().writeTo(data);
+                }
+            }
+            Files.move(temp, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            if (added && diskEntries.incrementAndGet() > properties.getDiskMaxEntries()) {
+                evictDisk();
+            }
+        } catch (IOException e) {
+            log.warn("Could not write day partial {}: {}", file, e.getMessage());
+            if (temp != null) deleteQuietly(temp);
+        }
+    }
+
+    // Trims to nine tenths of the bound, so the directory is only listed once per that many new days
+    private synchronized void evictDisk() throws IOException {
+        List<Path> files = listDayFiles();
+        int target = properties.getDiskMaxEntries() * 9 / 10;
+        if (files.size() <= properties.getDiskMaxEntries()) {
+            diskEntries.set(files.size());
+            return;
+        }
+        Map<Path, FileTime> accessed = new HashMap<>();
+        for (Path file : files) {
+            accessed.put(file, Files.getLastModifiedTime(file));
+        }
+        files.sort(Comparator.comparing(accessed::get));
+        int evicted = files.size() - target;
+        files.subList(0, evicted).forEach(DayPartialCache::deleteQuietly);
+        diskEntries.set(target);
+        log.debug("Evicted {} day partials from {}", evicted, diskRoot);
+    }
+
+    private List<Path> listDayFiles() throws IOException {
+        try (Stream<Path> files = Files.walk(diskRoot)) {
+            return new ArrayList<>(files.filter(file -> file.getFileName().toString().endsWith(FILE_SUFFIX)).toList());
+        }
+    }
+
+    // <provider>/<owner>/<repo>/<filter>/<yyyy-MM-dd>.day, every segment URL-encoded. URL encoding leaves "." and
+    // ".." alone; RepositoryRef.parse rejects them, and nothing may resolve outside the root regardless.
+    private Path dayFile(DayKey key) {
+        RepositoryRef repository = key.repository();
+        Path file = diskRoot.resolve(encode(repository.provider()))
+            .resolve(encode(repository.owner()))
+            .resolve(encode(repository.name()))
+            .resolve(filterSegment(key.filter()))
+            .resolve(key.day() + FILE_SUFFIX)
+            .normalize();
+        if (!file.startsWith(diskRoot)) {
+            throw new InvalidRequestException("Repository does not map to a day partial file: " + repository);
+        }
+        return file;
+    }
+
+    private static String filterSegment(RunFilter filter) {
+        if (filter.isEmpty()) return "all";
+        List<String> parts = new ArrayList<>();
+        if (filter.status() != null) parts.add("status=" + filter.status());
+        if (filter.branch() != null) parts.add("branch=" + filter.branch());
+        if (filter.event() != null) parts.add("event=" + filter.event());
+        if (filter.workflowId() != null) parts.add("workflow=" + filter.workflowId());
+        return encode(String.join("&", parts));
+    }
+
+    private static String encode(String segment) {
+        return URLEncoder.encode(segment, StandardCharsets.UTF_8);
+    }
+
+    private static void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.debug("Could not delete {}: {}", file, e.getMessage());
+        }
+    }
+}
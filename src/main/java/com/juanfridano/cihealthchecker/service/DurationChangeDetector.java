@@ -0,0 +1,93 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.DurationRegression;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+
+/**
+ * One-sided CUSUM over log durations against an exponentially weighted baseline of the recent runs. Each run is
+ * an O(1) update. Standardized deviations are capped, so a single slow run cannot raise an alarm; a sustained
+ * shift of a few runs can. When one is detected the baseline moves to the new level and the shift is kept as the
+ * open regression until durations fall back to where they were.
+ * <p>
+ * Not thread-safe; callers serialize per workflow.
+ */
+final class DurationChangeDetector {
+
+    private static final int WARMUP_RUNS = 20;
+    private static final double BASELINE_WEIGHT = 0.05;
+    // In units of the baseline deviation, which is floored at 10% so steady workflows don't alarm on tiny drifts
+    private static final double MIN_DEVIATION = 0.1;
+    private static final double MAX_DEVIATION_STEP = 3;
+    private static final double SLACK = 0.5;
+    private static final double THRESHOLD = 5;
+    private static final double RECOVERY_MARGIN = Math.log(1.05);
+
+    private long samples;
+    private double mean;
+    private double variance;
+    private double cusum;
+    private long shiftStart;
+    private double shiftSum;
+    private int shiftCount;
+    private double regressionBaseline;
+    private DurationRegression regression;
+
+    void add(long createdEpochSecond, long durationSeconds) {
+        double value = Math.log1p(Math.max(0, durationSeconds));
+        samples++;
+        if (samples <= WARMUP_RUNS) {
+            updateBaseline(value);
+            return;
+        }
+        double deviation = Math.max(Math.sqrt(variance), MIN_DEVIATION);
+        cusum = Math.max(0, cusum + Math.min((value - mean) / deviation, MAX_DEVIATION_STEP) - SLACK);
+        if (cusum == 0) {
+            shiftCount = 0;
+            shiftSum = 0;
+            updateBaseline(value);
+            if (regression != null && mean <= regressionBaseline + RECOVERY_MARGIN) {
+                regression = null;
+            }
+            return;
+        }
+        if (shiftCount == 0) {
+            shiftStart = createdEpochSecond;
+        }
+        shiftSum += value;
+        shiftCount++;
+        if (cusum > THRESHOLD) {
+            double shifted = shiftSum / shiftCount;
+            regressionBaseline = regression == null ? mean : regressionBaseline;
+            regression = DurationRegression.builder()
+                .startedAt(toDateTime(shiftStart))
+                .detectedAt(toDateTime(createdEpochSecond))
+                .baselineSeconds(Math.round(Math.expm1(regressionBaseline)))
+                .currentSeconds(Math.round(Math.expm1(shifted)))
+                .changePercent((Math.exp(shifted - regressionBaseline) - 1) * 100)
+                .build();
+            mean = shifted;
+            cusum = 0;
+            shiftCount = 0;
+            shiftSum = 0;
+        }
+    }
+
+    DurationRegression regression() {
+        return regression;
+    }
+
+    // Plain running mean and variance until the weight reaches BASELINE_WEIGHT, exponentially weighted from then on
+    private void updateBaseline(double value) {
+        double weight = Math.max(1.0 / samples, BASELINE_WEIGHT);
+        double delta = value - mean;
+        mean += weight * delta;
+        variance = (1 - weight) * (variance + weight * delta * delta);
+    }
+
+    private static OffsetDateTime toDateTime(long epochSecond) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+}
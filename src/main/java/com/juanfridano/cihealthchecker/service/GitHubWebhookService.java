@@ -0,0 +1,135 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectReader;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.security.GeneralSecurityException;
+import java.security.MessageDigest;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Service;
+
+/**
+ * Verifies and applies {@code workflow_run} webhook deliveries. Completed runs of the configured repositories go
+ * into the live aggregates and, when enabled, the run store, so trends pick them up too.
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "github.webhook", name = "enabled", havingValue = "true")
+public class GitHubWebhookService {
+
+    public enum Outcome { ACCEPTED, DUPLICATE, IGNORED }
+
+    private static final String SIGNATURE_PREFIX = "sha256=";
+
+    private final LiveWorkflowAggregates liveAggregates;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final ObjectMapper objectMapper;
+    private final ObjectReader runReader;
+    private final MeterRegistry meterRegistry;
+    private final SecretKeySpec signingKey;
+    // GitHub repository names are case-insensitive, runs are recorded under the configured spelling
+    private final Map<String, String> configuredRepositories;
+
+    public GitHubWebhookService(GitHubProperties gitHubProperties, LiveWorkflowAggregates liveAggregates,
+                                Optional<WorkflowRunStore> workflowRunStore, ObjectMapper objectMapper,
+                                MeterRegistry meterRegistry) {
+        String secret = gitHubProperties.getWebhook().getSecret();
+        if (secret == null || secret.isBlank()) {
+            throw new IllegalStateException("github.webhook.secret must be set when github.webhook.enabled is true");
+        }
+        this.liveAggregates = liveAggregates;
+        this.workflowRunStore = workflowRunStore;
+        this.objectMapper = objectMapper;
+        // Webhook runs carry far more fields than WorkflowRun maps
+        this.runReader = objectMapper.readerFor(WorkflowRun.class).without(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES);
+        this.meterRegistry = meterRegistry;
+        this.signingKey = new SecretKeySpec(secret.getBytes(StandardCharsets.UTF_8), "HmacSHA256");
+        this.configuredRepositories = gitHubProperties.getRepositoryRefs().stream()
+            .filter(repository -> RepositoryRef.GITHUB.equals(repository.provider()))
+            .map(RepositoryRef::toString)
+            .collect(Collectors.toMap(name -> name.toLowerCase(Locale.ROOT), Function.identity(), (first, second) -> first));
+    }
+
+    /**
+     * Checks the {@code X-Hub-Signature-256} header against an HMAC-SHA256 of the raw body, in constant time.
+     */
+    public boolean isValidSignature(byte[] body, String signatureHeader) {
+        if (signatureHeader == null || !signatureHeader.startsWith(SIGNATURE_PREFIX)) {
+            return false;
+        }
+        byte[] expected;
+        try {
+            Mac mac = Mac.getInstance("HmacSHA256");
+            mac.init(signingKey);
+            expected = mac.doFinal(body);
+        } catch (GeneralSecurityException e) {
+            throw new IllegalStateException("HmacSHA256 unavailable", e);
+        }
+        byte[] provided;
+        try {
+            provided = HexFormat.of().parseHex(signatureHeader.substring(SIGNATURE_PREFIX.length()));
+        } catch (IllegalArgumentException e) {
+            return false;
+        }
+        return MessageDigest.isEqual(expected, provided);
+    }
+
+    public Outcome handle(String event, byte[] body) {
+        Outcome outcome = apply(event, body);
+        meterRegistry.counter("webhook.events", "event", event == null ? "none" : event,
+            "outcome", outcome.name().toLowerCase(Locale.ROOT)).increment();
+        return outcome;
+    }
+
+    private Outcome apply(String event, byte[] body) {
+        if (!"workflow_run".equals(event)) {
+            return Outcome.IGNORED;
+        }
+        JsonNode payload;
+        WorkflowRun run;
+        try {
+            payload = objectMapper.readTree(body);
+            if (!"completed".equals(payload.path("action").asText()) || !payload.hasNonNull("workflow_run")) {
+                return Outcome.IGNORED;
+            }
+            run = runReader.readValue(payload.get("workflow_run"));
+        } catch (IOException e) {
+            throw new InvalidRequestException("Malformed workflow_run payload: " + e.getMessage());
+        }
+        String repository = configuredRepositories.get(
+            payload.path("repository").path("full_name").asText("").toLowerCase(Locale.ROOT));
+        if (repository == null) {
+            // An organization webhook also delivers runs of repositories this instance does not report on
+            return Outcome.IGNORED;
+        }
+        run.setRepositoryName(repository);
+
+        boolean counted = liveAggregates.record(run);
+        workflowRunStore.ifPresent(store -> store.upsertAll(List.of(run)));
+        log.debug("workflow_run {} of {} ({}) {}", run.getId(), run.getRepositoryName(), run.getConclusion(),
+            counted ? "recorded" : "already known");
+        return counted ? Outcome.ACCEPTED : Outcome.DUPLICATE;
+    }
+}
@@ -0,0 +1,156 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.DurationSketch;
+import com.juanfridano.cihealthchecker.model.TrendPoint;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+/**
+ * Ring buffer of hourly counters for one workflow, stored as parallel primitive arrays indexed by
+ * {@code epochHour % capacity}. Durations are kept at a coarser grain, one sketch per UTC day that saw a run,
+ * so percentiles always describe the whole days a bucket touches.
+ */
+final class HourlyRollup {
+
+    private final int capacity;
+    private final long[] slotHours;
+    private final int[] counts;
+    private final int[] passes;
+    private final int[] failures;
+    private final int[] cancelled;
+    private final int[] skipped;
+    private final double[] durationMinutes;
+
+    private final int dayCapacity;
+    private final long[] slotDays;
+    private final DurationSketch[] durations;
+
+    HourlyRollup(int capacity) {
+        this.capacity = capacity;
+        this.slotHours = new long[capacity];
+        this.counts = new int[capacity];
+        this.passes = new int[capacity];
+        this.failures = new int[capacity];
+        this.cancelled = new int[capacity];
+        this.skipped = new int[capacity];
+        this.durationMinutes = new double[capacity];
+        Arrays.fill(slotHours, Long.MIN_VALUE);
+        // One more day than the hours span, since they rarely start at midnight
+        this.dayCapacity = Math.floorDiv(capacity - 1, 24) + 2;
+        this.slotDays = new long[dayCapacity];
+        this.durations = new DurationSketch[dayCapacity];
+        Arrays.fill(slotDays, Long.MIN_VALUE);
+    }
+
+    void add(long epochHour, Conclusion conclusion, long durationSeconds) {
+        add(epochHour, conclusion, durationSeconds / 60.0, durationSeconds);
+    }
+
+    synchronized void add(long epochHour, Conclusion conclusion, double runMinutes, long durationSeconds) {
+        int slot = (int) Math.floorMod(epochHour, (long) capacity);
+        if (slotHours[slot] != epochHour) {
+            if (slotHours[slot] > epochHour) return; // older than the retention window
+            slotHours[slot] = epochHour;
+            counts[slot] = 0;
+            passes[slot] = 0;
+            failures[slot] = 0;
+            cancelled[slot] = 0;
+            skipped[slot] = 0;
+            durationMinutes[slot] = 0;
+        }
+        counts[slot]++;
+        classify(slot, conclusion, 1);
+        durationMinutes[slot] += runMinutes;
+
+        long epochDay = Math.floorDiv(epochHour, 24);
+        int daySlot = (int) Math.floorMod(epochDay, (long) dayCapacity);
+        if (slotDays[daySlot] != epochDay) {
+            if (slotDays[daySlot] > epochDay) return;
+            slotDays[daySlot] = epochDay;
+            if (durations[daySlot] == null) durations[daySlot] = new DurationSketch();
+            durations[daySlot].clear();
+        }
+        durations[daySlot].add(durationSeconds);
+    }
+
+    /**
+     * Moves a run already added to {@code epochHour} from {@code previous} to {@code conclusion}; a no-op once the
+     * hour has left the retention window.
+     */
+    synchronized void reclassify(long epochHour, Conclusion previous, Conclusion conclusion) {
+        int slot = (int) Math.floorMod(epochHour, (long) capacity);
+        if (slotHours[slot] != epochHour) return;
+        classify(slot, previous, -1);
+        classify(slot, conclusion, 1);
+    }
+
+    private void classify(int slot, Conclusion conclusion, int sign) {
+        if (conclusion == null) return;
+        if (conclusion.isPass()) passes[slot] += sign;
+        if (conclusion.isFailure()) failures[slot] += sign;
+        if (conclusion == Conclusion.CANCELLED) cancelled[slot] += sign;
+        if (conclusion == Conclusion.SKIPPED) skipped[slot] += sign;
+    }
+
+    /**
+     * Merges the hours in {@code [fromHour, toHour]} into buckets of {@code bucketHours}, aligned to UTC.
+     * Empty buckets are left out.
+     */
+    synchronized List<TrendPoint> query(long fromHour, long toHour, int bucketHours) {
+        List<TrendPoint> points = new ArrayList<>();
+        for (long bucketStart = Math.floorDiv(fromHour, bucketHours) * bucketHours; bucketStart <= toHour; bucketStart += bucketHours) {
+            long end = Math.min(bucketStart + bucketHours - 1, toHour);
+            WorkflowStats stats = stats(Math.max(bucketStart, fromHour), end);
+            if (stats.getTotalRuns() == 0) continue;
+            points.add(TrendPoint.builder()
+                .bucketStart(OffsetDateTime.ofInstant(Instant.ofEpochSecond(bucketStart * 3600), ZoneOffset.UTC))
+                .totalRuns(stats.getTotalRuns())
+                .failures(stats.getFailures())
+                .cancelled(stats.getCancelled())
+                .skipped(stats.getSkipped())
+                .failureRate(stats.getFailureRate())
+                .p50DurationSeconds(stats.getDurations().quantile(0.50))
+                .p95DurationSeconds(stats.getDurations().quantile(0.95))
+                .p99DurationSeconds(stats.getDurations().quantile(0.99))
+                .build());
+        }
+        return points;
+    }
+
+    /**
+     * Counters of the hours in {@code [fromHour, toHour]}, with the durations of every day they touch.
+     */
+    synchronized WorkflowStats stats(long fromHour, long toHour) {
+        long total = 0;
+        long passed = 0;
+        long failed = 0;
+        long cancelledRuns = 0;
+        long skippedRuns = 0;
+        double minutes = 0;
+        for (long hour = fromHour; hour <= toHour; hour++) {
+            int slot = (int) Math.floorMod(hour, (long) capacity);
+            if (slotHours[slot] != hour) continue;
+            total += counts[slot];
+            passed += passes[slot];
+            failed += failures[slot];
+            cancelledRuns += cancelled[slot];
+            skippedRuns += skipped[slot];
+            minutes += durationMinutes[slot];
+        }
+        DurationSketch merged = new DurationSketch();
+        if (total > 0) {
+            for (long day = Math.floorDiv(fromHour, 24); day <= Math.floorDiv(toHour, 24); day++) {
+                int daySlot = (int) Math.floorMod(day, (long) dayCapacity);
+                if (slotDays[daySlot] == day) merged.merge(durations[daySlot]);
+            }
+        }
+        return WorkflowStats.of(total, passed, failed, cancelledRuns, skippedRuns, minutes, merged);
+    }
+}
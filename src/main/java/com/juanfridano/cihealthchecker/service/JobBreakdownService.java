@@ -0,0 +1,346 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.GitHubJobsResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflow;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowsResponse;
+import com.juanfridano.cihealthchecker.model.JobHealthEntry;
+import com.juanfridano.cihealthchecker.model.OutcomeStatsBuilder;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.StepHealthEntry;
+import com.juanfridano.cihealthchecker.model.WorkflowJob;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+import com.juanfridano.cihealthchecker.model.WorkflowStep;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+
+import org.springframework.stereotype.Service;
+
+/**
+ * Job and step statistics for the runs behind one {@code CiHealthReportEntry}. Runs are listed through the
+ * workflow's own runs endpoint once its name is resolved to an id. Jobs are only fetched when asked for, one jobs
+ * call per run, concurrently; once an attempt of a run and all its jobs have completed they never change, so they
+ * are kept per run attempt without revalidation until the bounded cache evicts them.
+ */
+@Slf4j
+@Service
+public class JobBreakdownService {
+
+    private static final int JOBS_PER_PAGE = 100;
+    private static final int WORKFLOWS_PER_PAGE = 100;
+
+    private record RunAttempt(long runId, int attempt) {
+    }
+
+    private record WorkflowKey(RepositoryRef repository, String workflowName) {
+    }
+
+    private final GitHubClient gitHubClient;
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final GitHubProperties gitHubProperties;
+    private final MeterRegistry meterRegistry;
+
+    private final Map<RunAttempt, List<WorkflowJob>> completedJobs;
+    private final SingleFlight<RunAttempt, List<WorkflowJob>> inFlightJobs = new SingleFlight<>();
+    // Only ids that were found are kept; a workflow added later is looked up again
+    private final Map<WorkflowKey, String> workflowIds = new ConcurrentHashMap<>();
+
+    public JobBreakdownService(GitHubClient gitHubClient, WorkflowRunFetcher workflowRunFetcher,
+                               Optional<WorkflowRunStore> workflowRunStore, GitHubProperties gitHubProperties,
+                               MeterRegistry meterRegistry) {
+        this.gitHubClient = gitHubClient;
+        this.workflowRunFetcher = workflowRunFetcher;
+        this.workflowRunStore = workflowRunStore;
+        this.gitHubProperties = gitHubProperties;
+        this.meterRegistry = meterRegistry;
+        int maxRuns = gitHubProperties.getJobs().getCacheMaxRuns();
+        this.completedJobs = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<RunAttempt, List<WorkflowJob>> eldest) {
+                return size() > maxRuns;
+            }
+        };
+        Gauge.builder("github.jobs.cache.size", this, JobBreakdownService::cachedRuns)
+            .description("Runs whose jobs are cached")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Breaks the completed runs of {@code workflowName} created since {@code since} down by job and step, looking
+     * at no more than the newest {@code maxRuns} runs.
+     */
+    public List<JobHealthEntry> getJobBreakdown(RepositoryRef repository, String workflowName, OffsetDateTime since,
+                                                RunFilter filter, int maxRuns) {
+        if (!RepositoryRef.GITHUB.equals(repository.provider())) {
+            throw new InvalidRequestException("Job drill-down is only available for GitHub repositories: " + repository);
+        }
+        int runLimit = Math.max(1, Math.min(maxRuns, gitHubProperties.getJobs().getMaxRunsPerRequest()));
+        List<WorkflowRun> runs = findRuns(repository, workflowName, since, filter).stream()
+            .sorted(Comparator.comparing(WorkflowRun::getCreated_at, Comparator.nullsLast(Comparator.reverseOrder())))
+            .limit(runLimit)
+            .toList();
+
+        Map<String, Accumulator> jobs = new TreeMap<>();
+        for (List<WorkflowJob> runJobs : fetchJobs(repository, runs)) {
+            for (WorkflowJob job : runJobs) {
+                if (!"completed".equals(job.getStatus()) || job.getConclusion() == null) continue;
+                Accumulator accumulator = jobs.computeIfAbsent(job.getName(), name -> new Accumulator());
+                accumulator.add(job.getConclusion(), job.getDurationSeconds());
+                if (job.getSteps() == null) continue;
+                for (WorkflowStep step : job.getSteps()) {
+                    if (!"completed".equals(step.getStatus()) || step.getConclusion() == null) continue;
+                    Accumulator stepAccumulator = accumulator.steps.computeIfAbsent(step.getName(), name -> new Accumulator());
+                    stepAccumulator.number = step.getNumber() == null ? stepAccumulator.number : step.getNumber();
+                    stepAccumulator.add(step.getConclusion(), step.getDurationSeconds());
+                }
+            }
+        }
+        List<JobHealthEntry> entries = new ArrayList<>(jobs.size());
+        jobs.forEach((jobName, job) -> {
+            if (!job.ran()) return;
+            entries.add(withOutcomes(JobHealthEntry.builder(), job)
+                .repository(repository.toString())
+                .workflowName(workflowName)
+                .jobName(jobName)
+                .avgDurationMinutes(job.stats.getDurationMinutesSum() / job.stats.getTotalRuns())
+                .steps(job.steps.entrySet().stream()
+                    .filter(step -> step.getValue().ran())
+                    .map(step -> withOutcomes(StepHealthEntry.builder(), step.getValue())
+                        .number(step.getValue().number)
+                        .stepName(step.getKey())
+                        .build())
+                    .sorted(Comparator.comparingInt(StepHealthEntry::getNumber))
+                    .toList())
+                .build());
+        });
+        return entries;
+    }
+
+    private List<WorkflowRun> findRuns(RepositoryRef repository, String workflowName, OffsetDateTime since, RunFilter filter) {
+        if (filter.isEmpty() && workflowRunStore.isPresent() && workflowRunStore.get().covers(List.of(repository), since)) {
+            return workflowRunStore.get().findCreatedSince(List.of(repository), since).stream()
+                .filter(run -> workflowName.equals(run.getName()) && run.getConclusion() != null)
+                .toList();
+        }
+        List<WorkflowRun> runs = new ArrayList<>();
+        try {
+            RunFilter workflowFilter = filter.workflowId() != null ? filter : resolveWorkflowId(repository, workflowName)
+                .map(id -> new RunFilter(filter.status(), filter.branch(), filter.event(), id))
+                .orElse(filter);
+            workflowRunFetcher.fetchRuns(repository, CreatedQuery.fromHour(since), workflowFilter, page -> {
+                synchronized (runs) {
+                    for (WorkflowRun run : page) {
+                        if (workflowName.equals(run.getName()) && run.getConclusion() != null
+                            && (run.getCreated_at() == null || !run.getCreated_at().isBefore(since))) {
+                            runs.add(run);
+                        }
+                    }
+                }
+            });
+        } catch (FeignException e) {
+            log.error("GitHub API call failed: {}", e.getMessage());
+            throw new GitHubClientException("GitHub API error: " + e.status() + " - " + e.getMessage());
+        }
+        return runs;
+    }
+
+    // Without a unique match, e.g. two workflow files with the same name, all runs are listed and filtered by name
+    private Optional<String> resolveWorkflowId(RepositoryRef repository, String workflowName) {
+        WorkflowKey key = new WorkflowKey(repository, workflowName);
+        String cached = workflowIds.get(key);
+        if (cached != null) {
+            return Optional.of(cached);
+        }
+        String token = "Bearer " + gitHubProperties.getToken();
+        List<Long> matches = new ArrayList<>();
+        GitHubWorkflowsResponse response;
+        int seen = 0;
+        int page = 0;
+        do {
+            page++;
+            response = gitHubClient.getWorkflows(token, repository.owner(), repository.name(), WORKFLOWS_PER_PAGE, page);
+            List<GitHubWorkflow> workflows = response.getWorkflows() == null ? List.of() : response.getWorkflows();
+            seen += workflows.size();
+            for (GitHubWorkflow workflow : workflows) {
+                if (workflowName.equals(workflow.getName()) && workflow.getId() != null) {
+                    matches.add(workflow.getId());
+                }
+            }
+        } while (response.getWorkflows() != null && response.getWorkflows().size() == WORKFLOWS_PER_PAGE
+            && (response.getTotalCount() == null || seen < response.getTotalCount()));
+        if (matches.size() != 1) {
+            return Optional.empty();
+        }
+        String id = String.valueOf(matches.get(0));
+        workflowIds.put(key, id);
+        return Optional.of(id);
+    }
+
+    private List<List<WorkflowJob>> fetchJobs(RepositoryRef repository, List<WorkflowRun> runs) {
+        Semaphore permits = new Semaphore(Math.max(1, gitHubProperties.getFetchParallelism()));
+        List<Future<List<WorkflowJob>>> fetches = new ArrayList<>(runs.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<List<WorkflowJob>> completion = new ExecutorCompletionService<>(executor);
+            // Cancelled inside the executor block, whose close would otherwise wait for every other jobs call
+            try {
+                for (WorkflowRun run : runs) {
+                    RunAttempt runAttempt = new RunAttempt(run.getId(), run.getRun_attempt() == null ? 0 : run.getRun_attempt());
+                    fetches.add(completion.submit(() -> {
+                        List<WorkflowJob> cached = cachedJobs(runAttempt);
+                        if (cached != null) {
+                            meterRegistry.counter("github.jobs.cache.requests", "result", "hit").increment();
+                            return cached;
+                        }
+                        permits.acquire();
+                        try {
+                            return inFlightJobs.execute(runAttempt, () -> {
+                                meterRegistry.counter("github.jobs.cache.requests", "result", "miss").increment();
+                                return loadJobs(repository, runAttempt);
+                            }, () -> meterRegistry.counter("github.jobs.cache.requests", "result", "shared").increment());
+                        } finally {
+                            permits.release();
+                        }
+                    }));
+                }
+                // In completion order, so the first failing call cancels the others right away
+                for (int i = 0; i < fetches.size(); i++) {
+                    await(completion.take());
+                }
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                fetches.forEach(fetch -> fetch.cancel(true));
+                throw new IllegalStateException("Interrupted while fetching workflow jobs", e);
+            } catch (RuntimeException e) {
+                fetches.forEach(fetch -> fetch.cancel(true));
+                throw e;
+            }
+        }
+        List<List<WorkflowJob>> jobs = new ArrayList<>(fetches.size());
+        for (Future<List<WorkflowJob>> fetch : fetches) {
+            jobs.add(await(fetch));
+        }
+        return jobs;
+    }
+
+    private List<WorkflowJob> loadJobs(RepositoryRef repository, RunAttempt runAttempt) {
+        String token = "Bearer " + gitHubProperties.getToken();
+        List<WorkflowJob> jobs = new ArrayList<>();
+        GitHubJobsResponse response;
+        int page = 0;
+        do {
+            page++;
+            response = gitHubClient.getWorkflowRunJobs(token, repository.owner(), repository.name(), runAttempt.runId(),
+                JOBS_PER_PAGE, page);
+            if (response.getJobs() != null) {
+                jobs.addAll(response.getJobs());
+            }
+        } while (response.getJobs() != null && response.getJobs().size() == JOBS_PER_PAGE
+            && (response.getTotalCount() == null || jobs.size() < response.getTotalCount()));
+
+        // The runs we ask for have concluded, but a re-run may have started since; only keep the settled attempt
+        // the run was listed with
+        if (jobs.stream().allMatch(job -> "completed".equals(job.getStatus())
+            && (job.getRun_attempt() == null || job.getRun_attempt() == runAttempt.attempt()))) {
+            synchronized (completedJobs) {
+                completedJobs.put(runAttempt, List.copyOf(jobs));
+            }
+        }
+        return jobs;
+    }
+
+    private List<WorkflowJob> cachedJobs(RunAttempt runAttempt) {
+        synchronized (completedJobs) {
+            return completedJobs.get(runAttempt);
+        }
+    }
+
+    private int cachedRuns() {
+        synchronized (completedJobs) {
+            return completedJobs.size();
+        }
+    }
+
+    private static <B extends OutcomeStatsBuilder<B>> B withOutcomes(B builder, Accumulator accumulator) {
+        WorkflowStats stats = accumulator.stats;
+        return builder
+            .totalRuns(stats.getTotalRuns())
+            .failures(stats.getFailures())
+            .cancelled(stats.getCancelled())
+            .skipped(accumulator.skipped)
+            .failureRate(stats.getFailureRate())
+            .p50DurationSeconds(stats.getDurations().quantile(0.50))
+            .p90DurationSeconds(stats.getDurations().quantile(0.90))
+            .p99DurationSeconds(stats.getDurations().quantile(0.99));
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching workflow jobs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof FeignException feignException) {
+                log.error("GitHub API call failed: {}", feignException.getMessage());
+                throw new GitHubClientException("GitHub API error: " + feignException.status() + " - " + feignException.getMessage());
+            }
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+
+    /**
+     * Outcomes of one job or step. Skipped ones did not run, so they carry neither an outcome nor a duration and are
+     * only counted apart; a job or step that was skipped every time is left out.
+     */
+    private static final class Accumulator {
+
+        private final WorkflowStats stats = new WorkflowStats();
+        private final Map<String, Accumulator> steps = new LinkedHashMap<>();
+        private long skipped;
+        private int number;
+
+        void add(String conclusion, long durationSeconds) {
+            if ("skipped".equals(conclusion)) {
+                skipped++;
+            } else {
+                stats.add(Conclusion.parse(conclusion), durationSeconds / 60.0, durationSeconds);
+            }
+        }
+
+        boolean ran() {
+            return stats.getTotalRuns() > 0;
+        }
+    }
+}
@@ -0,0 +1,162 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+/**
+ * Per-workflow, per-hour aggregates of completed runs, fed by {@code workflow_run} webhooks after a one-off
+ * paginated backfill of {@code github.webhook.retention-days}. Each workflow has its own lock, so deliveries for
+ * different workflows never contend, and reports merge hour buckets instead of rescanning runs.
+ * <p>
+ * Each workflow keeps an {@link HourlyRollup} plus the hour and conclusion of every run id it counted. Windows are
+ * resolved to whole hours and durations to whole days, like the trend rollups. A run is counted and timed once; a
+ * re-run of an already completed run moves it to its new conclusion.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "github.webhook", name = "enabled", havingValue = "true")
+public class LiveWorkflowAggregates {
+
+    private record WorkflowKey(String repository, String workflowName) {
+    }
+
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final GitHubProperties gitHubProperties;
+
+    private final ConcurrentMap<WorkflowKey, WorkflowHours> workflows = new ConcurrentHashMap<>();
+    private final Map<String, OffsetDateTime> coveredSince = new ConcurrentHashMap<>();
+
+    // Repositories whose backfill failed keep being served from GitHub until a later attempt succeeds. Only GitHub
+    // sends workflow_run webhooks, repositories on other providers are never covered.
+    @Scheduled(initialDelay = 0, fixedDelayString = "${github.webhook.backfill-retry-interval:PT10M}")
+    public void backfillMissing() {
+        gitHubProperties.getRepositoryRefs().stream()
+            .filter(repository -> RepositoryRef.GITHUB.equals(repository.provider()))
+            .filter(repository -> !coveredSince.containsKey(repository.toString()))
+            .forEach(this::backfill);
+    }
+
+    public void backfill(RepositoryRef repository) {
+        OffsetDateTime from = OffsetDateTime.now(ZoneOffset.UTC)
+            .minusDays(gitHubProperties.getWebhook().getRetentionDays())
+            .truncatedTo(ChronoUnit.SECONDS);
+        String createdQuery = CreatedQuery.from(from);
+        try {
+            workflowRunFetcher.fetchRuns(repository, createdQuery, runs -> runs.forEach(this::record));
+            coveredSince.put(repository.toString(), from);
+            log.info("Backfilled live aggregates for {} since {}", repository, from);
+        } catch (FeignException | CiProviderException e) {
+            log.error("Live aggregate backfill for {} failed: {}", repository, e.getMessage());
+        }
+    }
+
+    /**
+     * @return whether the run changed the aggregates, i.e. it is completed and either new or re-run to another
+     *         conclusion
+     */
+    public boolean record(WorkflowRun run) {
+        if (run.getConclusion() == null || run.getCreated_at() == null || run.getRepositoryName() == null) {
+            return false;
+        }
+        long hour = run.getCreated_at().toEpochSecond() / 3600;
+        long oldestHour = OffsetDateTime.now().toEpochSecond() / 3600 - gitHubProperties.getWebhook().getRetentionDays() * 24L;
+        if (hour < oldestHour) {
+            return false;
+        }
+        int capacityHours = gitHubProperties.getWebhook().getRetentionDays() * 24 + 1;
+        return workflows.computeIfAbsent(new WorkflowKey(run.getRepositoryName(), run.getName()),
+                k -> new WorkflowHours(capacityHours))
+            .add(run, hour, oldestHour);
+    }
+
+    public boolean covers(Collection<RepositoryRef> repositories, OffsetDateTime since) {
+        return repositories.stream().allMatch(repository -> {
+            OffsetDateTime from = coveredSince.get(repository.toString());
+            return from != null && !since.isBefore(from);
+        });
+    }
+
+    public List<CiHealthReportEntry> report(Collection<RepositoryRef> repositories, OffsetDateTime since) {
+        Set<String> names = new HashSet<>();
+        repositories.forEach(repository -> names.add(repository.toString()));
+        long fromHour = since.toEpochSecond() / 3600;
+        long toHour = OffsetDateTime.now().toEpochSecond() / 3600;
+        List<CiHealthReportEntry> entries = new ArrayList<>();
+        workflows.forEach((key, hours) -> {
+            if (!names.contains(key.repository())) return;
+            WorkflowStats stats = hours.between(fromHour, toHour);
+            if (stats.getTotalRuns() > 0) {
+                entries.add(stats.toEntry(key.repository(), key.workflowName()));
+            }
+        });
+        return entries;
+    }
+
+    private static final class WorkflowHours {
+
+        private final HourlyRollup rollup;
+        // Run id to its creation hour shifted left by a byte, holding the conclusion code in the low byte
+        private final Map<Long, Long> runs = new HashMap<>();
+        private long prunedBeforeHour = Long.MIN_VALUE;
+
+        WorkflowHours(int capacityHours) {
+            this.rollup = new HourlyRollup(capacityHours);
+        }
+
+        synchronized boolean add(WorkflowRun run, long hour, long oldestHour) {
+            // Once a day is enough to forget run ids whose hour has left the window
+            if (oldestHour - prunedBeforeHour >= 24) {
+                runs.values().removeIf(packed -> (packed >> 8) < oldestHour);
+                prunedBeforeHour = oldestHour;
+            }
+            Conclusion conclusion = Conclusion.parse(run.getConclusion());
+            if (run.getId() == null) {
+                rollup.add(hour, conclusion, run.getDurationMinutes(), run.getDurationSeconds());
+                return true;
+            }
+            Long previous = runs.put(run.getId(), hour << 8 | (conclusion.code() & 0xFF));
+            if (previous == null) {
+                rollup.add(hour, conclusion, run.getDurationMinutes(), run.getDurationSeconds());
+                return true;
+            }
+            Conclusion previousConclusion = Conclusion.decode((byte) (previous & 0xFF));
+            if (previousConclusion == conclusion) {
+                return false;
+            }
+            rollup.reclassify(previous >> 8, previousConclusion, conclusion);
+            return true;
+        }
+
+        WorkflowStats between(long fromHour, long toHour) {
+            return rollup.stats(fromHour, toHour);
+        }
+    }
+}
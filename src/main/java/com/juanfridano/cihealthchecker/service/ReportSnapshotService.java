@@ -0,0 +1,75 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.ReportSnapshot;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * Keeps materialized reports for the configured repositories and the common {@code daysBack} windows,
+ * so dashboards are answered from memory instead of a round of GitHub calls. Each refresh fetches the widest
+ * window once and derives the narrower ones from the same runs, unless the store or live aggregates cover them.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "report.snapshots", name = "enabled", havingValue = "true")
+public class ReportSnapshotService {
+
+    private final CiReportService reportService;
+    private final ReportProperties reportProperties;
+
+    private final Map<Integer, ReportSnapshot> snapshots = new ConcurrentHashMap<>();
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${report.snapshots.refresh-interval:PT5M}")
+    public void refreshAll() {
+        OffsetDateTime now = OffsetDateTime.now();
+        try {
+            reportService.generateReports(now, reportProperties.getSnapshots().getWindows())
+                .forEach((daysBack, entries) -> snapshots.put(daysBack, snapshot(daysBack, now, entries)));
+        } catch (GitHubClientException e) {
+            log.warn("Keeping previous snapshots, refresh failed: {}", e.getMessage());
+        } catch (RuntimeException e) {
+            // Anything else, e.g. another provider failing, must not end the scheduled refreshes either
+            log.error("Keeping previous snapshots, refresh failed", e);
+        }
+    }
+
+    public ReportSnapshot refresh(int daysBack) {
+        OffsetDateTime now = OffsetDateTime.now();
+        ReportSnapshot snapshot = snapshot(daysBack, now, reportService.generateReport(now.minusDays(daysBack)));
+        if (isTracked(daysBack)) {
+            snapshots.put(daysBack, snapshot);
+        }
+        return snapshot;
+    }
+
+    private static ReportSnapshot snapshot(int daysBack, OffsetDateTime generatedAt, List<CiHealthReportEntry> entries) {
+        return ReportSnapshot.builder()
+            .daysBack(daysBack)
+            .generatedAt(generatedAt)
+            .entries(entries)
+            .build();
+    }
+
+    public Optional<ReportSnapshot> getSnapshot(int daysBack) {
+        return Optional.ofNullable(snapshots.get(daysBack));
+    }
+
+    public boolean isTracked(int daysBack) {
+        return reportProperties.getSnapshots().getWindows().contains(daysBack);
+    }
+}
@@ -0,0 +1,73 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.TrendBucket;
+import com.juanfridano.cihealthchecker.model.TrendPoint;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowTrend;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Hourly rollups per repository and workflow. Runs are folded in once, queries only merge hour slots.
+ */
+public class TrendRollups {
+
+    private record SeriesKey(String repository, String workflowName) {
+    }
+
+    private final int capacityHours;
+    private final Map<SeriesKey, HourlyRollup> series = new ConcurrentHashMap<>();
+
+    public TrendRollups(int capacityHours) {
+        this.capacityHours = Math.max(1, capacityHours);
+    }
+
+    public void record(WorkflowRun run) {
+        record(run, null);
+    }
+
+    /**
+     * @param previous the conclusion this run was already recorded with, {@code null} if it was not recorded yet;
+     *                 a re-run only moves the run to its new conclusion, it is still counted and timed once
+     */
+    public void record(WorkflowRun run, Conclusion previous) {
+        if (run.getCreated_at() == null) return;
+        long epochHour = Math.floorDiv(run.getCreated_at().toEpochSecond(), 3600);
+        HourlyRollup rollup = series.computeIfAbsent(new SeriesKey(run.getRepositoryName(), run.getName()),
+            key -> new HourlyRollup(capacityHours));
+        if (previous == null) {
+            rollup.add(epochHour, Conclusion.parse(run.getConclusion()), run.getDurationSeconds());
+        } else {
+            rollup.reclassify(epochHour, previous, Conclusion.parse(run.getConclusion()));
+        }
+    }
+
+    public List<WorkflowTrend> query(Collection<RepositoryRef> repositories, OffsetDateTime since, OffsetDateTime until,
+                                     TrendBucket bucket) {
+        Set<String> names = repositories.stream().map(RepositoryRef::toString).collect(Collectors.toSet());
+        long fromHour = Math.floorDiv(since.toEpochSecond(), 3600);
+        long toHour = Math.floorDiv(until.toEpochSecond(), 3600);
+        List<WorkflowTrend> trends = new ArrayList<>();
+        series.forEach((key, rollup) -> {
+            if (!names.contains(key.repository())) return;
+            List<TrendPoint> points = rollup.query(fromHour, toHour, bucket.getHours());
+            if (points.isEmpty()) return;
+            trends.add(WorkflowTrend.builder()
+                .repository(key.repository())
+                .workflowName(key.workflowName())
+                .bucket(bucket)
+                .points(points)
+                .build());
+        });
+        return trends;
+    }
+}
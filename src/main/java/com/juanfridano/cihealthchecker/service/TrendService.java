@@ -0,0 +1,77 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.TrendBucket;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowTrend;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import feign.FeignException;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class TrendService {
+
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final Optional<WorkflowRunStore> workflowRunStore;
+    private final GitHubProperties gitHubProperties;
+    private final ReportProperties reportProperties;
+
+    private TrendRollups rollups;
+
+    // With the store enabled the rollups are kept current as runs complete, otherwise built per request
+    @PostConstruct
+    public void init() {
+        workflowRunStore.ifPresent(store -> {
+            rollups = new TrendRollups(reportProperties.getTrends().getRetentionDays() * 24);
+            store.addCompletionListener(rollups::record);
+        });
+    }
+
+    public List<WorkflowTrend> getTrends(OffsetDateTime since, TrendBucket bucket) {
+        return getTrends(since, bucket, gitHubProperties.getRepositoryRefs());
+    }
+
+    public List<WorkflowTrend> getTrends(OffsetDateTime since, TrendBucket bucket, List<RepositoryRef> repositories) {
+        OffsetDateTime now = OffsetDateTime.now();
+        TrendRollups windowRollups = new TrendRollups((int) Duration.between(since, now).toHours() + 2);
+        if (rollups != null && workflowRunStore.get().covers(repositories, since)) {
+            if (!since.isBefore(now.minusDays(reportProperties.getTrends().getRetentionDays()))) {
+                return rollups.query(repositories, since, now, bucket);
+            }
+            // Older than the rollups keep, but the store still has the runs
+            workflowRunStore.get().findCreatedSince(repositories, since).stream()
+                .filter(run -> run.getConclusion() != null)
+                .forEach(windowRollups::record);
+            return windowRollups.query(repositories, since, now, bucket);
+        }
+
+        String createdQuery = CreatedQuery.fromHour(since);
+        try {
+            workflowRunFetcher.fetchRuns(repositories, createdQuery, runs -> {
+                for (WorkflowRun run : runs) {
+                    if (run.getConclusion() != null) windowRollups.record(run);
+                }
+            });
+        } catch (FeignException e) {
+            log.error("GitHub API call failed: {}", e.getMessage());
+            throw new GitHubClientException("GitHub API error: " + e.status() + " - " + e.getMessage());
+        }
+        return windowRollups.query(repositories, since, now, bucket);
+    }
+}
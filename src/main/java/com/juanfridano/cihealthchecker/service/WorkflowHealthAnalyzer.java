@@ -0,0 +1,144 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowAnalysis;
+import com.juanfridano.cihealthchecker.model.WorkflowHealth;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Flakiness and duration regressions per repository and workflow, folded in run by run. A commit is flaky when runs
+ * on its head SHA both passed and failed, which covers re-runs as well as several runs on the same push; only the
+ * newest {@code commitWindow} commits of a workflow are considered. Durations of passing runs feed a
+ * {@link DurationChangeDetector}. Every run costs O(log commitWindow), so following new runs is O(new runs).
+ * <p>
+ * Change points depend on order: runs should arrive oldest first, a few out of order are tolerated.
+ */
+public class WorkflowHealthAnalyzer {
+
+    private record WorkflowKey(String repository, String workflowName) {
+    }
+
+    private final int commitWindow;
+    private final Map<WorkflowKey, WorkflowSignals> workflows = new ConcurrentHashMap<>();
+
+    public WorkflowHealthAnalyzer(int commitWindow) {
+        this.commitWindow = Math.max(1, commitWindow);
+    }
+
+    public void record(WorkflowRun run) {
+        record(run, null);
+    }
+
+    /**
+     * @param previous the conclusion this run was already recorded with, {@code null} if it was not recorded yet; a
+     *                 re-run adds its new outcome to the commit but its duration is not fed to the detector again
+     */
+    public void record(WorkflowRun run, Conclusion previous) {
+        Conclusion conclusion = Conclusion.parse(run.getConclusion());
+        if (conclusion == null || run.getCreated_at() == null) return;
+        workflows.computeIfAbsent(new WorkflowKey(run.getRepositoryName(), run.getName()),
+            key -> new WorkflowSignals(commitWindow)).add(run, conclusion, previous == null);
+    }
+
+    public List<WorkflowAnalysis> query(Collection<RepositoryRef> repositories) {
+        Set<String> names = repositories.stream().map(RepositoryRef::toString).collect(Collectors.toSet());
+        List<WorkflowAnalysis> analyses = new ArrayList<>();
+        workflows.forEach((key, signals) -> {
+            if (names.contains(key.repository())) {
+                analyses.add(signals.toAnalysis(key.repository(), key.workflowName()));
+            }
+        });
+        return analyses;
+    }
+
+    private static final class WorkflowSignals {
+
+        private static final int PASSED = 1;
+        private static final int FAILED = 2;
+
+        private final int commitWindow;
+        private final Map<String, Commit> commits = new HashMap<>();
+        private final TreeSet<Commit> commitsByRecency = new TreeSet<>(
+            Comparator.comparingLong((Commit commit) -> commit.lastCreated).thenComparing(commit -> commit.sha));
+        private final DurationChangeDetector durations = new DurationChangeDetector();
+        private long failingCommits;
+        private long flakyCommits;
+
+        WorkflowSignals(int commitWindow) {
+            this.commitWindow = commitWindow;
+        }
+
+        synchronized void add(WorkflowRun run, Conclusion conclusion, boolean firstCompletion) {
+            long created = run.getCreated_at().toEpochSecond();
+            if (conclusion.isPass() && firstCompletion) {
+                durations.add(created, run.getDurationSeconds());
+            }
+            if (run.getHead_sha() == null || !(conclusion.isPass() || conclusion.isFailure())) return;
+
+            Commit commit = commits.get(run.getHead_sha());
+            if (commit == null) {
+                if (commits.size() >= commitWindow && created < commitsByRecency.first().lastCreated) return;
+                commit = new Commit(run.getHead_sha());
+                commits.put(commit.sha, commit);
+            } else {
+                commitsByRecency.remove(commit);
+            }
+            count(commit, -1);
+            commit.outcomes |= conclusion.isPass() ? PASSED : FAILED;
+            commit.lastCreated = Math.max(commit.lastCreated, created);
+            count(commit, 1);
+            commitsByRecency.add(commit);
+
+            while (commits.size() > commitWindow) {
+                Commit oldest = commitsByRecency.pollFirst();
+                commits.remove(oldest.sha);
+                count(oldest, -1);
+            }
+        }
+
+        synchronized WorkflowAnalysis toAnalysis(String repository, String workflowName) {
+            WorkflowHealth health = !commitsByRecency.isEmpty() && commitsByRecency.last().outcomes == FAILED
+                ? WorkflowHealth.FAILING
+                : flakyCommits > 0 ? WorkflowHealth.FLAKY
+                : WorkflowHealth.STABLE;
+            return WorkflowAnalysis.builder()
+                .repository(repository)
+                .workflowName(workflowName)
+                .health(health)
+                .commits(commits.size())
+                .failingCommits(failingCommits)
+                .flakyCommits(flakyCommits)
+                .flakeRate(failingCommits == 0 ? 0 : flakyCommits * 100.0 / failingCommits)
+                .durationRegression(durations.regression())
+                .build();
+        }
+
+        private void count(Commit commit, int sign) {
+            if ((commit.outcomes & FAILED) != 0) failingCommits += sign;
+            if (commit.outcomes == (PASSED | FAILED)) flakyCommits += sign;
+        }
+    }
+
+    private static final class Commit {
+
+        private final String sha;
+        private int outcomes;
+        private long lastCreated = Long.MIN_VALUE;
+
+        Commit(String sha) {
+            this.sha = sha;
+        }
+    }
+}
@@ -0,0 +1,53 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
+
+/**
+ * Single-pass accumulator of per-workflow counters and duration sketches. Pages are folded in as they arrive and
+ * dropped afterwards, so memory grows with the number of workflows rather than runs. Each page is aggregated
+ * on the fetching thread and only the merge of the partial result is serialized.
+ */
+public class WorkflowRunAggregator implements Consumer<Collection<WorkflowRun>> {
+
+    private record WorkflowKey(String repository, String workflowName) {
+    }
+
+    private final Map<WorkflowKey, WorkflowStats> statsByWorkflow = new HashMap<>();
+
+    @Override
+    public void accept(Collection<WorkflowRun> runs) {
+        WorkflowRunAggregator partial = new WorkflowRunAggregator();
+        for (WorkflowRun run : runs) {
+            WorkflowKey key = new WorkflowKey(run.getRepositoryName(), run.getName());
+            partial.statsByWorkflow.computeIfAbsent(key, k -> new WorkflowStats()).add(run);
+        }
+        merge(partial);
+    }
+
+    public synchronized void merge(WorkflowRunAggregator other) {
+        other.statsByWorkflow.forEach((key, stats) ->
+            statsByWorkflow.computeIfAbsent(key, k -> new WorkflowStats()).merge(stats));
+    }
+
+    /**
+     * Folds in one repository's stats by workflow name without modifying them, e.g. a cached day partial.
+     */
+    public synchronized void merge(String repository, Map<String, WorkflowStats> statsByWorkflowName) {
+        statsByWorkflowName.forEach((workflowName, stats) ->
+            statsByWorkflow.computeIfAbsent(new WorkflowKey(repository, workflowName), k -> new WorkflowStats()).merge(stats));
+    }
+
+    public synchronized List<CiHealthReportEntry> toEntries() {
+        return statsByWorkflow.entrySet().stream()
+            .map(entry -> entry.getValue().toEntry(entry.getKey().repository(), entry.getKey().workflowName()))
+            .toList();
+    }
+}
@@ -0,0 +1,323 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery.Window;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.provider.CiRunSource;
+import com.juanfridano.cihealthchecker.provider.RunPage;
+import com.juanfridano.cihealthchecker.provider.RunQuery;
+
+import feign.FeignException;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionService;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorCompletionService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.stream.IntStream;
+
+import org.springframework.stereotype.Component;
+
+/**
+ * Fetch engine shared by every {@link CiRunSource}: fans out over repositories, fetches pages in parallel, splits
+ * created windows that exceed a source's result cap and retries retryable source failures. Sources are picked by
+ * the repository's provider prefix.
+ */
+@Slf4j
+@Component
+public class WorkflowRunFetcher {
+
+    private static final int MAX_SPLIT = 64;
+
+    private final Map<String, CiRunSource> sources = new HashMap<>();
+    private final GitHubProperties gitHubProperties;
+    private final MeterRegistry meterRegistry;
+
+    public WorkflowRunFetcher(List<CiRunSource> sources, GitHubProperties gitHubProperties, MeterRegistry meterRegistry) {
+        sources.forEach(source -> {
+            if (this.sources.put(source.provider(), source) != null) {
+                throw new IllegalStateException("More than one CI run source for provider " + source.provider());
+            }
+        });
+        this.gitHubProperties = gitHubProperties;
+        this.meterRegistry = meterRegistry;
+    }
+
+    /**
+     * Fetches all repositories concurrently, at most {@code github.repository-parallelism} at a time,
+     * feeding every page of every repository into the same consumer.
+     */
+    public void fetchRuns(Collection<RepositoryRef> repositories, String createdQuery,
+                          Consumer<? super List<WorkflowRun>> pageConsumer) {
+        fetchRuns(repositories, createdQuery, RunFilter.NONE, pageConsumer);
+    }
+
+    public void fetchRuns(Collection<RepositoryRef> repositories, String createdQuery, RunFilter filter,
+                          Consumer<? super List<WorkflowRun>> pageConsumer) {
+        if (repositories.size() == 1) {
+            fetchRuns(repositories.iterator().next(), createdQuery, filter, pageConsumer);
+            return;
+        }
+        Map<RepositoryRef, List<String>> createdQueries = new LinkedHashMap<>();
+        repositories.forEach(repository -> createdQueries.put(repository, List.of(createdQuery)));
+        fetchRuns(createdQueries, filter, pageConsumer);
+    }
+
+    /**
+     * Like {@link #fetchRuns(Collection, String, RunFilter, Consumer)} with several created ranges per repository;
+     * every range of every repository is fetched concurrently, at most {@code github.repository-parallelism} at a time.
+     */
+    public void fetchRuns(Map<RepositoryRef, ? extends Collection<String>> createdQueries, RunFilter filter,
+                          Consumer<? super List<WorkflowRun>> pageConsumer) {
+        Semaphore permits = new Semaphore(Math.max(1, gitHubProperties.getRepositoryParallelism()));
+        List<Future<?>> fetches = new ArrayList<>();
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+            // Cancelled before the executor is closed, whose close would otherwise wait for every other repository
+            try {
+                createdQueries.forEach((repository, queries) -> queries.forEach(createdQuery ->
+                    fetches.add(completion.submit(() -> {
+                        permits.acquire();
+                        try {
+                            fetchRuns(repository, createdQuery, filter, pageConsumer);
+                        } finally {
+                            permits.release();
+                        }
+                        return null;
+                    }))));
+                awaitAll(completion, fetches.size());
+            } catch (RuntimeException e) {
+                fetches.forEach(fetch -> fetch.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Fetches every page matching {@code createdQuery} and hands each page to {@code pageConsumer}
+     * as soon as it arrives. Pages after the first, and the sub-windows of a range too large for one query, are
+     * fetched concurrently, so the consumer must be thread-safe.
+     */
+    public void fetchRuns(RepositoryRef repository, String createdQuery, Consumer<? super List<WorkflowRun>> pageConsumer) {
+        fetchRuns(repository, createdQuery, RunFilter.NONE, pageConsumer);
+    }
+
+    public void fetchRuns(RepositoryRef repository, String createdQuery, RunFilter filter,
+                          Consumer<? super List<WorkflowRun>> pageConsumer) {
+        Window window = Window.parse(createdQuery);
+        if (window == null) {
+            throw new IllegalArgumentException("Not a from or between created query: " + createdQuery);
+        }
+        String repositoryName = repository.toString();
+        Consumer<List<WorkflowRun>> taggingConsumer = runs -> {
+            runs.forEach(run -> run.setRepositoryName(repositoryName));
+            pageConsumer.accept(runs);
+        };
+        RepositoryFetch fetch = new RepositoryFetch(source(repository), repository, filter, gitHubProperties.getPerPage(),
+            new Semaphore(Math.max(1, gitHubProperties.getFetchParallelism())), taggingConsumer);
+        fetchWindow(fetch, window);
+    }
+
+    private CiRunSource source(RepositoryRef repository) {
+        CiRunSource source = sources.get(repository.provider());
+        if (source == null) {
+            throw new IllegalArgumentException("No CI run source for provider " + repository.provider() + " of " + repository);
+        }
+        return source;
+    }
+
+    // One repository's fetch; its pages and sub-windows share the page permits
+    private record RepositoryFetch(CiRunSource source, RepositoryRef repository, RunFilter filter, int perPage,
+                                   Semaphore permits, Consumer<List<WorkflowRun>> pageConsumer) {
+    }
+
+    /**
+     * Sources may stop paging a query after {@link CiRunSource#resultCap()} results, as GitHub does after
+     * {@code github.result-cap}. When the first page reports more, it is dropped and the created range is split
+     * into sub-windows that fit the cap at the observed density; each is planned the same way, so skewed windows
+     * split again, and all are fetched in parallel.
+     */
+    private void fetchWindow(RepositoryFetch fetch, Window window) {
+        RunPage first = fetchPage(fetch, window, 1);
+        List<WorkflowRun> firstRuns = first.runs();
+        if (firstRuns == null || firstRuns.isEmpty()) {
+            return;
+        }
+
+        Long totalCount = first.totalCount();
+        int cap = fetch.source().resultCap();
+        if (totalCount != null && cap > 0 && totalCount > cap) {
+            List<Window> windows = split(window, totalCount, cap);
+            if (windows.size() > 1) {
+                log.debug("created {} matches {} runs for {}, splitting into {} windows",
+                    window.toQuery(), totalCount, fetch.repository(), windows.size());
+                meterRegistry.counter("github.runs.window.splits", "repository", fetch.repository().toString()).increment();
+                forEachConcurrently(windows, subWindow -> fetchWindow(fetch, subWindow));
+                return;
+            }
+            log.warn("created {} matches {} runs for {}, only the first {} can be fetched",
+                window.toQuery(), totalCount, fetch.repository(), cap);
+        }
+        fetch.pageConsumer().accept(firstRuns);
+
+        if (totalCount == null) {
+            fetchSequentially(fetch, window, firstRuns);
+            return;
+        }
+
+        long reachable = cap > 0 ? Math.min(totalCount, cap) : totalCount;
+        int pageCount = (int) ((reachable + fetch.perPage() - 1) / fetch.perPage());
+        if (pageCount <= 1) {
+            return;
+        }
+
+        log.debug("Fetching {} remaining pages for {} with parallelism {}",
+            pageCount - 1, fetch.repository(), gitHubProperties.getFetchParallelism());
+        forEachConcurrently(IntStream.rangeClosed(2, pageCount).boxed().toList(), page -> {
+            List<WorkflowRun> runs = fetchPage(fetch, window, page).runs();
+            if (runs != null) {
+                fetch.pageConsumer().accept(runs);
+            }
+        });
+    }
+
+    // Enough parts for each to fit at uniform density with a quarter to spare
+    private static List<Window> split(Window window, long totalCount, int cap) {
+        int parts = (int) Math.min(MAX_SPLIT, Math.max(2, (totalCount * 5 + cap * 4L - 1) / (cap * 4L)));
+        return window.split(parts, OffsetDateTime.now(ZoneOffset.UTC));
+    }
+
+    // Fallback for responses without total_count: walk until a short page instead of an empty one
+    private void fetchSequentially(RepositoryFetch fetch, Window window, List<WorkflowRun> firstRuns) {
+        List<WorkflowRun> pageRuns = firstRuns;
+        int page = 1;
+        while (pageRuns.size() >= fetch.perPage()) {
+            page++;
+            pageRuns = fetchPage(fetch, window, page).runs();
+            if (pageRuns == null || pageRuns.isEmpty()) break;
+            fetch.pageConsumer().accept(pageRuns);
+        }
+    }
+
+    // Same attempt budget and backoff as the GitHub scheduler, which retries GitHub calls itself. The page permit is
+    // only held per attempt, so a page backing off does not keep other pages of the repository waiting.
+    private RunPage fetchPage(RepositoryFetch fetch, Window window, int page) {
+        RunQuery query = new RunQuery(window.start(), window.end(), fetch.filter());
+        int maxAttempts = Math.max(1, gitHubProperties.getScheduler().getMaxAttempts());
+        Duration backoff = gitHubProperties.getScheduler().getInitialBackoff();
+        for (int attempt = 1; ; attempt++) {
+            try {
+                fetch.permits().acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fetching workflow runs", e);
+            }
+            CiProviderException failure;
+            try {
+                return fetchPage(fetch, query, page);
+            } catch (CiProviderException e) {
+                if (!e.isRetryable() || attempt >= maxAttempts) throw e;
+                failure = e;
+            } finally {
+                fetch.permits().release();
+            }
+            long delay = backoff.toMillis() << (attempt - 1);
+            log.debug("{} page {} of {} failed ({}), attempt {} of {} in {} ms",
+                fetch.repository(), page, window.toQuery(), failure.getMessage(), attempt + 1, maxAttempts, delay);
+            try {
+                Thread.sleep(delay + ThreadLocalRandom.current().nextLong(delay / 2 + 1));
+            } catch (InterruptedException interrupted) {
+                Thread.currentThread().interrupt();
+                throw failure;
+            }
+        }
+    }
+
+    // Covers the whole source call; for GitHub that includes scheduler waits, retries and decoding
+    private RunPage fetchPage(RepositoryFetch fetch, RunQuery query, int page) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        String status = "200";
+        try {
+            RunPage runPage = fetch.source().fetchPage(fetch.repository(), query, fetch.perPage(), page);
+            return runPage.runs() == null ? new RunPage(List.of(), runPage.totalCount()) : runPage;
+        } catch (FeignException e) {
+            status = String.valueOf(e.status());
+            throw e;
+        } catch (CiProviderException e) {
+            status = String.valueOf(e.getStatus());
+            throw e;
+        } catch (RuntimeException e) {
+            status = "ERROR";
+            throw e;
+        } finally {
+            sample.stop(Timer.builder("github.runs.fetch")
+                .description("Run page fetches including retries and decoding")
+                .tag("provider", fetch.repository().provider())
+                .tag("repository", fetch.repository().toString())
+                .tag("status", status)
+                .publishPercentileHistogram()
+                .register(meterRegistry));
+        }
+    }
+
+    private static <T> void forEachConcurrently(Collection<T> items, Consumer<T> task) {
+        List<Future<?>> futures = new ArrayList<>(items.size());
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            CompletionService<Object> completion = new ExecutorCompletionService<>(executor);
+            try {
+                for (T item : items) {
+                    futures.add(completion.submit(() -> task.accept(item), null));
+                }
+                awaitAll(completion, futures.size());
+            } catch (RuntimeException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw e;
+            }
+        }
+    }
+
+    // In completion order, so the first failure surfaces while slower tasks are still running
+    private static void awaitAll(CompletionService<?> completion, int tasks) {
+        for (int i = 0; i < tasks; i++) {
+            try {
+                await(completion.take());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new IllegalStateException("Interrupted while fetching workflow runs", e);
+            }
+        }
+    }
+
+    private static <T> T await(Future<T> future) {
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while fetching workflow runs", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException(e.getCause());
+        }
+    }
+}
@@ -0,0 +1,468 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * Workflow runs as parallel primitive columns, one row per run id: interned (repository, workflow) ids, byte-coded
+ * conclusions, creation time in epoch seconds, start/update times as int second offsets from creation and the head
+ * commit SHA as 20 raw bytes and the run attempt as a short (0 when unknown). About 50 bytes per run plus the id index, against several hundred for a
+ * {@link WorkflowRun} with its strings and {@link OffsetDateTime}s. Timestamps are kept to the second, in UTC; head
+ * SHAs that are not 40 hex digits are not kept.
+ * <p>
+ * Not thread-safe; {@link WorkflowRunStore} guards it with a read/write lock.
+ */
+public final class RunColumns {
+
+    private static final int NO_TIME = Integer.MIN_VALUE;
+    private static final int FILE_MAGIC = 0x43495243;
+    private static final short FILE_VERSION = 3;
+    private static final int SHA_BYTES = 20;
+
+    private long[] ids;
+    private int[] workflows;
+    private byte[] conclusions;
+    private long[] createdAt;
+    private int[] startedOffsets;
+    private int[] updatedOffsets;
+    private byte[] headShas;
+    private short[] attempts;
+    private int size;
+
+    private final IdIndex index = new IdIndex();
+    private final Map<WorkflowKey, Integer> workflowIds = new HashMap<>();
+    private final List<WorkflowKey> workflowKeys = new ArrayList<>();
+
+    private record WorkflowKey(String repository, String name) {
+    }
+
+    public RunColumns() {
+        this(1024);
+    }
+
+    public RunColumns(int initialCapacity) {
+        int capacity = Math.max(16, initialCapacity);
+        ids = new long[capacity];
+        workflows = new int[capacity];
+        conclusions = new byte[capacity];
+        createdAt = new long[capacity];
+        startedOffsets = new int[capacity];
+        updatedOffsets = new int[capacity];
+        headShas = new byte[capacity * SHA_BYTES];
+        attempts = new short[capacity];
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Inserts or overwrites the row for {@code run.getId()}.
+     *
+     * @return the previous row's conclusion code, {@link Conclusion#NONE_CODE} if it had none, or {@code null}
+     * if the run is new
+     */
+    public Byte put(WorkflowRun run) {
+        long id = run.getId();
+        int row = index.get(id);
+        Byte previous = null;
+        if (row < 0) {
+            ensureCapacity(size + 1);
+            row = size++;
+            ids[row] = id;
+            index.put(id, row);
+        } else {
+            previous = conclusions[row];
+        }
+        writeRow(row, run);
+        return previous;
+    }
+
+    /**
+     * Whether storing {@code run} would leave its row unchanged, at the precision the columns keep.
+     */
+    public boolean contains(WorkflowRun run) {
+        int row = index.get(run.getId());
+        if (row < 0) return false;
+        WorkflowKey key = workflowKeys.get(workflows[row]);
+        long created = epochSecond(run.getCreated_at(), 0);
+        return Objects.equals(key.repository(), run.getRepositoryName())
+            && Objects.equals(key.name(), run.getName())
+            && conclusions[row] == Conclusion.encode(run.getConclusion())
+            && createdAt[row] == created
+            && startedOffsets[row] == offset(run.getRun_started_at(), created)
+            && updatedOffsets[row] == offset(run.getUpdated_at(), created)
+            && Objects.equals(headSha(row), storableSha(run.getHead_sha()))
+            && attempts[row] == storableAttempt(run.getRun_attempt());
+    }
+
+    public WorkflowRun get(int row) {
+        WorkflowKey key = workflowKeys.get(workflows[row]);
+        WorkflowRun run = new WorkflowRun();
+        run.setId(ids[row]);
+        run.setRepositoryName(key.repository());
+        run.setName(key.name());
+        Conclusion conclusion = Conclusion.decode(conclusions[row]);
+        run.setConclusion(conclusion == null ? null : conclusion.value());
+        run.setHead_sha(headSha(row));
+        run.setRun_attempt(attempts[row] == 0 ? null : (int) attempts[row]);
+        run.setCreated_at(toDateTime(createdAt[row]));
+        run.setRun_started_at(startedOffsets[row] == NO_TIME ? null : toDateTime(createdAt[row] + startedOffsets[row]));
+        run.setUpdated_at(updatedOffsets[row] == NO_TIME ? null : toDateTime(createdAt[row] + updatedOffsets[row]));
+        return run;
+    }
+
+    public void forEach(Consumer<WorkflowRun> consumer) {
+        for (int row = 0; row < size; row++) {
+            consumer.accept(get(row));
+        }
+    }
+
+    /**
+     * Like {@link #forEach}, oldest creation time first.
+     */
+    public void forEachByCreation(Consumer<WorkflowRun> consumer) {
+        long oldest = Long.MAX_VALUE;
+        for (int row = 0; row < size; row++) {
+            oldest = Math.min(oldest, createdAt[row]);
+        }
+        // Creation second relative to the oldest run in the high half, row in the low half: one primitive sort
+        long[] order = new long[size];
+        for (int row = 0; row < size; row++) {
+            order[row] = (createdAt[row] - oldest) << 32 | row;
+        }
+        Arrays.sort(order);
+        for (long key : order) {
+            consumer.accept(get((int) key));
+        }
+    }
+
+    public List<WorkflowRun> findCreatedSince(Collection<String> repositories, OffsetDateTime since) {
+        boolean[] selected = selectWorkflows(repositories);
+        long sinceSecond = since.toEpochSecond();
+        List<WorkflowRun> runs = new ArrayList<>();
+        for (int row = 0; row < size; row++) {
+            if (selected[workflows[row]] && createdAt[row] >= sinceSecond) {
+                runs.add(get(row));
+            }
+        }
+        return runs;
+    }
+
+    /**
+     * Same result as feeding {@link #findCreatedSince} into the report aggregator, computed straight from the
+     * columns without materializing runs.
+     */
+    public List<CiHealthReportEntry> aggregate(Collection<String> repositories, OffsetDateTime since) {
+        boolean[] selected = selectWorkflows(repositories);
+        long sinceSecond = since.toEpochSecond();
+        WorkflowStats[] stats = new WorkflowStats[workflowKeys.size()];
+        for (int row = 0; row < size; row++) {
+            int workflow = workflows[row];
+            if (!selected[workflow] || createdAt[row] < sinceSecond) continue;
+            WorkflowStats workflowStats = stats[workflow];
+            if (workflowStats == null) {
+                workflowStats = stats[workflow] = new WorkflowStats();
+            }
+            int started = startedOffsets[row];
+            int updated = updatedOffsets[row];
+            long duration = started == NO_TIME || updated == NO_TIME ? 0 : (long) updated - started;
+            // Duration#toMinutes truncates towards zero, as does integer division
+            workflowStats.add(Conclusion.decode(conclusions[row]), duration / 60, Math.max(0, duration));
+        }
+        List<CiHealthReportEntry> entries = new ArrayList<>();
+        for (int workflow = 0; workflow < stats.length; workflow++) {
+            if (stats[workflow] != null) {
+                WorkflowKey key = workflowKeys.get(workflow);
+                entries.add(stats[workflow].toEntry(key.repository(), key.name()));
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * Oldest creation time among the repository's runs without a conclusion, or else its newest creation time.
+     */
+    public OffsetDateTime highWaterMark(String repository) {
+        boolean[] selected = selectWorkflows(List.of(repository));
+        long oldestInProgress = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (int row = 0; row < size; row++) {
+            if (!selected[workflows[row]]) continue;
+            newest = Math.max(newest, createdAt[row]);
+            if (conclusions[row] == Conclusion.NONE_CODE) {
+                oldestInProgress = Math.min(oldestInProgress, createdAt[row]);
+            }
+        }
+        if (oldestInProgress != Long.MAX_VALUE) return toDateTime(oldestInProgress);
+        return newest == Long.MIN_VALUE ? null : toDateTime(newest);
+    }
+
+    /**
+     * Number of runs without a conclusion yet.
+     */
+    public int inProgress() {
+        int inProgress = 0;
+        for (int row = 0; row < size; row++) {
+            if (conclusions[row] == Conclusion.NONE_CODE) inProgress++;
+        }
+        return inProgress;
+    }
+
+    /**
+     * Oldest creation time among the repository's runs, {@code null} when it has none.
+     */
+    public OffsetDateTime oldestCreated(String repository) {
+        boolean[] selected = selectWorkflows(List.of(repository));
+        long oldest = Long.MAX_VALUE;
+        for (int row = 0; row < size; row++) {
+            if (selected[workflows[row]]) oldest = Math.min(oldest, createdAt[row]);
+        }
+        return oldest == Long.MAX_VALUE ? null : toDateTime(oldest);
+    }
+
+    private boolean[] selectWorkflows(Collection<String> repositories) {
+        boolean[] selected = new boolean[workflowKeys.size()];
+        for (int workflow = 0; workflow < selected.length; workflow++) {
+            selected[workflow] = repositories.contains(workflowKeys.get(workflow).repository());
+        }
+        return selected;
+    }
+
+    /**
+     * Writes the columns as one block each after a header and the (repository, workflow) dictionary, big-endian:
+     * {@code "CIRC", version, rows, dictionary, ids, workflows, conclusions, createdAt, startedOffsets,
+     * updatedOffsets, headShas, attempts}. Readers scan whichever columns they need sequentially without decoding any
+     * strings. Version 1 files, which end after {@code updatedOffsets}, and version 2 files, which end after
+     * {@code headShas}, are still read.
+     */
+    public void writeTo(OutputStream out) throws IOException {
+        DataOutputStream data = new DataOutputStream(out);
+        data.writeInt(FILE_MAGIC);
+        data.writeShort(FILE_VERSION);
+        data.writeInt(size);
+        data.writeInt(workflowKeys.size());
+        for (WorkflowKey key : workflowKeys) {
+            writeNullableUtf(data, key.repository());
+            writeNullableUtf(data, key.name());
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size * Long.BYTES);
+        buffer.asLongBuffer().put(ids, 0, size);
+        data.write(buffer.array(), 0, size * Long.BYTES);
+        buffer.clear();
+        buffer.asIntBuffer().put(workflows, 0, size);
+        data.write(buffer.array(), 0, size * Integer.BYTES);
+        data.write(conclusions, 0, size);
+        buffer.clear();
+        buffer.asLongBuffer().put(createdAt, 0, size);
+        data.write(buffer.array(), 0, size * Long.BYTES);
+        buffer.clear();
+        buffer.asIntBuffer().put(startedOffsets, 0, size);
+        data.write(buffer.array(), 0, size * Integer.BYTES);
+        buffer.clear();
+        buffer.asIntBuffer().put(updatedOffsets, 0, size);
+        data.write(buffer.array(), 0, size * Integer.BYTES);
+        data.write(headShas, 0, size * SHA_BYTES);
+        buffer.clear();
+        buffer.asShortBuffer().put(attempts, 0, size);
+        data.write(buffer.array(), 0, size * Short.BYTES);
+        data.flush();
+    }
+
+    public static RunColumns readFrom(InputStream in) throws IOException {
+        DataInputStream data = new DataInputStream(in);
+        if (data.readInt() != FILE_MAGIC) {
+            throw new IOException("Not a run columns file");
+        }
+        short version = data.readShort();
+        if (version < 1 || version > FILE_VERSION) {
+            throw new IOException("Unsupported run columns version " + version);
+        }
+        int rows = data.readInt();
+        RunColumns columns = new RunColumns(rows);
+        int workflowCount = data.readInt();
+        for (int workflow = 0; workflow < workflowCount; workflow++) {
+            WorkflowKey key = new WorkflowKey(readNullableUtf(data), readNullableUtf(data));
+            columns.workflowKeys.add(key);
+            columns.workflowIds.put(key, workflow);
+        }
+        byte[] block = new byte[rows * Long.BYTES];
+        data.readFully(block, 0, rows * Long.BYTES);
+        ByteBuffer.wrap(block).asLongBuffer().get(columns.ids, 0, rows);
+        data.readFully(block, 0, rows * Integer.BYTES);
+        ByteBuffer.wrap(block).asIntBuffer().get(columns.workflows, 0, rows);
+        data.readFully(columns.conclusions, 0, rows);
+        data.readFully(block, 0, rows * Long.BYTES);
+        ByteBuffer.wrap(block).asLongBuffer().get(columns.createdAt, 0, rows);
+        data.readFully(block, 0, rows * Integer.BYTES);
+        ByteBuffer.wrap(block).asIntBuffer().get(columns.startedOffsets, 0, rows);
+        data.readFully(block, 0, rows * Integer.BYTES);
+        ByteBuffer.wrap(block).asIntBuffer().get(columns.updatedOffsets, 0, rows);
+        if (version >= 2) {
+            data.readFully(columns.headShas, 0, rows * SHA_BYTES);
+        }
+        if (version >= 3) {
+            data.readFully(block, 0, rows * Short.BYTES);
+            ByteBuffer.wrap(block).asShortBuffer().get(columns.attempts, 0, rows);
+        }
+        for (int row = 0; row < rows; row++) {
+            if (columns.workflows[row] < 0 || columns.workflows[row] >= workflowCount) {
+                throw new IOException("Corrupt run columns file, row " + row + " has no workflow");
+            }
+            columns.index.put(columns.ids[row], row);
+        }
+        columns.size = rows;
+        return columns;
+    }
+
+    private static void writeNullableUtf(DataOutputStream data, String value) throws IOException {
+        data.writeBoolean(value != null);
+        if (value != null) data.writeUTF(value);
+    }
+
+    private static String readNullableUtf(DataInputStream data) throws IOException {
+        return data.readBoolean() ? data.readUTF() : null;
+    }
+
+    private void writeRow(int row, WorkflowRun run) {
+        WorkflowKey key = new WorkflowKey(run.getRepositoryName(), run.getName());
+        Integer workflow = workflowIds.get(key);
+        if (workflow == null) {
+            workflow = workflowKeys.size();
+            workflowKeys.add(key);
+            workflowIds.put(key, workflow);
+        }
+        long created = epochSecond(run.getCreated_at(), 0);
+        workflows[row] = workflow;
+        conclusions[row] = Conclusion.encode(run.getConclusion());
+        createdAt[row] = created;
+        startedOffsets[row] = offset(run.getRun_started_at(), created);
+        updatedOffsets[row] = offset(run.getUpdated_at(), created);
+        attempts[row] = storableAttempt(run.getRun_attempt());
+        String sha = storableSha(run.getHead_sha());
+        int shaOffset = row * SHA_BYTES;
+        if (sha == null) {
+            Arrays.fill(headShas, shaOffset, shaOffset + SHA_BYTES, (byte) 0);
+        } else {
+            for (int i = 0; i < SHA_BYTES; i++) {
+                headShas[shaOffset + i] = (byte) HexFormat.fromHexDigits(sha, 2 * i, 2 * i + 2);
+            }
+        }
+    }
+
+    // All zero bytes stand for no SHA, which no real commit has
+    private String headSha(int row) {
+        int shaOffset = row * SHA_BYTES;
+        for (int i = shaOffset; i < shaOffset + SHA_BYTES; i++) {
+            if (headShas[i] != 0) return HexFormat.of().formatHex(headShas, shaOffset, shaOffset + SHA_BYTES);
+        }
+        return null;
+    }
+
+    private static String storableSha(String sha) {
+        if (sha == null || sha.length() != 2 * SHA_BYTES) return null;
+        for (int i = 0; i < sha.length(); i++) {
+            if (!HexFormat.isHexDigit(sha.charAt(i))) return null;
+        }
+        return sha.toLowerCase(Locale.ROOT);
+    }
+
+    private static short storableAttempt(Integer attempt) {
+        return attempt == null || attempt < 0 ? 0 : (short) Math.min(attempt, Short.MAX_VALUE);
+    }
+
+    private void ensureCapacity(int required) {
+        if (required <= ids.length) return;
+        int capacity = Math.max(required, ids.length + (ids.length >> 1));
+        ids = Arrays.copyOf(ids, capacity);
+        workflows = Arrays.copyOf(workflows, capacity);
+        conclusions = Arrays.copyOf(conclusions, capacity);
+        createdAt = Arrays.copyOf(createdAt, capacity);
+        startedOffsets = Arrays.copyOf(startedOffsets, capacity);
+        updatedOffsets = Arrays.copyOf(updatedOffsets, capacity);
+        headShas = Arrays.copyOf(headShas, capacity * SHA_BYTES);
+        attempts = Arrays.copyOf(attempts, capacity);
+    }
+
+    private static long epochSecond(OffsetDateTime time, long fallback) {
+        return time == null ? fallback : time.toEpochSecond();
+    }
+
+    private static int offset(OffsetDateTime time, long created) {
+        return time == null ? NO_TIME : Math.toIntExact(time.toEpochSecond() - created);
+    }
+
+    private static OffsetDateTime toDateTime(long epochSecond) {
+        return OffsetDateTime.ofInstant(Instant.ofEpochSecond(epochSecond), ZoneOffset.UTC);
+    }
+
+    /**
+     * Open-addressing run id to row map, so the index costs two primitive slots per run instead of boxed entries.
+     */
+    private static final class IdIndex {
+
+        private long[] keys = new long[64];
+        private int[] rows = new int[64];
+        private int size;
+
+        int get(long id) {
+            int mask = keys.length - 1;
+            for (int slot = hash(id) & mask; ; slot = (slot + 1) & mask) {
+                if (rows[slot] == 0) return -1;
+                if (keys[slot] == id) return rows[slot] - 1;
+            }
+        }
+
+        void put(long id, int row) {
+            if (2 * (size + 1) > keys.length) {
+                resize();
+            }
+            int mask = keys.length - 1;
+            int slot = hash(id) & mask;
+            while (rows[slot] != 0 && keys[slot] != id) {
+                slot = (slot + 1) & mask;
+            }
+            if (rows[slot] == 0) size++;
+            keys[slot] = id;
+            rows[slot] = row + 1;
+        }
+
+        private void resize() {
+            long[] oldKeys = keys;
+            int[] oldRows = rows;
+            keys = new long[oldKeys.length * 2];
+            rows = new int[oldRows.length * 2];
+            size = 0;
+            for (int slot = 0; slot < oldKeys.length; slot++) {
+                if (oldRows[slot] != 0) put(oldKeys[slot], oldRows[slot] - 1);
+            }
+        }
+
+        private static int hash(long id) {
+            long h = id * 0x9E3779B97F4A7C15L;
+            return (int) (h ^ (h >>> 32));
+        }
+    }
+}
@@ -0,0 +1,227 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.time.OffsetDateTime;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiConsumer;
+import java.util.stream.Collectors;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.stereotype.Component;
+
+/**
+ * Local copy of workflow runs keyed by run id, persisted as an append-only JSON lines file.
+ * A run is appended again whenever it changes, the latest line for an id wins on replay.
+ * In memory runs are held in {@link RunColumns}; reports aggregate straight over the columns.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "github.store", name = "enabled", havingValue = "true")
+public class WorkflowRunStore {
+
+    private final GitHubProperties gitHubProperties;
+    private final ObjectMapper objectMapper;
+
+    private final RunColumns runs = new RunColumns();
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+    private final Map<String, OffsetDateTime> coveredSince = new ConcurrentHashMap<>();
+    private final List<BiConsumer<WorkflowRun, Conclusion>> completionListeners = new CopyOnWriteArrayList<>();
+    private BufferedWriter writer;
+
+    @PostConstruct
+    public void load() throws IOException {
+        Path path = Path.of(gitHubProperties.getStore().getPath());
+        if (path.getParent() != null) {
+            Files.createDirectories(path.getParent());
+        }
+        long lines = 0;
+        lock.writeLock().lock();
+        try {
+            if (Files.exists(path)) {
+                try (BufferedReader reader = Files.newBufferedReader(path, StandardCharsets.UTF_8)) {
+                    String line;
+                    while ((line = reader.readLine()) != null) {
+                        if (line.isBlank()) continue;
+                        runs.put(objectMapper.readValue(line, WorkflowRun.class));
+                        lines++;
+                    }
+                }
+            }
+            // Superseded lines only come from in-progress runs being rewritten, compact once they dominate
+            if (lines > 2L * runs.size()) {
+                compact(path);
+            }
+            writer = Files.newBufferedWriter(path, StandardCharsets.UTF_8, StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        log.info("Loaded {} workflow runs from {}", runs.size(), path);
+    }
+
+    @PreDestroy
+    public void close() throws IOException {
+        lock.writeLock().lock();
+        try {
+            if (writer != null) {
+                writer.close();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public int upsertAll(Collection<WorkflowRun> incoming) {
+        int changed = 0;
+        lock.writeLock().lock();
+        try {
+            for (WorkflowRun run : incoming) {
+                if (run.getId() == null || runs.contains(run)) continue;
+                Byte previous = runs.put(run);
+                writer.write(objectMapper.writeValueAsString(run));
+                writer.newLine();
+                changed++;
+                if (run.getConclusion() != null && (previous == null || previous != Conclusion.encode(run.getConclusion()))) {
+                    Conclusion previousConclusion = previous == null ? null : Conclusion.decode(previous);
+                    completionListeners.forEach(listener -> listener.accept(run, previousConclusion));
+                }
+            }
+            writer.flush();
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to append workflow runs to store", e);
+        } finally {
+            lock.writeLock().unlock();
+        }
+        return changed;
+    }
+
+    /**
+     * Replays every completed run to {@code listener}, oldest first, then calls it for each run that completes later.
+     * A re-run that concludes differently (e.g. a failed run re-run to success) is passed on again together with the
+     * conclusion it replaces, which is {@code null} the first time a run completes.
+     */
+    public void addCompletionListener(BiConsumer<WorkflowRun, Conclusion> listener) {
+        lock.writeLock().lock();
+        try {
+            runs.forEachByCreation(run -> {
+                if (run.getConclusion() != null) listener.accept(run, null);
+            });
+            completionListeners.add(listener);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public List<WorkflowRun> findCreatedSince(Collection<RepositoryRef> repositories, OffsetDateTime since) {
+        lock.readLock().lock();
+        try {
+            return runs.findCreatedSince(names(repositories), since);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Report entries for runs created since {@code since}, aggregated over the columns without materializing runs.
+     */
+    public List<CiHealthReportEntry> aggregateCreatedSince(Collection<RepositoryRef> repositories, OffsetDateTime since) {
+        lock.readLock().lock();
+        try {
+            return runs.aggregate(names(repositories), since);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Runs created before the returned instant have all completed, so an incremental sync only has to ask GitHub for
+     * runs created from here on. They can still change: a re-run keeps its {@code created_at} and moves the run to a
+     * new conclusion, so the sync also goes back over a trailing window of {@code github.store.resync-days}.
+     */
+    public Optional<OffsetDateTime> getHighWaterMark(RepositoryRef repository) {
+        lock.readLock().lock();
+        try {
+            return Optional.ofNullable(runs.highWaterMark(repository.toString()));
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    public int size() {
+        lock.readLock().lock();
+        try {
+            return runs.size();
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Whether every run of the repositories created since {@code since} is in the store, as of their last sync.
+     */
+    public boolean covers(Collection<RepositoryRef> repositories, OffsetDateTime since) {
+        return repositories.stream().allMatch(repository -> {
+            OffsetDateTime from = coveredSince.get(repository.toString());
+            return from != null && !since.isBefore(from);
+        });
+    }
+
+    /**
+     * Records a completed sync of the runs created from {@code from} on. Syncs always continue from the high-water
+     * mark, so the runs already stored, including those loaded from disk, reach back without gaps to the oldest one.
+     */
+    public void markSynced(RepositoryRef repository, OffsetDateTime from) {
+        OffsetDateTime oldestStored;
+        lock.readLock().lock();
+        try {
+            oldestStored = runs.oldestCreated(repository.toString());
+        } finally {
+            lock.readLock().unlock();
+        }
+        OffsetDateTime covered = oldestStored != null && oldestStored.isBefore(from) ? oldestStored : from;
+        coveredSince.merge(repository.toString(), covered, (current, next) -> current.isBefore(next) ? current : next);
+    }
+
+    private static Set<String> names(Collection<RepositoryRef> repositories) {
+        return repositories.stream().map(RepositoryRef::toString).collect(Collectors.toSet());
+    }
+
+    private void compact(Path path) throws IOException {
+        Path tmp = path.resolveSibling(path.getFileName() + ".tmp");
+        try (BufferedWriter out = Files.newBufferedWriter(tmp, StandardCharsets.UTF_8)) {
+            for (int row = 0; row < runs.size(); row++) {
+                out.write(objectMapper.writeValueAsString(runs.get(row)));
+                out.newLine();
+            }
+        }
+        Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+    }
+}
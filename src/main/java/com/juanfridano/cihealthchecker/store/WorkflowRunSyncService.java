@@ -0,0 +1,58 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.service.WorkflowRunFetcher;
+
+import feign.FeignException;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+
+import java.time.OffsetDateTime;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+@Slf4j
+@Service
+@RequiredArgsConstructor
+@ConditionalOnProperty(prefix = "github.store", name = "enabled", havingValue = "true")
+public class WorkflowRunSyncService {
+
+    private final WorkflowRunFetcher workflowRunFetcher;
+    private final WorkflowRunStore workflowRunStore;
+    private final GitHubProperties gitHubProperties;
+
+    @Scheduled(initialDelay = 0, fixedDelayString = "${github.store.sync-interval:PT5M}")
+    public void sync() {
+        gitHubProperties.getRepositoryRefs().forEach(this::sync);
+    }
+
+    public void sync(RepositoryRef repository) {
+        OffsetDateTime now = OffsetDateTime.now();
+        // Re-runs keep their creation time, so recent days are fetched again to pick up their new conclusions
+        OffsetDateTime resyncFrom = now.minusDays(gitHubProperties.getStore().getResyncDays());
+        OffsetDateTime from = workflowRunStore.getHighWaterMark(repository)
+            .map(highWaterMark -> highWaterMark.isBefore(resyncFrom) ? highWaterMark : resyncFrom)
+            .orElseGet(() -> now.minusDays(gitHubProperties.getStore().getBackfillDays()));
+        String createdQuery = CreatedQuery.from(from);
+
+        try {
+            AtomicInteger fetched = new AtomicInteger();
+            AtomicInteger changed = new AtomicInteger();
+            workflowRunFetcher.fetchRuns(repository, createdQuery, runs -> {
+                fetched.addAndGet(runs.size());
+                changed.addAndGet(workflowRunStore.upsertAll(runs));
+            });
+            workflowRunStore.markSynced(repository, from);
+            log.info("Synced {} workflow runs created {}: {} fetched, {} new or updated, {} stored",
+                repository, createdQuery, fetched.get(), changed.get(), workflowRunStore.size());
+        } catch (FeignException | CiProviderException e) {
+            log.error("Workflow run sync for {} failed: {}", repository, e.getMessage());
+        }
+    }
+}
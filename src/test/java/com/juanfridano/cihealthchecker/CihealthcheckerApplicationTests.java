@@ -3,7 +3,7 @@ package com.juanfridano.cihealthchecker;
 import org.junit.jupiter.api.Test;
 import org.springframework.boot.test.context.SpringBootTest;
 
-@SpringBootTest
+@SpringBootTest(properties = "report.snapshots.enabled=false")
 class CihealthcheckerApplicationTests {
 
 	@Test
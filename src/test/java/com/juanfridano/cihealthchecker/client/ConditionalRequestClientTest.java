@@ -0,0 +1,84 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ConditionalRequestClientTest {
+
+    private static final String URL = "https://api.github.com/repos/o/r/actions/runs?created=%3E2025-06-01&per_page=100&page=1";
+    private static final String BODY = "{\"total_count\": 0, \"workflow_runs\": []}";
+
+    private final List<Request> sentRequests = new ArrayList<>();
+    private GitHubResponseCache cache;
+    private ConditionalRequestClient client;
+    private ConditionalResponseDecoder decoder;
+    private int decodeCalls;
+
+    @BeforeEach
+    void setUp() {
+        cache = new GitHubResponseCache(new GitHubProperties());
+        Client github = (request, options) -> {
+            sentRequests.add(request);
+            boolean revalidated = request.headers().getOrDefault("If-None-Match", List.of()).contains("\"abc\"");
+            return Response.builder()
+                .status(revalidated ? 304 : 200)
+                .request(request)
+                .headers(Map.of("ETag", List.of("\"abc\"")))
+                .body(revalidated ? new byte[0] : BODY.getBytes(StandardCharsets.UTF_8))
+                .build();
+        };
+        client = new ConditionalRequestClient(github, cache);
+        decoder = new ConditionalResponseDecoder((response, type) -> {
+            decodeCalls++;
+            return new WorkflowRunsJsonReader().readResponse(response.body().asInputStream());
+        }, cache);
+    }
+
+    @Test
+    void execute_ShouldRevalidateWithEtagAndReuseDecodedResponse() throws Exception {
+        Object first = decoder.decode(client.execute(request(), new Request.Options()), GitHubWorkflowResponse.class);
+        Object second = decoder.decode(client.execute(request(), new Request.Options()), GitHubWorkflowResponse.class);
+
+        assertThat(second).isSameAs(first);
+        assertThat(decodeCalls).isEqualTo(1);
+        assertThat(sentRequests.get(0).headers()).doesNotContainKey("If-None-Match");
+        assertThat(sentRequests.get(1).headers().get("If-None-Match")).containsExactly("\"abc\"");
+        assertThat(cache.getHits()).isEqualTo(1);
+        assertThat(cache.getMisses()).isEqualTo(1);
+    }
+
+    @Test
+    void cache_ShouldEvictLeastRecentlyUsedEntries() {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.getCache().setMaxEntries(2);
+        GitHubResponseCache smallCache = new GitHubResponseCache(gitHubProperties);
+
+        smallCache.put("a", new GitHubResponseCache.CachedResponse("1", "A"));
+        smallCache.put("b", new GitHubResponseCache.CachedResponse("2", "B"));
+        smallCache.get("a");
+        smallCache.put("c", new GitHubResponseCache.CachedResponse("3", "C"));
+
+        assertThat(smallCache.get("b")).isNull();
+        assertThat(smallCache.get("a")).isNotNull();
+        assertThat(smallCache.size()).isEqualTo(2);
+    }
+
+    private static Request request() {
+        Map<String, Collection<String>> headers = Map.of("Authorization", List.of("Bearer token"));
+        return Request.create(Request.HttpMethod.GET, URL, headers, null, StandardCharsets.UTF_8, null);
+    }
+}
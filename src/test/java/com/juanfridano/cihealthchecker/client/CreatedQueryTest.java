@@ -0,0 +1,35 @@
+package com.juanfridano.cihealthchecker.client;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CreatedQueryTest {
+
+    @Test
+    void shouldFormatBoundsInUtcToTheSecond() {
+        OffsetDateTime start = OffsetDateTime.parse("2025-06-01T12:34:56.789+02:00");
+
+        assertThat(CreatedQuery.from(start)).isEqualTo(">=2025-06-01T10:34:56Z");
+        assertThat(CreatedQuery.fromHour(start)).isEqualTo(">=2025-06-01T10:00:00Z");
+        assertThat(CreatedQuery.between(start, start.plusHours(6))).isEqualTo("2025-06-01T10:34:56Z..2025-06-01T16:34:56Z");
+    }
+
+    @Test
+    void split_ShouldCoverTheWindowWithAdjacentPartsOnHourBoundaries() {
+        OffsetDateTime start = OffsetDateTime.parse("2025-06-01T10:20:00Z");
+        CreatedQuery.Window window = CreatedQuery.Window.parse(CreatedQuery.from(start));
+
+        List<CreatedQuery.Window> parts = window.split(3, start.plusDays(3));
+
+        assertThat(parts).hasSize(3);
+        assertThat(parts.get(0).start()).isEqualTo(start);
+        assertThat(parts.get(1).start()).isEqualTo("2025-06-02T10:00:00Z");
+        assertThat(parts.get(0).end()).isEqualTo(parts.get(1).start().minusSeconds(1));
+        assertThat(parts.get(2).end()).isNull();
+        assertThat(CreatedQuery.Window.parse("2025-06-01T10:20:00Z..2025-06-01T10:20:00Z").split(4, start)).hasSize(1);
+    }
+}
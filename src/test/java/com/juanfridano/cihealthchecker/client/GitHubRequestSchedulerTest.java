@@ -0,0 +1,143 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+
+import feign.Client;
+import feign.Request;
+import feign.Response;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubRequestSchedulerTest {
+
+    private static final Instant NOW = Instant.parse("2025-06-01T12:00:00Z");
+
+    private final List<Duration> sleeps = new ArrayList<>();
+    private final Deque<Response.Builder> responses = new ArrayDeque<>();
+    private int calls;
+    private GitHubProperties gitHubProperties;
+    private GitHubRequestScheduler scheduler;
+    private Client client;
+
+    @BeforeEach
+    void setUp() {
+        gitHubProperties = new GitHubProperties();
+        gitHubProperties.getScheduler().setMaxConcurrency(8);
+        scheduler = new GitHubRequestScheduler(gitHubProperties, Clock.fixed(NOW, ZoneOffset.UTC)) {
+            @Override
+            void sleep(Duration duration) {
+                sleeps.add(duration);
+            }
+        };
+        client = scheduler.wrap((request, options) -> {
+            calls++;
+            return responses.poll().request(request).build();
+        });
+    }
+
+    @Test
+    void execute_WithSecondaryRateLimit_ShouldWaitRetryAfterAndRetry() throws Exception {
+        responses.add(response(403, Map.of("Retry-After", "3")));
+        responses.add(response(200, Map.of("X-RateLimit-Remaining", "4000")));
+
+        Response response = client.execute(request(), new Request.Options());
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(calls).isEqualTo(2);
+        assertThat(sleeps).contains(Duration.ofSeconds(3));
+        assertThat(scheduler.getRemaining()).isEqualTo(4000);
+    }
+
+    @Test
+    void execute_WhenThrottled_ShouldHalveConcurrencyAndRecoverOnSuccess() throws Exception {
+        responses.add(response(429, Map.of("Retry-After", "1")));
+        responses.add(response(429, Map.of("Retry-After", "1")));
+        responses.add(response(200, Map.of()));
+
+        client.execute(request(), new Request.Options());
+
+        assertThat(scheduler.getConcurrencyLimit()).isEqualTo(3); // 8 -> 4 -> 2, then +1 for the success
+    }
+
+    @Test
+    void execute_WithIoErrorsAndServerErrors_ShouldHalveConcurrencyInsteadOfGrowingIt() throws Exception {
+        List<Boolean> failures = new ArrayList<>(List.of(true));
+        Client flaky = scheduler.wrap((request, options) -> {
+            calls++;
+            if (!failures.isEmpty() && failures.remove(0)) throw new IOException("Connection reset");
+            return responses.poll().request(request).build();
+        });
+        responses.add(response(502, Map.of()));
+        responses.add(response(200, Map.of()));
+
+        Response response = flaky.execute(request(), new Request.Options());
+
+        assertThat(response.status()).isEqualTo(200);
+        assertThat(calls).isEqualTo(3);
+        assertThat(scheduler.getConcurrencyLimit()).isEqualTo(3); // 8 -> 4 -> 2, then +1 for the success
+    }
+
+    @Test
+    void execute_WithServerErrors_ShouldGiveUpAfterMaxAttempts() throws Exception {
+        gitHubProperties.getScheduler().setMaxAttempts(3);
+        for (int i = 0; i < 3; i++) {
+            responses.add(response(502, Map.of()));
+        }
+
+        Response response = client.execute(request(), new Request.Options());
+
+        assertThat(response.status()).isEqualTo(502);
+        assertThat(calls).isEqualTo(3);
+        assertThat(sleeps).hasSize(2);
+    }
+
+    @Test
+    void execute_WithExhaustedBudget_ShouldPauseUntilReset() throws Exception {
+        String reset = String.valueOf(NOW.plusSeconds(30).getEpochSecond());
+        responses.add(response(200, Map.of("X-RateLimit-Remaining", "2", "X-RateLimit-Reset", reset)));
+        responses.add(response(200, Map.of("X-RateLimit-Remaining", "5000")));
+
+        client.execute(request(), new Request.Options());
+        assertThat(sleeps).isEmpty();
+
+        client.execute(request(), new Request.Options());
+        assertThat(sleeps).containsExactly(Duration.ofSeconds(30));
+    }
+
+    @Test
+    void execute_WithBadCredentials_ShouldNotRetry() throws Exception {
+        responses.add(response(403, Map.of("X-RateLimit-Remaining", "4999")));
+
+        Response response = client.execute(request(), new Request.Options());
+
+        assertThat(response.status()).isEqualTo(403);
+        assertThat(calls).isEqualTo(1);
+    }
+
+    private static Response.Builder response(int status, Map<String, String> headers) {
+        Map<String, Collection<String>> headerValues = new HashMap<>();
+        headers.forEach((name, value) -> headerValues.put(name, List.of(value)));
+        return Response.builder().status(status).headers(headerValues).body(new byte[0]);
+    }
+
+    private static Request request() {
+        return Request.create(Request.HttpMethod.GET, "https://api.github.com/repos/o/r/actions/runs", Map.of(),
+            null, StandardCharsets.UTF_8, null);
+    }
+}
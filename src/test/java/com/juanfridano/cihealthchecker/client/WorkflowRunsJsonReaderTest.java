@@ -0,0 +1,105 @@
+package com.juanfridano.cihealthchecker.client;
+
+import com.fasterxml.jackson.databind.DeserializationFeature;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkflowRunsJsonReaderTest {
+
+    private static final String PAYLOAD = """
+        {
+          "total_count": 2,
+          "workflow_runs": [
+            {
+              "id": 101,
+              "name": "Build",
+              "head_branch": "main",
+              "status": "completed",
+              "conclusion": "success",
+              "head_sha": "3f786850e387550fdab836ed7e6dc881de23001b",
+              "run_attempt": 2,
+              "pull_requests": [{"id": 1, "head": {"ref": "feature", "repo": {"id": 7, "name": "x"}}}],
+              "created_at": "2025-06-01T10:00:00Z",
+              "updated_at": "2025-06-01T10:12:30Z",
+              "actor": {"login": "octocat", "id": 1, "site_admin": false},
+              "run_started_at": "2025-06-01T10:00:30Z",
+              "head_commit": {"id": "abc", "message": "name: not a run", "author": {"name": "conclusion"}},
+              "repository": {"id": 7, "name": "camunda", "owner": {"login": "camunda"}}
+            },
+            {
+              "id": 102,
+              "name": "Test",
+              "conclusion": null,
+              "created_at": "2025-06-01T11:00:00Z",
+              "run_started_at": null,
+              "updated_at": "2025-06-01T11:05:00Z"
+            }
+          ]
+        }
+        """;
+
+    private final WorkflowRunsJsonReader reader = new WorkflowRunsJsonReader();
+
+    @Test
+    void readResponse_ShouldKeepOnlyReportFieldsAndSkipNestedObjects() throws Exception {
+        GitHubWorkflowResponse response = reader.readResponse(stream(PAYLOAD));
+
+        List<WorkflowRun> runs = response.getWorkflowRuns();
+        assertThat(response.getTotalCount()).isEqualTo(2L);
+        assertThat(runs).hasSize(2);
+        WorkflowRun first = runs.get(0);
+        assertThat(first.getId()).isEqualTo(101L);
+        assertThat(first.getName()).isEqualTo("Build");
+        assertThat(first.getConclusion()).isEqualTo("success");
+        assertThat(first.getHead_sha()).isEqualTo("3f786850e387550fdab836ed7e6dc881de23001b");
+        assertThat(first.getRun_attempt()).isEqualTo(2);
+        assertThat(first.getCreated_at()).isEqualTo(OffsetDateTime.parse("2025-06-01T10:00:00Z"));
+        assertThat(first.getRun_started_at()).isEqualTo(OffsetDateTime.parse("2025-06-01T10:00:30Z"));
+        assertThat(first.getUpdated_at()).isEqualTo(OffsetDateTime.parse("2025-06-01T10:12:30Z"));
+        assertThat(runs.get(1).getConclusion()).isNull();
+        assertThat(runs.get(1).getRun_started_at()).isNull();
+    }
+
+    @Test
+    void readResponse_ShouldMatchDatabindResult() throws Exception {
+        ObjectMapper objectMapper = JsonMapper.builder()
+            .findAndAddModules()
+            .disable(DeserializationFeature.FAIL_ON_UNKNOWN_PROPERTIES)
+            .disable(DeserializationFeature.ADJUST_DATES_TO_CONTEXT_TIME_ZONE)
+            .build();
+
+        GitHubWorkflowResponse expected = objectMapper.readValue(PAYLOAD, GitHubWorkflowResponse.class);
+
+        assertThat(reader.readResponse(stream(PAYLOAD))).isEqualTo(expected);
+    }
+
+    @Test
+    void readResponse_WithoutRuns_ShouldReturnEmptyPage() throws Exception {
+        GitHubWorkflowResponse response = reader.readResponse(stream("{\"total_count\": 0, \"workflow_runs\": []}"));
+
+        assertThat(response.getTotalCount()).isZero();
+        assertThat(response.getWorkflowRuns()).isEmpty();
+    }
+
+    @Test
+    void readResponse_WithNonObjectPayload_ShouldFail() {
+        assertThatThrownBy(() -> reader.readResponse(stream("[]")))
+            .hasMessageContaining("Expected workflow runs object");
+    }
+
+    private static ByteArrayInputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+}
@@ -0,0 +1,30 @@
+package com.juanfridano.cihealthchecker.config;
+
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.aot.hint.RuntimeHints;
+import org.springframework.aot.hint.predicate.RuntimeHintsPredicates;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class GitHubRuntimeHintsTest {
+
+    @Test
+    void registerHints_ShouldAllowBindingGitHubPayloadsAndProxyingTheClient() throws Exception {
+        RuntimeHints hints = new RuntimeHints();
+
+        new GitHubRuntimeHints().registerHints(hints, getClass().getClassLoader());
+
+        assertThat(RuntimeHintsPredicates.reflection().onConstructor(WorkflowRun.class.getDeclaredConstructor()))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(WorkflowRun.class, "setHead_sha")).accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onMethod(GitHubWorkflowResponse.class, "setWorkflowRuns"))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.reflection().onField(WorkflowRun.class.getDeclaredField("created_at")))
+            .accepts(hints);
+        assertThat(RuntimeHintsPredicates.proxies().forInterfaces(GitHubClient.class)).accepts(hints);
+    }
+}
@@ -0,0 +1,140 @@
+package com.juanfridano.cihealthchecker.export;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.ExportFile;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.provider.CiRunSource;
+import com.juanfridano.cihealthchecker.provider.RunPage;
+import com.juanfridano.cihealthchecker.provider.RunQuery;
+import com.juanfridano.cihealthchecker.service.WorkflowRunFetcher;
+import com.juanfridano.cihealthchecker.store.RunColumns;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.zip.GZIPInputStream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ExportServiceTest {
+
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path directory;
+
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+    private volatile String laterRunConclusion = "failure";
+    private ExportService exportService;
+
+    @BeforeEach
+    void setUp() {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.setOwner("camunda");
+        gitHubProperties.setRepo("camunda");
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.getExports().setPath(directory.toString());
+        CiRunSource source = new CiRunSource() {
+            @Override
+            public String provider() {
+                return RepositoryRef.GITHUB;
+            }
+
+            @Override
+            public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+                queries.add(CreatedQuery.between(query.from(), query.to()));
+                OffsetDateTime start = DAY.atStartOfDay().atOffset(ZoneOffset.UTC);
+                return new RunPage(List.of(run(2L, "Build, test", laterRunConclusion, start.plusHours(3)),
+                    run(1L, "Build, test", "success", start.plusHours(1))), 2L);
+            }
+        };
+        WorkflowRunFetcher fetcher = new WorkflowRunFetcher(List.of(source), gitHubProperties, new SimpleMeterRegistry());
+        exportService = new ExportService(fetcher, Optional.empty(), gitHubProperties, reportProperties);
+    }
+
+    @Test
+    void export_ShouldWriteReportAndRunFilesForTheDayOnce() throws IOException {
+        List<Path> written = exportService.export(DAY);
+
+        assertThat(queries).containsExactly(CreatedQuery.between(DAY.atStartOfDay().atOffset(ZoneOffset.UTC),
+            DAY.plusDays(1).atStartOfDay().atOffset(ZoneOffset.UTC).minusSeconds(1)));
+        assertThat(written).extracting(path -> path.getFileName().toString())
+            .containsExactly("report-2025-06-01.csv.gz", "runs-2025-06-01.csv.gz", "runs-2025-06-01.cols.gz");
+        assertThat(gunzipLines(directory.resolve("report-2025-06-01.csv.gz"))).hasSize(2)
+            .element(1).asString().startsWith("2025-06-01,camunda/camunda,\"Build, test\",2,1,0,0,50.0,");
+        assertThat(gunzipLines(directory.resolve("runs-2025-06-01.csv.gz"))).hasSize(3)
+            .element(1).asString().startsWith("1,camunda/camunda,\"Build, test\",success,,2025-06-01T01:00Z,");
+        try (InputStream in = new GZIPInputStream(Files.newInputStream(directory.resolve("runs-2025-06-01.cols.gz")))) {
+            RunColumns columns = RunColumns.readFrom(in);
+            assertThat(columns.size()).isEqualTo(2);
+            assertThat(columns.get(0).getId()).isEqualTo(1L);
+        }
+
+        assertThat(exportService.export(DAY)).isEmpty();
+        assertThat(queries).hasSize(1);
+        assertThat(exportService.list()).extracting(ExportFile::getName).hasSize(3);
+    }
+
+    @Test
+    void export_WithRunStillInProgress_ShouldExportTheDayAgainUntilEveryRunConcluded() throws IOException {
+        laterRunConclusion = null;
+        assertThat(exportService.export(DAY)).hasSize(3);
+        assertThat(gunzipLines(directory.resolve("runs-2025-06-01.csv.gz")).get(2)).startsWith("2,camunda/camunda,\"Build, test\",,");
+
+        laterRunConclusion = "failure";
+        assertThat(exportService.export(DAY)).hasSize(3);
+        assertThat(gunzipLines(directory.resolve("runs-2025-06-01.csv.gz")).get(2))
+            .startsWith("2,camunda/camunda,\"Build, test\",failure,");
+
+        assertThat(exportService.export(DAY)).isEmpty();
+        assertThat(queries).hasSize(2);
+    }
+
+    @Test
+    void resolve_ShouldOnlyAcceptExportFileNames() throws IOException {
+        exportService.export(DAY);
+
+        assertThat(exportService.resolve("runs-2025-06-01.cols.gz")).contains(directory.resolve("runs-2025-06-01.cols.gz"));
+        assertThat(exportService.resolve("runs-2025-06-02.cols.gz")).isEmpty();
+        assertThatThrownBy(() -> exportService.resolve("../runs-2025-06-01.cols.gz"))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static WorkflowRun run(long id, String name, String conclusion, OffsetDateTime createdAt) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId(id);
+        run.setName(name);
+        run.setConclusion(conclusion);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt);
+        run.setUpdated_at(createdAt.plusMinutes(10));
+        return run;
+    }
+
+    private static List<String> gunzipLines(Path file) throws IOException {
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+            new GZIPInputStream(Files.newInputStream(file)), StandardCharsets.UTF_8))) {
+            return reader.lines().toList();
+        }
+    }
+}
@@ -0,0 +1,61 @@
+package com.juanfridano.cihealthchecker.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class DurationSketchTest {
+
+    @Test
+    void quantile_ShouldStayWithinRelativeErrorOfExactValue() {
+        DurationSketch sketch = new DurationSketch();
+        for (long seconds = 1; seconds <= 10_000; seconds++) {
+            sketch.add(seconds);
+        }
+
+        assertThat((double) sketch.quantile(0.50)).isCloseTo(5_000, within(250.0));
+        assertThat((double) sketch.quantile(0.90)).isCloseTo(9_000, within(450.0));
+        assertThat((double) sketch.quantile(0.99)).isCloseTo(9_900, within(495.0));
+    }
+
+    @Test
+    void merge_ShouldEqualSketchOfAllValues() {
+        Random random = new Random(7);
+        DurationSketch all = new DurationSketch();
+        DurationSketch left = new DurationSketch();
+        DurationSketch right = new DurationSketch();
+        for (int i = 0; i < 5_000; i++) {
+            long seconds = random.nextInt(7_200);
+            all.add(seconds);
+            (i % 2 == 0 ? left : right).add(seconds);
+        }
+
+        left.merge(right);
+
+        assertThat(left.getTotal()).isEqualTo(all.getTotal());
+        for (double quantile : new double[]{0.1, 0.5, 0.9, 0.99}) {
+            assertThat(left.quantile(quantile)).isEqualTo(all.quantile(quantile));
+        }
+    }
+
+    @Test
+    void quantile_OfMonthLongRun_ShouldNotBeClampedToTheLastBin() {
+        DurationSketch sketch = new DurationSketch();
+        long thirtyDays = 30L * 24 * 3600;
+        sketch.add(thirtyDays);
+
+        assertThat((double) sketch.quantile(0.5)).isCloseTo(thirtyDays, within(thirtyDays * 0.05));
+    }
+
+    @Test
+    void quantile_WithZeroDurations_ShouldReturnZero() {
+        DurationSketch sketch = new DurationSketch();
+        assertThat(sketch.quantile(0.5)).isZero();
+
+        sketch.add(0);
+        assertThat(sketch.quantile(0.99)).isZero();
+    }
+}
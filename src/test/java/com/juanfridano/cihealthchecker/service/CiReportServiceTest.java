@@ -1,12 +1,18 @@
 package com.juanfridano.cihealthchecker.service;
 
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
 import com.juanfridano.cihealthchecker.client.GitHubClient;
 import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
 import com.juanfridano.cihealthchecker.exception.GitHubClientException;
 import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
 import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
 import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.provider.GitHubActionsRunSource;
 import feign.FeignException;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -14,15 +20,28 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.assertj.core.api.Assertions.within;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
 import static org.mockito.ArgumentMatchers.*;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -31,32 +50,38 @@ class CiReportServiceTest {
     @Mock
     private GitHubClient gitHubClient;
 
-    @Mock
     private GitHubProperties gitHubProperties;
 
+    private SimpleMeterRegistry meterRegistry;
+
     private CiReportService ciReportService;
 
     @BeforeEach
     void setUp() {
-        ciReportService = new CiReportService(gitHubClient, gitHubProperties);
-        
         // Setup common properties
-        when(gitHubProperties.getToken()).thenReturn("test-token");
-        when(gitHubProperties.getOwner()).thenReturn("test-owner");
-        when(gitHubProperties.getRepo()).thenReturn("test-repo");
+        gitHubProperties = new GitHubProperties();
+        gitHubProperties.setToken("test-token");
+        gitHubProperties.setOwner("test-owner");
+        gitHubProperties.setRepo("test-repo");
+        meterRegistry = new SimpleMeterRegistry();
+
+        WorkflowRunFetcher fetcher = new WorkflowRunFetcher(List.of(new GitHubActionsRunSource(gitHubClient, gitHubProperties)),
+            gitHubProperties, meterRegistry);
+        ciReportService = new CiReportService(fetcher, Optional.empty(), Optional.empty(), Optional.empty(), gitHubProperties, meterRegistry);
     }
 
     @Test
     void generateReport_WithSuccessfulWorkflowRuns_ShouldReturnCorrectReport() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         WorkflowRun successfulRun1 = createWorkflowRun("Test Workflow", "success", 10.0);
         WorkflowRun successfulRun2 = createWorkflowRun("Test Workflow", "success", 15.0);
         WorkflowRun failedRun = createWorkflowRun("Test Workflow", "failure", 20.0);
         
         GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(3L);
         response.setWorkflowRuns(Arrays.asList(successfulRun1, successfulRun2, failedRun));
         
         when(gitHubClient.getWorkflowRuns(
@@ -64,20 +89,12 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(response);
-        
-        GitHubWorkflowResponse lastResponse = new GitHubWorkflowResponse();
-        lastResponse.setWorkflowRuns(Collections.emptyList());
-        when(gitHubClient.getWorkflowRuns(
-            eq("Bearer test-token"),
-            eq("test-owner"),
-            eq("test-repo"),
-            eq(expectedCreatedQuery),
-            eq(100),
-            eq(2)
-        )).thenReturn(lastResponse);
 
         // When
         List<CiHealthReportEntry> result = ciReportService.generateReport(since);
@@ -85,18 +102,75 @@ class CiReportServiceTest {
         // Then
         assertThat(result).hasSize(1);
         CiHealthReportEntry entry = result.get(0);
+        assertThat(entry.getRepository()).isEqualTo("test-owner/test-repo");
         assertThat(entry.getWorkflowName()).isEqualTo("Test Workflow");
         assertThat(entry.getTotalRuns()).isEqualTo(3);
         assertThat(entry.getFailures()).isEqualTo(1);
         assertThat(entry.getFailureRate()).isCloseTo(33.33333333333333, within(1e-10));
         assertThat(entry.getAvgDurationMinutes()).isEqualTo(15.0);
+        assertThat((double) entry.getP50DurationSeconds()).isCloseTo(900.0, within(45.0));
+        assertThat((double) entry.getP99DurationSeconds()).isCloseTo(1200.0, within(60.0));
+    }
+
+    @Test
+    void generateReports_ShouldFetchTheWidestWindowOnceAndSplitItsRuns() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now();
+        WorkflowRun recentRun = createWorkflowRun("Test Workflow", "success", 10.0);
+        recentRun.setCreated_at(now.minusHours(2));
+        WorkflowRun olderRun = createWorkflowRun("Test Workflow", "failure", 20.0);
+        olderRun.setCreated_at(now.minusDays(3));
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(2L);
+        response.setWorkflowRuns(Arrays.asList(recentRun, olderRun));
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenReturn(response);
+
+        // When
+        Map<Integer, List<CiHealthReportEntry>> reports = ciReportService.generateReports(now, List.of(1, 7));
+
+        // Then
+        verify(gitHubClient).getWorkflowRuns(anyString(), anyString(), anyString(), eq(CreatedQuery.fromHour(now.minusDays(7))),
+            isNull(), isNull(), isNull(), anyInt(), eq(1));
+        assertThat(reports).containsOnlyKeys(1, 7);
+        assertThat(reports.get(1)).singleElement().satisfies(entry -> {
+            assertThat(entry.getTotalRuns()).isEqualTo(1);
+            assertThat(entry.getFailures()).isZero();
+        });
+        assertThat(reports.get(7)).singleElement().satisfies(entry -> {
+            assertThat(entry.getTotalRuns()).isEqualTo(2);
+            assertThat(entry.getFailures()).isEqualTo(1);
+        });
+    }
+
+    @Test
+    void generateReport_ShouldRecordFetchAndAggregationMetrics() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(2L);
+        response.setWorkflowRuns(Arrays.asList(
+            createWorkflowRun("Test Workflow", "success", 10.0),
+            createWorkflowRun("Test Workflow", "failure", 20.0)));
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenReturn(response);
+
+        // When
+        ciReportService.generateReport(since);
+
+        // Then
+        assertThat(meterRegistry.get("github.runs.fetch")
+            .tags("repository", "test-owner/test-repo", "status", "200").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("report.generate").tag("source", "github").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("report.aggregation").tag("source", "github").timer().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("report.runs.processed").counter().count()).isEqualTo(2.0);
     }
 
     @Test
     void generateReport_WithMultipleWorkflows_ShouldGroupByWorkflowName() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         WorkflowRun workflow1Run1 = createWorkflowRun("Workflow 1", "success", 10.0);
         WorkflowRun workflow1Run2 = createWorkflowRun("Workflow 1", "failure", 15.0);
@@ -104,6 +178,7 @@ class CiReportServiceTest {
         WorkflowRun workflow2Run2 = createWorkflowRun("Workflow 2", "success", 25.0);
         
         GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(4L);
         response.setWorkflowRuns(Arrays.asList(workflow1Run1, workflow1Run2, workflow2Run1, workflow2Run2));
         
         when(gitHubClient.getWorkflowRuns(
@@ -111,20 +186,12 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(response);
-        
-        GitHubWorkflowResponse lastResponse = new GitHubWorkflowResponse();
-        lastResponse.setWorkflowRuns(Collections.emptyList());
-        when(gitHubClient.getWorkflowRuns(
-            eq("Bearer test-token"),
-            eq("test-owner"),
-            eq("test-repo"),
-            eq(expectedCreatedQuery),
-            eq(100),
-            eq(2)
-        )).thenReturn(lastResponse);
 
         // When
         List<CiHealthReportEntry> result = ciReportService.generateReport(since);
@@ -154,8 +221,9 @@ class CiReportServiceTest {
     @Test
     void generateReport_WithPagination_ShouldHandleMultiplePages() {
         // Given
+        gitHubProperties.setPerPage(2);
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         WorkflowRun page1Run1 = createWorkflowRun("Test Workflow", "success", 10.0);
         WorkflowRun page1Run2 = createWorkflowRun("Test Workflow", "success", 15.0);
@@ -163,21 +231,29 @@ class CiReportServiceTest {
         WorkflowRun page2Run1 = createWorkflowRun("Test Workflow", "failure", 20.0);
         WorkflowRun page2Run2 = createWorkflowRun("Test Workflow", "success", 25.0);
         
+        WorkflowRun page3Run1 = createWorkflowRun("Test Workflow", "success", 30.0);
+        
         GitHubWorkflowResponse page1Response = new GitHubWorkflowResponse();
+        page1Response.setTotalCount(5L);
         page1Response.setWorkflowRuns(Arrays.asList(page1Run1, page1Run2));
         
         GitHubWorkflowResponse page2Response = new GitHubWorkflowResponse();
+        page2Response.setTotalCount(5L);
         page2Response.setWorkflowRuns(Arrays.asList(page2Run1, page2Run2));
         
-        GitHubWorkflowResponse emptyResponse = new GitHubWorkflowResponse();
-        emptyResponse.setWorkflowRuns(Collections.emptyList());
+        GitHubWorkflowResponse page3Response = new GitHubWorkflowResponse();
+        page3Response.setTotalCount(5L);
+        page3Response.setWorkflowRuns(Collections.singletonList(page3Run1));
         
         when(gitHubClient.getWorkflowRuns(
             eq("Bearer test-token"),
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
-            eq(100),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(2),
             eq(1)
         )).thenReturn(page1Response);
         
@@ -186,7 +262,10 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
-            eq(100),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(2),
             eq(2)
         )).thenReturn(page2Response);
         
@@ -195,9 +274,12 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
-            eq(100),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(2),
             eq(3)
-        )).thenReturn(emptyResponse);
+        )).thenReturn(page3Response);
         
         // When
         List<CiHealthReportEntry> result = ciReportService.generateReport(since);
@@ -206,17 +288,67 @@ class CiReportServiceTest {
         assertThat(result).hasSize(1);
         CiHealthReportEntry entry = result.get(0);
         assertThat(entry.getWorkflowName()).isEqualTo("Test Workflow");
-        assertThat(entry.getTotalRuns()).isEqualTo(4);
+        assertThat(entry.getTotalRuns()).isEqualTo(5);
         assertThat(entry.getFailures()).isEqualTo(1);
-        assertThat(entry.getFailureRate()).isEqualTo(25.0);
-        assertThat(entry.getAvgDurationMinutes()).isEqualTo(17.5);
+        assertThat(entry.getFailureRate()).isEqualTo(20.0);
+        assertThat(entry.getAvgDurationMinutes()).isEqualTo(20.0);
+        verify(gitHubClient, never()).getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(4));
+    }
+
+    @Test
+    void generateReport_WithoutTotalCount_ShouldWalkPagesUntilShortPage() {
+        // Given
+        gitHubProperties.setPerPage(2);
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
+        
+        GitHubWorkflowResponse page1Response = new GitHubWorkflowResponse();
+        page1Response.setWorkflowRuns(Arrays.asList(
+            createWorkflowRun("Test Workflow", "success", 10.0),
+            createWorkflowRun("Test Workflow", "success", 20.0)));
+        
+        GitHubWorkflowResponse page2Response = new GitHubWorkflowResponse();
+        page2Response.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Test Workflow", "failure", 30.0)));
+        
+        when(gitHubClient.getWorkflowRuns(
+            eq("Bearer test-token"),
+            eq("test-owner"),
+            eq("test-repo"),
+            eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(2),
+            eq(1)
+        )).thenReturn(page1Response);
+        
+        when(gitHubClient.getWorkflowRuns(
+            eq("Bearer test-token"),
+            eq("test-owner"),
+            eq("test-repo"),
+            eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(2),
+            eq(2)
+        )).thenReturn(page2Response);
+        
+        // When
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since);
+        
+        // Then
+        assertThat(result).hasSize(1);
+        assertThat(result.get(0).getTotalRuns()).isEqualTo(3);
+        assertThat(result.get(0).getFailures()).isEqualTo(1);
+        verify(gitHubClient, never()).getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(3));
     }
 
     @Test
     void generateReport_WithEmptyResponse_ShouldReturnEmptyList() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         GitHubWorkflowResponse emptyResponse = new GitHubWorkflowResponse();
         emptyResponse.setWorkflowRuns(Collections.emptyList());
@@ -226,6 +358,9 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(emptyResponse);
@@ -241,7 +376,7 @@ class CiReportServiceTest {
     void generateReport_WithNullWorkflowRuns_ShouldReturnEmptyList() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         GitHubWorkflowResponse nullResponse = new GitHubWorkflowResponse();
         nullResponse.setWorkflowRuns(null);
@@ -251,6 +386,9 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(nullResponse);
@@ -266,7 +404,7 @@ class CiReportServiceTest {
     void generateReport_WithGitHubApiError_ShouldThrowGitHubClientException() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
 
         FeignException feignException = FeignException.errorStatus(
             "getWorkflowRuns",
@@ -282,6 +420,9 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenThrow(feignException);
@@ -293,10 +434,10 @@ class CiReportServiceTest {
     }
 
     @Test
-    void generateReport_WithDifferentConclusionValues_ShouldCountFailuresCorrectly() {
+    void generateReport_WithDifferentConclusionValues_ShouldOnlyCountFailuresAgainstPasses() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         WorkflowRun successRun = createWorkflowRun("Test Workflow", "success", 10.0);
         WorkflowRun failureRun = createWorkflowRun("Test Workflow", "failure", 15.0);
@@ -305,6 +446,7 @@ class CiReportServiceTest {
         WorkflowRun nullConclusionRun = createWorkflowRun("Test Workflow", null, 30.0);
         
         GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(5L);
         response.setWorkflowRuns(Arrays.asList(successRun, failureRun, cancelledRun, timedOutRun, nullConclusionRun));
         
         when(gitHubClient.getWorkflowRuns(
@@ -312,21 +454,13 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(response);
 
-        GitHubWorkflowResponse lastResponse = new GitHubWorkflowResponse();
-        lastResponse.setWorkflowRuns(Collections.emptyList());
-        when(gitHubClient.getWorkflowRuns(
-            eq("Bearer test-token"),
-            eq("test-owner"),
-            eq("test-repo"),
-            eq(expectedCreatedQuery),
-            eq(100),
-            eq(2)
-        )).thenReturn(lastResponse);
-
         // When
         List<CiHealthReportEntry> result = ciReportService.generateReport(since);
         
@@ -334,20 +468,22 @@ class CiReportServiceTest {
         assertThat(result).hasSize(1);
         CiHealthReportEntry entry = result.get(0);
         assertThat(entry.getTotalRuns()).isEqualTo(5);
-        assertThat(entry.getFailures()).isEqualTo(4); // failure, cancelled, timed_out, null
-        assertThat(entry.getFailureRate()).isEqualTo(80.0);
+        assertThat(entry.getFailures()).isEqualTo(2); // failure, timed_out
+        assertThat(entry.getCancelled()).isEqualTo(1);
+        assertThat(entry.getFailureRate()).isCloseTo(66.66666666666667, within(1e-10)); // of success, failure, timed_out
     }
 
     @Test
     void generateReport_WithZeroDurationRuns_ShouldHandleAverageCalculation() {
         // Given
         OffsetDateTime since = OffsetDateTime.now().minusDays(7);
-        String expectedCreatedQuery = ">" + since.toLocalDate().toString();
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
         
         WorkflowRun zeroDurationRun = createWorkflowRun("Test Workflow", "success", 0.0);
         WorkflowRun normalDurationRun = createWorkflowRun("Test Workflow", "success", 10.0);
         
         GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(2L);
         response.setWorkflowRuns(Arrays.asList(zeroDurationRun, normalDurationRun));
         
         when(gitHubClient.getWorkflowRuns(
@@ -355,28 +491,249 @@ class CiReportServiceTest {
             eq("test-owner"),
             eq("test-repo"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
             eq(1)
         )).thenReturn(response);
+        
+        // When
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since);
+        
+        // Then
+        assertThat(result).hasSize(1);
+        CiHealthReportEntry entry = result.get(0);
+        assertThat(entry.getAvgDurationMinutes()).isEqualTo(5.0);
+    }
 
-        GitHubWorkflowResponse lastResponse = new GitHubWorkflowResponse();
-        lastResponse.setWorkflowRuns(Collections.emptyList());
+    @Test
+    void generateReport_WithMultipleRepositories_ShouldFetchEachAndKeepWorkflowsApart() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        String expectedCreatedQuery = CreatedQuery.fromHour(since);
+        
+        GitHubWorkflowResponse repoAResponse = new GitHubWorkflowResponse();
+        repoAResponse.setTotalCount(2L);
+        repoAResponse.setWorkflowRuns(Arrays.asList(
+            createWorkflowRun("Build", "success", 10.0),
+            createWorkflowRun("Build", "failure", 20.0)));
+        
+        GitHubWorkflowResponse repoBResponse = new GitHubWorkflowResponse();
+        repoBResponse.setTotalCount(1L);
+        repoBResponse.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Build", "success", 30.0)));
+        
         when(gitHubClient.getWorkflowRuns(
             eq("Bearer test-token"),
-            eq("test-owner"),
-            eq("test-repo"),
+            eq("org"),
+            eq("repo-a"),
             eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
             eq(100),
-            eq(2)
-        )).thenReturn(lastResponse);
+            eq(1)
+        )).thenReturn(repoAResponse);
+        
+        when(gitHubClient.getWorkflowRuns(
+            eq("Bearer test-token"),
+            eq("org"),
+            eq("repo-b"),
+            eq(expectedCreatedQuery),
+            isNull(),
+            isNull(),
+            isNull(),
+            eq(100),
+            eq(1)
+        )).thenReturn(repoBResponse);
         
         // When
-        List<CiHealthReportEntry> result = ciReportService.generateReport(since);
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since,
+            List.of(RepositoryRef.parse("org/repo-a"), RepositoryRef.parse("org/repo-b")));
         
         // Then
-        assertThat(result).hasSize(1);
-        CiHealthReportEntry entry = result.get(0);
-        assertThat(entry.getAvgDurationMinutes()).isEqualTo(5.0);
+        assertThat(result).hasSize(2);
+        CiHealthReportEntry repoAEntry = result.stream()
+            .filter(entry -> "org/repo-a".equals(entry.getRepository()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(repoAEntry.getTotalRuns()).isEqualTo(2);
+        assertThat(repoAEntry.getFailures()).isEqualTo(1);
+        CiHealthReportEntry repoBEntry = result.stream()
+            .filter(entry -> "org/repo-b".equals(entry.getRepository()))
+            .findFirst()
+            .orElseThrow();
+        assertThat(repoBEntry.getTotalRuns()).isEqualTo(1);
+        assertThat(repoBEntry.getAvgDurationMinutes()).isEqualTo(30.0);
+    }
+
+    @Test
+    void streamReport_ShouldHandEachRepositoryToTheConsumerSeparately() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        GitHubWorkflowResponse repoAResponse = new GitHubWorkflowResponse();
+        repoAResponse.setTotalCount(2L);
+        repoAResponse.setWorkflowRuns(Arrays.asList(
+            createWorkflowRun("Build", "success", 10.0),
+            createWorkflowRun("Lint", "success", 1.0)));
+        GitHubWorkflowResponse repoBResponse = new GitHubWorkflowResponse();
+        repoBResponse.setTotalCount(1L);
+        repoBResponse.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Build", "failure", 30.0)));
+        when(gitHubClient.getWorkflowRuns(anyString(), eq("org"), eq("repo-a"), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenReturn(repoAResponse);
+        when(gitHubClient.getWorkflowRuns(anyString(), eq("org"), eq("repo-b"), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenReturn(repoBResponse);
+        List<List<CiHealthReportEntry>> batches = new CopyOnWriteArrayList<>();
+
+        // When
+        ciReportService.streamReport(since,
+            List.of(RepositoryRef.parse("org/repo-a"), RepositoryRef.parse("org/repo-b")), RunFilter.NONE, batches::add);
+
+        // Then
+        assertThat(batches).hasSize(2);
+        assertThat(batches).allSatisfy(batch ->
+            assertThat(batch).extracting(CiHealthReportEntry::getRepository).containsOnly(batch.get(0).getRepository()));
+        assertThat(batches.stream().mapToInt(List::size).sum()).isEqualTo(3);
+    }
+
+    @Test
+    void streamReport_WhenConsumerGivesUp_ShouldCancelRemainingRepositories() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        GitHubWorkflowResponse fastResponse = new GitHubWorkflowResponse();
+        fastResponse.setTotalCount(1L);
+        fastResponse.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Build", "success", 10.0)));
+        when(gitHubClient.getWorkflowRuns(anyString(), eq("org"), eq("fast"), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenReturn(fastResponse);
+        AtomicBoolean slowInterrupted = new AtomicBoolean();
+        when(gitHubClient.getWorkflowRuns(anyString(), eq("org"), eq("slow"), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenAnswer(invocation -> {
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    slowInterrupted.set(true);
+                    Thread.currentThread().interrupt();
+                }
+                return new GitHubWorkflowResponse();
+            });
+        List<RepositoryRef> repositories = List.of(RepositoryRef.parse("org/slow"), RepositoryRef.parse("org/fast"));
+
+        // When & Then: the client disconnected before the first repository could be written
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+            assertThatThrownBy(() -> ciReportService.streamReport(since, repositories, RunFilter.NONE, entries -> {
+                throw new UncheckedIOException(new IOException("Broken pipe"));
+            })).isInstanceOf(UncheckedIOException.class));
+        assertThat(slowInterrupted).isTrue();
+    }
+
+    @Test
+    void generateReport_WithFilter_ShouldPassFiltersToGitHub() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(1L);
+        response.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Build", "failure", 5.0)));
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), eq(CreatedQuery.fromHour(since)),
+            eq("failure"), eq("main"), eq("push"), anyInt(), eq(1))).thenReturn(response);
+
+        // When
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since,
+            gitHubProperties.getRepositoryRefs(), new RunFilter("failure", "main", "push", null));
+
+        // Then
+        assertThat(result).singleElement().satisfies(entry -> assertThat(entry.getFailures()).isEqualTo(1));
+    }
+
+    @Test
+    void generateReport_WithWorkflowIdFilter_ShouldUseWorkflowEndpoint() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7);
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(1L);
+        response.setWorkflowRuns(Collections.singletonList(createWorkflowRun("Build", "success", 5.0)));
+        when(gitHubClient.getWorkflowRunsForWorkflow(anyString(), eq("test-owner"), eq("test-repo"), eq("161335"),
+            anyString(), isNull(), eq("main"), isNull(), anyInt(), eq(1))).thenReturn(response);
+
+        // When
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since,
+            gitHubProperties.getRepositoryRefs(), new RunFilter(" ", "main", "", "161335"));
+
+        // Then
+        assertThat(result).extracting(CiHealthReportEntry::getWorkflowName).containsExactly("Build");
+        verify(gitHubClient, never()).getWorkflowRuns(anyString(), anyString(), anyString(), anyString(),
+            any(), any(), any(), anyInt(), anyInt());
+    }
+
+    @Test
+    void generateReport_ShouldDropRunsCreatedBeforeSince() {
+        // Given
+        OffsetDateTime since = OffsetDateTime.now().minusDays(7).withMinute(30);
+        WorkflowRun inWindow = createWorkflowRun("Build", "success", 5.0);
+        inWindow.setCreated_at(since.plusMinutes(1));
+        WorkflowRun beforeWindow = createWorkflowRun("Build", "failure", 5.0);
+        beforeWindow.setCreated_at(since.minusMinutes(20));
+        GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+        response.setTotalCount(2L);
+        response.setWorkflowRuns(Arrays.asList(inWindow, beforeWindow));
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), eq(CreatedQuery.fromHour(since)),
+            isNull(), isNull(), isNull(), anyInt(), eq(1))).thenReturn(response);
+
+        // When
+        List<CiHealthReportEntry> result = ciReportService.generateReport(since);
+
+        // Then
+        assertThat(result).singleElement().satisfies(entry -> {
+            assertThat(entry.getTotalRuns()).isEqualTo(1);
+            assertThat(entry.getFailures()).isZero();
+        });
+    }
+
+    @Test
+    void generateReport_WithDayPartialCache_ShouldMatchFullFetchAndOnlyRefetchOpenDays() {
+        // Given
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        List<WorkflowRun> runs = new ArrayList<>();
+        for (int i = 0; i < 40; i++) {
+            WorkflowRun run = createWorkflowRun(i % 2 == 0 ? "Build" : "Test", i % 3 == 0 ? "failure" : "success", 10 + i);
+            run.setCreated_at(now.minusHours(6L * i + 1));
+            run.setRun_started_at(run.getCreated_at());
+            run.setUpdated_at(run.getCreated_at().plusMinutes(10 + i));
+            runs.add(run);
+        }
+        AtomicInteger servedRuns = new AtomicInteger();
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), isNull(), isNull(), isNull(), anyInt(), eq(1)))
+            .thenAnswer(invocation -> {
+                CreatedQuery.Window window = CreatedQuery.Window.parse(invocation.getArgument(3));
+                List<WorkflowRun> matching = runs.stream()
+                    .filter(run -> !run.getCreated_at().isBefore(window.start()))
+                    .filter(run -> window.end() == null || !run.getCreated_at().isAfter(window.end()))
+                    .toList();
+                servedRuns.addAndGet(matching.size());
+                GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+                response.setTotalCount((long) matching.size());
+                response.setWorkflowRuns(matching);
+                return response;
+            });
+        WorkflowRunFetcher fetcher = new WorkflowRunFetcher(List.of(new GitHubActionsRunSource(gitHubClient, gitHubProperties)),
+            gitHubProperties, meterRegistry);
+        CiReportService cachingService = new CiReportService(fetcher, Optional.empty(), Optional.empty(),
+            Optional.of(new DayPartialCache(new ReportProperties(), meterRegistry)), gitHubProperties, meterRegistry);
+
+        // When
+        List<CiHealthReportEntry> sevenDays = cachingService.generateReport(now.minusDays(7));
+        int firstFetch = servedRuns.getAndSet(0);
+        List<CiHealthReportEntry> sixDays = cachingService.generateReport(now.minusDays(6));
+        int secondFetch = servedRuns.getAndSet(0);
+
+        // Then
+        assertThat(sevenDays).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrderElementsOf(ciReportService.generateReport(now.minusDays(7)));
+        assertThat(sixDays).usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrderElementsOf(ciReportService.generateReport(now.minusDays(6)));
+        assertThat(firstFetch).isEqualTo(28);
+        // Only the rest of the first day and the days after the last sealed one
+        assertThat(secondFetch).isLessThanOrEqualTo(12);
+        assertThat(meterRegistry.get("report.day.partials").tag("result", "memory").counter().count()).isPositive();
     }
 
     private WorkflowRun createWorkflowRun(String name, String conclusion, double durationMinutes) {
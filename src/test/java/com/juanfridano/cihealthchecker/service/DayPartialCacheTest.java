@@ -0,0 +1,136 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.WorkflowStats;
+import com.juanfridano.cihealthchecker.service.DayPartialCache.DayKey;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.Map;
+import java.util.stream.Stream;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class DayPartialCacheTest {
+
+    private static final RepositoryRef REPOSITORY = new RepositoryRef("camunda", "camunda");
+    private static final LocalDate DAY = LocalDate.of(2025, 6, 1);
+
+    @TempDir
+    Path tempDir;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    @Test
+    void get_BeyondMaxEntries_ShouldEvictLeastRecentlyUsedDay() {
+        ReportProperties properties = new ReportProperties();
+        properties.getDayCache().setMaxEntries(2);
+        DayPartialCache cache = new DayPartialCache(properties, meterRegistry);
+
+        cache.put(key(DAY), partial(3, 1));
+        cache.put(key(DAY.plusDays(1)), partial(4, 0));
+        cache.get(key(DAY));
+        cache.put(key(DAY.plusDays(2)), partial(5, 2));
+
+        assertThat(cache.size()).isEqualTo(2);
+        assertThat(cache.get(key(DAY))).isNotNull();
+        assertThat(cache.get(key(DAY.plusDays(1)))).isNull();
+        assertThat(cache.get(new DayKey(REPOSITORY, new RunFilter(null, "main", null, null), DAY))).isNull();
+    }
+
+    @Test
+    void get_AfterRestart_ShouldReadDayFromDisk() {
+        DayPartialCache cache = new DayPartialCache(diskProperties(100), meterRegistry);
+        RunFilter filter = new RunFilter("completed", "release/8.7", null, null);
+        cache.put(new DayKey(REPOSITORY, filter, DAY), partial(6, 2));
+
+        Map<String, WorkflowStats> restored = new DayPartialCache(diskProperties(100), meterRegistry)
+            .get(new DayKey(REPOSITORY, filter, DAY));
+
+        assertThat(restored).containsOnlyKeys("Build");
+        WorkflowStats stats = restored.get("Build");
+        assertThat(stats.getTotalRuns()).isEqualTo(6);
+        assertThat(stats.getFailures()).isEqualTo(2);
+        assertThat(stats.getPasses()).isEqualTo(4);
+        assertThat(stats.getDurationMinutesSum()).isEqualTo(6 * 10.0);
+        assertThat(stats.getDurations().getTotal()).isEqualTo(6);
+        assertThat(stats.getDurations().quantile(0.5)).isEqualTo(partial(6, 2).get("Build").getDurations().quantile(0.5));
+        assertThat(meterRegistry.get("report.day.partials").tag("result", "disk").counter().count()).isEqualTo(1);
+    }
+
+    @Test
+    void parse_WithDotSegments_ShouldBeRejectedBeforeReachingTheDisk() {
+        assertThatThrownBy(() -> RepositoryRef.parse("../camunda")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RepositoryRef.parse("camunda/..")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RepositoryRef.parse("gitlab:group/../project")).isInstanceOf(InvalidRequestException.class);
+        assertThatThrownBy(() -> RepositoryRef.parse("camunda/repo\\..")).isInstanceOf(InvalidRequestException.class);
+        assertThat(RepositoryRef.parse("gitlab:group/sub/project.js").owner()).isEqualTo("group/sub");
+    }
+
+    @Test
+    void put_WithRepositoryOutsideTheRoot_ShouldNotWriteAnything() throws IOException {
+        DayPartialCache cache = new DayPartialCache(diskProperties(100), meterRegistry);
+        DayKey escaping = new DayKey(new RepositoryRef("..", "..", ".."), RunFilter.NONE, DAY);
+
+        assertThatThrownBy(() -> cache.put(escaping, partial(1, 0))).isInstanceOf(InvalidRequestException.class);
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertThat(files.filter(Files::isRegularFile)).isEmpty();
+        }
+    }
+
+    @Test
+    void put_BeyondDiskMaxEntries_ShouldTrimOldestFiles() throws IOException {
+        DayPartialCache cache = new DayPartialCache(diskProperties(10), meterRegistry);
+
+        for (int day = 0; day < 11; day++) {
+            cache.put(key(DAY.plusDays(day)), partial(1, 0));
+        }
+
+        try (Stream<Path> files = Files.walk(tempDir)) {
+            assertThat(files.filter(file -> file.toString().endsWith(".day")).count()).isEqualTo(9);
+        }
+    }
+
+    @Test
+    void put_DayWithinSealPeriod_ShouldBeRejected() {
+        DayPartialCache cache = new DayPartialCache(new ReportProperties(), meterRegistry);
+        LocalDate today = OffsetDateTime.now(ZoneOffset.UTC).toLocalDate();
+
+        assertThat(cache.lastSealedDay(OffsetDateTime.of(2025, 6, 2, 5, 0, 0, 0, ZoneOffset.UTC))).isEqualTo(DAY.minusDays(1));
+        assertThat(cache.lastSealedDay(OffsetDateTime.of(2025, 6, 2, 6, 0, 0, 0, ZoneOffset.UTC))).isEqualTo(DAY);
+        assertThatThrownBy(() -> cache.put(key(today), partial(1, 0))).isInstanceOf(IllegalArgumentException.class);
+    }
+
+    private ReportProperties diskProperties(int diskMaxEntries) {
+        ReportProperties properties = new ReportProperties();
+        properties.getDayCache().setDiskEnabled(true);
+        properties.getDayCache().setDiskPath(tempDir.toString());
+        properties.getDayCache().setDiskMaxEntries(diskMaxEntries);
+        return properties;
+    }
+
+    private static DayKey key(LocalDate day) {
+        return new DayKey(REPOSITORY, RunFilter.NONE, day);
+    }
+
+    private static Map<String, WorkflowStats> partial(int runs, int failures) {
+        WorkflowStats stats = new WorkflowStats();
+        for (int run = 0; run < runs; run++) {
+            stats.add(run < failures ? Conclusion.FAILURE : Conclusion.SUCCESS, 10.0, 300 + run * 60L);
+        }
+        return Map.of("Build", stats);
+    }
+}
@@ -0,0 +1,155 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.exception.InvalidRequestException;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import javax.crypto.Mac;
+import javax.crypto.spec.SecretKeySpec;
+import java.nio.charset.StandardCharsets;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.HexFormat;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+
+@ExtendWith(MockitoExtension.class)
+class GitHubWebhookServiceTest {
+
+    private static final String SECRET = "It's a Secret to Everybody";
+    private static final RepositoryRef REPOSITORY = RepositoryRef.parse("camunda/camunda");
+
+    @Mock
+    private WorkflowRunFetcher workflowRunFetcher;
+
+    private LiveWorkflowAggregates liveAggregates;
+    private GitHubWebhookService webhookService;
+
+    @BeforeEach
+    void setUp() {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.setRepositories(List.of("camunda/camunda"));
+        gitHubProperties.getWebhook().setEnabled(true);
+        gitHubProperties.getWebhook().setSecret(SECRET);
+        liveAggregates = new LiveWorkflowAggregates(workflowRunFetcher, gitHubProperties);
+        webhookService = new GitHubWebhookService(gitHubProperties, liveAggregates, Optional.empty(),
+            new ObjectMapper().registerModule(new JavaTimeModule()), new SimpleMeterRegistry());
+    }
+
+    @Test
+    void isValidSignature_ShouldAcceptOnlyTheMatchingHmac() throws Exception {
+        // Example from GitHub's "Validating webhook deliveries" docs
+        byte[] body = "Hello, World!".getBytes(StandardCharsets.UTF_8);
+
+        assertThat(webhookService.isValidSignature(body,
+            "sha256=757107ea0eb2509fc211221cce984b8a37570b6d7586c22c46f4379c8b043e17")).isTrue();
+        assertThat(webhookService.isValidSignature(body, sign("Hello, World?"))).isFalse();
+        assertThat(webhookService.isValidSignature(body, "sha256=not-hex")).isFalse();
+        assertThat(webhookService.isValidSignature(body, null)).isFalse();
+    }
+
+    @Test
+    void handle_WithCompletedRun_ShouldUpdateLiveAggregatesOnce() {
+        liveAggregates.backfill(REPOSITORY);
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusHours(2).truncatedTo(ChronoUnit.SECONDS);
+        byte[] failed = payload("completed", 1L, "failure", created);
+
+        assertThat(webhookService.handle("workflow_run", failed)).isEqualTo(GitHubWebhookService.Outcome.ACCEPTED);
+        assertThat(webhookService.handle("workflow_run", failed)).isEqualTo(GitHubWebhookService.Outcome.DUPLICATE);
+        assertThat(webhookService.handle("workflow_run", payload("completed", 2L, "success", created)))
+            .isEqualTo(GitHubWebhookService.Outcome.ACCEPTED);
+
+        List<CiHealthReportEntry> report = liveAggregates.report(List.of(REPOSITORY), OffsetDateTime.now().minusDays(1));
+        assertThat(report).hasSize(1);
+        assertThat(report.get(0).getRepository()).isEqualTo("camunda/camunda");
+        assertThat(report.get(0).getTotalRuns()).isEqualTo(2);
+        assertThat(report.get(0).getFailures()).isEqualTo(1);
+        assertThat(liveAggregates.covers(List.of(REPOSITORY), OffsetDateTime.now().minusDays(3))).isTrue();
+        assertThat(liveAggregates.covers(List.of(REPOSITORY), OffsetDateTime.now().minusDays(60))).isFalse();
+    }
+
+    @Test
+    void handle_WithReRunToAnotherConclusion_ShouldReplaceTheFirstOutcome() {
+        liveAggregates.backfill(REPOSITORY);
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusHours(2).truncatedTo(ChronoUnit.SECONDS);
+
+        webhookService.handle("workflow_run", payload("completed", 1L, "failure", created));
+        GitHubWebhookService.Outcome rerun = webhookService.handle("workflow_run", payload("completed", 1L, "success", created));
+
+        assertThat(rerun).isEqualTo(GitHubWebhookService.Outcome.ACCEPTED);
+        assertThat(liveAggregates.report(List.of(REPOSITORY), OffsetDateTime.now().minusDays(1))).singleElement()
+            .satisfies(entry -> {
+                assertThat(entry.getTotalRuns()).isEqualTo(1);
+                assertThat(entry.getFailures()).isZero();
+            });
+    }
+
+    @Test
+    void handle_WithUnconfiguredRepository_ShouldIgnoreIt() {
+        liveAggregates.backfill(REPOSITORY);
+        byte[] body = payload("completed", 1L, "failure", OffsetDateTime.now(ZoneOffset.UTC).minusHours(1));
+        byte[] foreign = new String(body, StandardCharsets.UTF_8).replace("camunda/camunda", "someone/else")
+            .getBytes(StandardCharsets.UTF_8);
+
+        assertThat(webhookService.handle("workflow_run", foreign)).isEqualTo(GitHubWebhookService.Outcome.IGNORED);
+        assertThat(liveAggregates.report(List.of(RepositoryRef.parse("someone/else")), OffsetDateTime.now().minusDays(1)))
+            .isEmpty();
+    }
+
+    @Test
+    void backfill_WhenProviderFails_ShouldLeaveTheRepositoryUncovered() {
+        doThrow(new CiProviderException("github", 502, "Bad Gateway", true))
+            .when(workflowRunFetcher).fetchRuns(eq(REPOSITORY), anyString(), any());
+
+        liveAggregates.backfill(REPOSITORY);
+
+        assertThat(liveAggregates.covers(List.of(REPOSITORY), OffsetDateTime.now().minusDays(1))).isFalse();
+    }
+
+    @Test
+    void handle_WithOtherEventsOrActions_ShouldIgnoreThem() {
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusHours(1);
+
+        assertThat(webhookService.handle("ping", "{}".getBytes(StandardCharsets.UTF_8)))
+            .isEqualTo(GitHubWebhookService.Outcome.IGNORED);
+        assertThat(webhookService.handle("workflow_run", payload("in_progress", 3L, null, created)))
+            .isEqualTo(GitHubWebhookService.Outcome.IGNORED);
+        assertThatThrownBy(() -> webhookService.handle("workflow_run", "{".getBytes(StandardCharsets.UTF_8)))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    private static byte[] payload(String action, long id, String conclusion, OffsetDateTime created) {
+        String json = """
+            {"action":"%s","workflow_run":{"id":%d,"name":"CI","status":"completed","conclusion":%s,
+             "created_at":"%s","run_started_at":"%s","updated_at":"%s"},
+             "repository":{"full_name":"camunda/camunda"}}
+            """.formatted(action, id, conclusion == null ? "null" : "\"" + conclusion + "\"",
+            created, created, created.plusMinutes(10));
+        return json.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static String sign(String body) throws Exception {
+        Mac mac = Mac.getInstance("HmacSHA256");
+        mac.init(new SecretKeySpec(SECRET.getBytes(StandardCharsets.UTF_8), "HmacSHA256"));
+        return "sha256=" + HexFormat.of().formatHex(mac.doFinal(body.getBytes(StandardCharsets.UTF_8)));
+    }
+}
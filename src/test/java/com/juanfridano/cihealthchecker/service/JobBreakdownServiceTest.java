@@ -0,0 +1,255 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.GitHubJobsResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflow;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowsResponse;
+import com.juanfridano.cihealthchecker.model.JobHealthEntry;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.RunFilter;
+import com.juanfridano.cihealthchecker.model.WorkflowJob;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.provider.GitHubActionsRunSource;
+import com.juanfridano.cihealthchecker.model.WorkflowStep;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyLong;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class JobBreakdownServiceTest {
+
+    private static final RepositoryRef REPOSITORY = RepositoryRef.parse("org/repo");
+    private static final OffsetDateTime NOW = OffsetDateTime.now();
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+    private JobBreakdownService jobBreakdownService;
+
+    @BeforeEach
+    void setUp() {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.setToken("test-token");
+        WorkflowRunFetcher fetcher = new WorkflowRunFetcher(List.of(new GitHubActionsRunSource(gitHubClient, gitHubProperties)),
+            gitHubProperties, meterRegistry);
+        jobBreakdownService = new JobBreakdownService(gitHubClient, fetcher, Optional.empty(), gitHubProperties, meterRegistry);
+
+        lenient().when(gitHubClient.getWorkflows(anyString(), eq("org"), eq("repo"), anyInt(), eq(1)))
+            .thenReturn(workflows(workflow(10, "Build"), workflow(11, "Lint")));
+        GitHubWorkflowResponse runs = new GitHubWorkflowResponse();
+        runs.setTotalCount(2L);
+        runs.setWorkflowRuns(List.of(run(1, "Build"), run(2, "Build")));
+        lenient().when(gitHubClient.getWorkflowRunsForWorkflow(anyString(), eq("org"), eq("repo"), eq("10"), anyString(),
+                any(), any(), any(), anyInt(), eq(1)))
+            .thenReturn(runs);
+    }
+
+    @Test
+    void getJobBreakdown_ShouldAggregateJobsAndStepsOfTheWorkflowsRuns() {
+        // Given
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(1L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 600, step(1, "checkout", "success", 10), step(2, "mvn verify", "success", 590)),
+                job("deploy", "skipped", 0)));
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(2L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "failure", 300, step(1, "checkout", "success", 10), step(2, "mvn verify", "failure", 290))));
+
+        // When
+        List<JobHealthEntry> result = jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        assertThat(result).singleElement().satisfies(job -> {
+            assertThat(job.getJobName()).isEqualTo("test");
+            assertThat(job.getTotalRuns()).isEqualTo(2);
+            assertThat(job.getFailures()).isEqualTo(1);
+            assertThat(job.getAvgDurationMinutes()).isEqualTo(7.5);
+            assertThat(job.getSteps()).extracting(step -> step.getStepName() + ":" + step.getFailures())
+                .containsExactly("checkout:0", "mvn verify:1");
+        });
+        verify(gitHubClient, times(0)).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(3L), anyInt(), anyInt());
+    }
+
+    @Test
+    void getJobBreakdown_ShouldCountCancelledAndSkippedJobsAndSteps() {
+        // Given
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(1L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 600, step(1, "checkout", "success", 10), step(2, "upload", "skipped", 0))));
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(2L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "cancelled", 30, step(1, "checkout", "cancelled", 30)), job("test", "skipped", 0)));
+
+        // When
+        List<JobHealthEntry> result = jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        assertThat(result).singleElement().satisfies(job -> {
+            assertThat(job.getTotalRuns()).isEqualTo(2);
+            assertThat(job.getFailures()).isZero();
+            assertThat(job.getCancelled()).isEqualTo(1);
+            assertThat(job.getSkipped()).isEqualTo(1);
+            assertThat(job.getSteps()).extracting(step -> step.getStepName() + ":" + step.getCancelled() + ":" + step.getSkipped())
+                .containsExactly("checkout:1:0");
+        });
+    }
+
+    @Test
+    void getJobBreakdown_ShouldKeepJobsOfCompletedRunsCached() {
+        // Given
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(1L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 60)));
+        WorkflowJob rerunning = job("test", null, 0);
+        rerunning.setStatus("in_progress");
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(2L), anyInt(), eq(1)))
+            .thenReturn(jobs(rerunning));
+
+        // When
+        jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+        List<JobHealthEntry> result = jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        assertThat(result).singleElement().satisfies(job -> assertThat(job.getTotalRuns()).isEqualTo(1));
+        verify(gitHubClient, times(1)).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(1L), anyInt(), anyInt());
+        verify(gitHubClient, times(2)).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(2L), anyInt(), anyInt());
+        assertThat(meterRegistry.get("github.jobs.cache.requests").tag("result", "hit").counter().count()).isEqualTo(1);
+        assertThat(meterRegistry.get("github.jobs.cache.requests").tag("result", "miss").counter().count()).isEqualTo(3);
+    }
+
+    @Test
+    void getJobBreakdown_ShouldListRunsOfTheResolvedWorkflowOnly() {
+        // Given
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), anyLong(), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 60)));
+
+        // When
+        jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+        jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        verify(gitHubClient, times(1)).getWorkflows(anyString(), anyString(), anyString(), anyInt(), anyInt());
+        verify(gitHubClient, never()).getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), any(), any(), any(),
+            anyInt(), anyInt());
+    }
+
+    @Test
+    void getJobBreakdown_WithAmbiguousWorkflowName_ShouldFilterAllRunsByName() {
+        // Given
+        when(gitHubClient.getWorkflows(anyString(), eq("org"), eq("repo"), anyInt(), eq(1)))
+            .thenReturn(workflows(workflow(10, "Build"), workflow(12, "Build")));
+        GitHubWorkflowResponse runs = new GitHubWorkflowResponse();
+        runs.setTotalCount(2L);
+        runs.setWorkflowRuns(List.of(run(1, "Build"), run(3, "Lint")));
+        when(gitHubClient.getWorkflowRuns(anyString(), eq("org"), eq("repo"), anyString(), any(), any(), any(), anyInt(), eq(1)))
+            .thenReturn(runs);
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(1L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 60)));
+
+        // When
+        List<JobHealthEntry> result = jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        assertThat(result).singleElement().satisfies(job -> assertThat(job.getTotalRuns()).isEqualTo(1));
+        verify(gitHubClient, never()).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(3L), anyInt(), anyInt());
+    }
+
+    @Test
+    void getJobBreakdown_AfterReRun_ShouldFetchTheNewAttemptsJobs() {
+        // Given
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(1L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "failure", 60)))
+            .thenReturn(jobs(job("test", "success", 60)));
+        when(gitHubClient.getWorkflowRunJobs(anyString(), eq("org"), eq("repo"), eq(2L), anyInt(), eq(1)))
+            .thenReturn(jobs(job("test", "success", 60)));
+        jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+        WorkflowRun rerun = run(1, "Build");
+        rerun.setRun_attempt(2);
+        GitHubWorkflowResponse runs = new GitHubWorkflowResponse();
+        runs.setTotalCount(2L);
+        runs.setWorkflowRuns(List.of(rerun, run(2, "Build")));
+        when(gitHubClient.getWorkflowRunsForWorkflow(anyString(), eq("org"), eq("repo"), eq("10"), anyString(),
+                any(), any(), any(), anyInt(), eq(1)))
+            .thenReturn(runs);
+
+        // When
+        List<JobHealthEntry> result = jobBreakdownService.getJobBreakdown(REPOSITORY, "Build", NOW.minusDays(1), RunFilter.NONE, 20);
+
+        // Then
+        assertThat(result).singleElement().satisfies(job -> assertThat(job.getFailures()).isZero());
+        verify(gitHubClient, times(2)).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(1L), anyInt(), anyInt());
+        verify(gitHubClient, times(1)).getWorkflowRunJobs(anyString(), anyString(), anyString(), eq(2L), anyInt(), anyInt());
+    }
+
+    private static GitHubWorkflowsResponse workflows(GitHubWorkflow... workflows) {
+        GitHubWorkflowsResponse response = new GitHubWorkflowsResponse();
+        response.setTotalCount((long) workflows.length);
+        response.setWorkflows(List.of(workflows));
+        return response;
+    }
+
+    private static GitHubWorkflow workflow(long id, String name) {
+        GitHubWorkflow workflow = new GitHubWorkflow();
+        workflow.setId(id);
+        workflow.setName(name);
+        return workflow;
+    }
+
+    private static WorkflowRun run(long id, String name) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId(id);
+        run.setName(name);
+        run.setConclusion("success");
+        run.setRun_attempt(1);
+        run.setCreated_at(NOW.minusHours(id));
+        return run;
+    }
+
+    private static GitHubJobsResponse jobs(WorkflowJob... jobs) {
+        GitHubJobsResponse response = new GitHubJobsResponse();
+        response.setTotalCount((long) jobs.length);
+        response.setJobs(List.of(jobs));
+        return response;
+    }
+
+    private static WorkflowJob job(String name, String conclusion, long seconds, WorkflowStep... steps) {
+        WorkflowJob job = new WorkflowJob();
+        job.setName(name);
+        job.setStatus("completed");
+        job.setConclusion(conclusion);
+        job.setStarted_at(NOW.minusHours(2));
+        job.setCompleted_at(NOW.minusHours(2).plusSeconds(seconds));
+        job.setSteps(List.of(steps));
+        return job;
+    }
+
+    private static WorkflowStep step(int number, String name, String conclusion, long seconds) {
+        WorkflowStep step = new WorkflowStep();
+        step.setNumber(number);
+        step.setName(name);
+        step.setStatus("completed");
+        step.setConclusion(conclusion);
+        step.setStarted_at(NOW.minusHours(2));
+        step.setCompleted_at(NOW.minusHours(2).plusSeconds(seconds));
+        return step;
+    }
+}
@@ -0,0 +1,93 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.exception.GitHubClientException;
+import com.juanfridano.cihealthchecker.model.CiHealthReportEntry;
+import com.juanfridano.cihealthchecker.model.ReportSnapshot;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReportSnapshotServiceTest {
+
+    @Mock
+    private CiReportService ciReportService;
+
+    private ReportSnapshotService snapshotService;
+
+    @BeforeEach
+    void setUp() {
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.getSnapshots().setWindows(List.of(1, 7));
+        snapshotService = new ReportSnapshotService(ciReportService, reportProperties);
+    }
+
+    @Test
+    void refreshAll_ShouldMaterializeEveryConfiguredWindowFromOneReportRound() {
+        List<CiHealthReportEntry> entries = List.of(CiHealthReportEntry.builder().workflowName("Build").totalRuns(3).build());
+        when(ciReportService.generateReports(any(OffsetDateTime.class), eq(List.of(1, 7))))
+            .thenReturn(Map.of(1, entries, 7, List.of()));
+
+        snapshotService.refreshAll();
+
+        verify(ciReportService, never()).generateReport(any(OffsetDateTime.class));
+        assertThat(snapshotService.getSnapshot(1)).map(ReportSnapshot::getEntries).contains(entries);
+        assertThat(snapshotService.getSnapshot(7)).map(ReportSnapshot::getDaysBack).contains(7);
+        assertThat(snapshotService.getSnapshot(3)).isEmpty();
+    }
+
+    @Test
+    void refreshAll_WhenGitHubFails_ShouldKeepPreviousSnapshot() {
+        List<CiHealthReportEntry> entries = List.of(CiHealthReportEntry.builder().workflowName("Build").build());
+        when(ciReportService.generateReports(any(OffsetDateTime.class), any()))
+            .thenReturn(Map.of(1, entries, 7, entries))
+            .thenThrow(new GitHubClientException("GitHub API error: 502"));
+        snapshotService.refreshAll();
+        ReportSnapshot previous = snapshotService.getSnapshot(1).orElseThrow();
+
+        snapshotService.refreshAll();
+
+        assertThat(snapshotService.getSnapshot(1)).containsSame(previous);
+    }
+
+    @Test
+    void refreshAll_WhenAProviderFailsUnexpectedly_ShouldKeepPreviousSnapshots() {
+        List<CiHealthReportEntry> entries = List.of(CiHealthReportEntry.builder().workflowName("Build").build());
+        when(ciReportService.generateReports(any(OffsetDateTime.class), any()))
+            .thenReturn(Map.of(1, entries, 7, entries))
+            .thenThrow(new CiProviderException("gitlab", 500, "Internal Server Error", false));
+        snapshotService.refreshAll();
+        ReportSnapshot previous = snapshotService.getSnapshot(7).orElseThrow();
+
+        snapshotService.refreshAll();
+
+        assertThat(snapshotService.getSnapshot(7)).containsSame(previous);
+    }
+
+    @Test
+    void refresh_WithUntrackedWindow_ShouldNotBeStored() {
+        when(ciReportService.generateReport(any(OffsetDateTime.class))).thenReturn(List.of());
+
+        ReportSnapshot snapshot = snapshotService.refresh(14);
+
+        assertThat(snapshot.getDaysBack()).isEqualTo(14);
+        assertThat(snapshotService.isTracked(14)).isFalse();
+        assertThat(snapshotService.getSnapshot(14)).isEmpty();
+    }
+}
@@ -0,0 +1,91 @@
+package com.juanfridano.cihealthchecker.service;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class SingleFlightTest {
+
+    private final SingleFlight<String, Integer> singleFlight = new SingleFlight<>();
+
+    @Test
+    void execute_WithConcurrentCallersForSameKey_ShouldComputeOnce() throws Exception {
+        AtomicInteger computations = new AtomicInteger();
+        AtomicInteger shared = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        List<Future<Integer>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            for (int i = 0; i < 20; i++) {
+                results.add(executor.submit(() -> singleFlight.execute("report", () -> {
+                    computations.incrementAndGet();
+                    await(release);
+                    return 42;
+                }, shared::incrementAndGet)));
+            }
+            while (computations.get() + shared.get() < 20) {
+                Thread.onSpinWait();
+            }
+            release.countDown();
+            for (Future<Integer> result : results) {
+                assertThat(result.get(5, TimeUnit.SECONDS)).isEqualTo(42);
+            }
+        }
+
+        assertThat(computations).hasValue(1);
+        assertThat(shared).hasValue(19);
+        assertThat(singleFlight.inFlightCount()).isZero();
+    }
+
+    @Test
+    void execute_AfterCompletion_ShouldComputeAgain() {
+        AtomicInteger computations = new AtomicInteger();
+
+        singleFlight.execute("report", computations::incrementAndGet);
+        int second = singleFlight.execute("report", computations::incrementAndGet);
+
+        assertThat(second).isEqualTo(2);
+    }
+
+    @Test
+    void execute_WhenComputationFails_ShouldPropagateToJoinedCallers() throws Exception {
+        CountDownLatch started = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch joined = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Integer> owner = executor.submit(() -> singleFlight.execute("report", () -> {
+                started.countDown();
+                await(release);
+                throw new IllegalStateException("GitHub down");
+            }));
+            started.await();
+            Future<Integer> follower = executor.submit(() ->
+                singleFlight.execute("report", () -> 1, joined::countDown));
+            joined.await();
+            release.countDown();
+
+            assertThatThrownBy(owner::get).hasCauseInstanceOf(IllegalStateException.class);
+            assertThatThrownBy(follower::get).hasCauseInstanceOf(IllegalStateException.class)
+                .hasRootCauseMessage("GitHub down");
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,177 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.config.ReportProperties;
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.TrendBucket;
+import com.juanfridano.cihealthchecker.model.TrendPoint;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.model.WorkflowTrend;
+import com.juanfridano.cihealthchecker.store.WorkflowRunStore;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class TrendRollupsTest {
+
+    private static final RepositoryRef REPOSITORY = new RepositoryRef("camunda", "camunda");
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    @Test
+    void query_ByHour_ShouldReturnOnlyNonEmptyBuckets() {
+        TrendRollups rollups = new TrendRollups(48);
+        rollups.record(createRun("Build", "success", DAY.plusHours(1), 600));
+        rollups.record(createRun("Build", "failure", DAY.plusHours(1).plusMinutes(30), 1200));
+        rollups.record(createRun("Build", "success", DAY.plusHours(5), 300));
+
+        List<WorkflowTrend> trends = rollups.query(List.of(REPOSITORY), DAY, DAY.plusHours(23), TrendBucket.HOUR);
+
+        assertThat(trends).hasSize(1);
+        List<TrendPoint> points = trends.get(0).getPoints();
+        assertThat(points).extracting(TrendPoint::getBucketStart).containsExactly(DAY.plusHours(1), DAY.plusHours(5));
+        assertThat(points.get(0).getTotalRuns()).isEqualTo(2);
+        assertThat(points.get(0).getFailures()).isEqualTo(1);
+        assertThat(points.get(0).getFailureRate()).isEqualTo(50.0);
+    }
+
+    @Test
+    void query_ShouldCountCancelledAndSkippedRunsApartFromTheFailureRate() {
+        TrendRollups rollups = new TrendRollups(48);
+        rollups.record(createRun("Build", "success", DAY.plusHours(1), 600));
+        rollups.record(createRun("Build", "cancelled", DAY.plusHours(1), 60));
+        rollups.record(createRun("Build", "skipped", DAY.plusHours(1), 0));
+        WorkflowRun rerun = createRun("Build", "cancelled", DAY.plusHours(1), 60);
+        rollups.record(rerun);
+        rerun.setConclusion("failure");
+        rollups.record(rerun, Conclusion.CANCELLED);
+
+        List<WorkflowTrend> trends = rollups.query(List.of(REPOSITORY), DAY, DAY.plusHours(23), TrendBucket.HOUR);
+
+        assertThat(trends.get(0).getPoints()).singleElement().satisfies(point -> {
+            assertThat(point.getTotalRuns()).isEqualTo(4);
+            assertThat(point.getFailures()).isEqualTo(1);
+            assertThat(point.getCancelled()).isEqualTo(1);
+            assertThat(point.getSkipped()).isEqualTo(1);
+            assertThat(point.getFailureRate()).isEqualTo(50.0);
+        });
+    }
+
+    @Test
+    void query_ByDay_ShouldMergeHoursAndEstimatePercentiles() {
+        TrendRollups rollups = new TrendRollups(72);
+        for (int i = 1; i <= 100; i++) {
+            rollups.record(createRun("Build", "success", DAY.plusHours(i % 24), i * 60L));
+        }
+
+        List<WorkflowTrend> trends = rollups.query(List.of(REPOSITORY), DAY, DAY.plusDays(2), TrendBucket.DAY);
+
+        TrendPoint point = trends.get(0).getPoints().get(0);
+        assertThat(trends.get(0).getPoints()).hasSize(1);
+        assertThat(point.getBucketStart()).isEqualTo(DAY);
+        assertThat(point.getTotalRuns()).isEqualTo(100);
+        assertThat((double) point.getP50DurationSeconds()).isCloseTo(3000, within(300.0));
+        assertThat((double) point.getP95DurationSeconds()).isCloseTo(5700, within(570.0));
+        assertThat((double) point.getP99DurationSeconds()).isCloseTo(5940, within(594.0));
+    }
+
+    @Test
+    void record_BeyondRetention_ShouldReuseSlotAndDropOlderRuns() {
+        TrendRollups rollups = new TrendRollups(24);
+        rollups.record(createRun("Build", "failure", DAY.plusHours(2), 60));
+        rollups.record(createRun("Build", "success", DAY.plusDays(1).plusHours(2), 60));
+        rollups.record(createRun("Build", "failure", DAY.plusHours(2), 60));
+
+        List<WorkflowTrend> trends = rollups.query(List.of(REPOSITORY), DAY, DAY.plusDays(2), TrendBucket.HOUR);
+
+        assertThat(trends.get(0).getPoints()).singleElement()
+            .satisfies(point -> {
+                assertThat(point.getBucketStart()).isEqualTo(DAY.plusDays(1).plusHours(2));
+                assertThat(point.getFailures()).isZero();
+            });
+    }
+
+    @Test
+    void getTrends_RunReRunInStore_ShouldMoveItToTheNewConclusionWithoutCountingItTwice(@TempDir Path tempDir) throws Exception {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.getStore().setPath(tempDir.resolve("runs.jsonl").toString());
+        WorkflowRunStore store = new WorkflowRunStore(gitHubProperties, JsonMapper.builder().findAndAddModules().build());
+        store.load();
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusHours(2);
+        store.upsertAll(List.of(createRun(1L, "failure", created), createRun(2L, "success", created)));
+        store.markSynced(REPOSITORY, created.minusHours(1));
+        TrendService trendService = new TrendService(null, Optional.of(store), gitHubProperties, new ReportProperties());
+        trendService.init();
+
+        WorkflowRun rerun = createRun(1L, "success", created);
+        rerun.setUpdated_at(created.plusMinutes(30));
+        store.upsertAll(List.of(rerun));
+        List<WorkflowTrend> trends = trendService.getTrends(created, TrendBucket.HOUR, List.of(REPOSITORY));
+        store.close();
+
+        assertThat(trends).singleElement().satisfies(trend -> assertThat(trend.getPoints()).singleElement().satisfies(point -> {
+            assertThat(point.getTotalRuns()).isEqualTo(2);
+            assertThat(point.getFailures()).isZero();
+        }));
+    }
+
+    @Test
+    void getTrends_BeforeRollupRetention_ShouldFallBackToTheStore(@TempDir Path tempDir) throws Exception {
+        GitHubProperties gitHubProperties = new GitHubProperties();
+        gitHubProperties.getStore().setPath(tempDir.resolve("runs.jsonl").toString());
+        WorkflowRunStore store = new WorkflowRunStore(gitHubProperties, JsonMapper.builder().findAndAddModules().build());
+        store.load();
+        ReportProperties reportProperties = new ReportProperties();
+        reportProperties.getTrends().setRetentionDays(1);
+        TrendService trendService = new TrendService(null, Optional.of(store), gitHubProperties, reportProperties);
+        trendService.init();
+        OffsetDateTime now = OffsetDateTime.now(ZoneOffset.UTC);
+        store.upsertAll(List.of(createRun(1L, "failure", now.minusDays(3)), createRun(2L, "success", now.minusHours(2))));
+        store.markSynced(REPOSITORY, now.minusDays(5));
+
+        List<WorkflowTrend> trends = trendService.getTrends(now.minusDays(4), TrendBucket.DAY, List.of(REPOSITORY));
+        store.close();
+
+        assertThat(trends).singleElement().satisfies(trend -> {
+            assertThat(trend.getPoints()).extracting(TrendPoint::getTotalRuns).containsExactly(1L, 1L);
+            assertThat(trend.getPoints()).extracting(TrendPoint::getFailures).contains(1L);
+        });
+    }
+
+    @Test
+    void query_ShouldOnlyReturnRequestedRepositories() {
+        TrendRollups rollups = new TrendRollups(24);
+        WorkflowRun otherRepositoryRun = createRun("Build", "success", DAY.plusHours(1), 60);
+        otherRepositoryRun.setRepositoryName("camunda/other");
+        rollups.record(otherRepositoryRun);
+
+        assertThat(rollups.query(List.of(REPOSITORY), DAY, DAY.plusHours(23), TrendBucket.DAY)).isEmpty();
+    }
+
+    private WorkflowRun createRun(long id, String conclusion, OffsetDateTime createdAt) {
+        WorkflowRun run = createRun("Build", conclusion, createdAt, 600);
+        run.setId(id);
+        return run;
+    }
+
+    private WorkflowRun createRun(String name, String conclusion, OffsetDateTime createdAt, long durationSeconds) {
+        WorkflowRun run = new WorkflowRun();
+        run.setRepositoryName(REPOSITORY.toString());
+        run.setName(name);
+        run.setConclusion(conclusion);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt);
+        run.setUpdated_at(createdAt.plusSeconds(durationSeconds));
+        return run;
+    }
+}
@@ -0,0 +1,142 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.model.DurationRegression;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowAnalysis;
+import com.juanfridano.cihealthchecker.model.WorkflowHealth;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.List;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+
+class WorkflowHealthAnalyzerTest {
+
+    private static final RepositoryRef REPOSITORY = new RepositoryRef("camunda", "camunda");
+    private static final OffsetDateTime DAY = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+
+    private final WorkflowHealthAnalyzer analyzer = new WorkflowHealthAnalyzer(200);
+
+    @Test
+    void record_FailureAndPassOnSameSha_ShouldCountCommitAsFlaky() {
+        analyzer.record(createRun("failure", "a", DAY, 600));
+        analyzer.record(createRun("success", "a", DAY.plusMinutes(20), 600));
+        analyzer.record(createRun("success", "b", DAY.plusHours(1), 600));
+
+        WorkflowAnalysis analysis = analyzer.query(List.of(REPOSITORY)).get(0);
+
+        assertThat(analysis.getHealth()).isEqualTo(WorkflowHealth.FLAKY);
+        assertThat(analysis.getCommits()).isEqualTo(2);
+        assertThat(analysis.getFailingCommits()).isEqualTo(1);
+        assertThat(analysis.getFlakyCommits()).isEqualTo(1);
+        assertThat(analysis.getFlakeRate()).isEqualTo(100.0);
+    }
+
+    @Test
+    void record_NewestCommitOnlyFailed_ShouldReportFailingAndIgnoreCancelledRuns() {
+        analyzer.record(createRun("failure", "b", DAY.plusHours(1), 600));
+        analyzer.record(createRun("failure", "d", DAY.plusHours(2), 600));
+        analyzer.record(createRun("success", "d", DAY.plusHours(3), 600));
+        analyzer.record(createRun("timed_out", "c", DAY.plusHours(4), 3600));
+        analyzer.record(createRun("cancelled", "a", DAY.plusHours(5), 60));
+        analyzer.record(createRun("skipped", "a", DAY.plusHours(5), 0));
+
+        WorkflowAnalysis analysis = analyzer.query(List.of(REPOSITORY)).get(0);
+
+        assertThat(analysis.getHealth()).isEqualTo(WorkflowHealth.FAILING);
+        assertThat(analysis.getCommits()).isEqualTo(3);
+        assertThat(analysis.getFailingCommits()).isEqualTo(3);
+        assertThat(analysis.getFlakyCommits()).isEqualTo(1);
+    }
+
+    @Test
+    void record_BeyondCommitWindow_ShouldForgetOldestCommits() {
+        WorkflowHealthAnalyzer windowed = new WorkflowHealthAnalyzer(2);
+        windowed.record(createRun("failure", "a", DAY, 600));
+        windowed.record(createRun("success", "a", DAY.plusMinutes(20), 600));
+        windowed.record(createRun("success", "b", DAY.plusHours(1), 600));
+        windowed.record(createRun("success", "c", DAY.plusHours(2), 600));
+        windowed.record(createRun("failure", "old", DAY.minusDays(1), 600));
+
+        WorkflowAnalysis analysis = windowed.query(List.of(REPOSITORY)).get(0);
+
+        assertThat(analysis.getHealth()).isEqualTo(WorkflowHealth.STABLE);
+        assertThat(analysis.getCommits()).isEqualTo(2);
+        assertThat(analysis.getFailingCommits()).isZero();
+        assertThat(analysis.getFlakyCommits()).isZero();
+    }
+
+    @Test
+    void record_SustainedSlowdown_ShouldReportRegressionFromItsStart() {
+        Random random = new Random(7);
+        for (int i = 0; i < 100; i++) {
+            analyzer.record(createRun("success", "sha" + i, DAY.plusHours(i), noisy(random, 600)));
+        }
+        for (int i = 100; i < 130; i++) {
+            analyzer.record(createRun("success", "sha" + i, DAY.plusHours(i), noisy(random, 900)));
+        }
+
+        DurationRegression regression = analyzer.query(List.of(REPOSITORY)).get(0).getDurationRegression();
+
+        assertThat(regression).isNotNull();
+        assertThat(regression.getStartedAt()).isBetween(DAY.plusHours(100), DAY.plusHours(102));
+        assertThat(regression.getDetectedAt()).isBefore(DAY.plusHours(106));
+        assertThat((double) regression.getBaselineSeconds()).isCloseTo(600, within(60.0));
+        assertThat((double) regression.getCurrentSeconds()).isCloseTo(900, within(90.0));
+        assertThat(regression.getChangePercent()).isCloseTo(50, within(15.0));
+    }
+
+    @Test
+    void record_NoiseAndSingleSlowRuns_ShouldNotReportRegression() {
+        Random random = new Random(11);
+        for (int i = 0; i < 500; i++) {
+            long duration = i % 50 == 49 ? 1800 : noisy(random, 600);
+            analyzer.record(createRun("success", "sha" + i, DAY.plusHours(i), duration));
+            // Failed runs stop early and never feed the duration baseline
+            analyzer.record(createRun("failure", "sha" + i, DAY.plusHours(i).plusMinutes(1), 30));
+        }
+
+        assertThat(analyzer.query(List.of(REPOSITORY)).get(0).getDurationRegression()).isNull();
+    }
+
+    @Test
+    void record_DurationsBackAtBaseline_ShouldCloseRegression() {
+        Random random = new Random(3);
+        int hour = 0;
+        for (; hour < 60; hour++) {
+            analyzer.record(createRun("success", "sha" + hour, DAY.plusHours(hour), noisy(random, 600)));
+        }
+        for (; hour < 90; hour++) {
+            analyzer.record(createRun("success", "sha" + hour, DAY.plusHours(hour), noisy(random, 1200)));
+        }
+        assertThat(analyzer.query(List.of(REPOSITORY)).get(0).getDurationRegression()).isNotNull();
+
+        for (; hour < 250; hour++) {
+            analyzer.record(createRun("success", "sha" + hour, DAY.plusHours(hour), noisy(random, 600)));
+        }
+
+        assertThat(analyzer.query(List.of(REPOSITORY)).get(0).getDurationRegression()).isNull();
+    }
+
+    private static long noisy(Random random, long seconds) {
+        return Math.round(seconds * (0.95 + random.nextDouble() * 0.1));
+    }
+
+    private WorkflowRun createRun(String conclusion, String headSha, OffsetDateTime createdAt, long durationSeconds) {
+        WorkflowRun run = new WorkflowRun();
+        run.setRepositoryName(REPOSITORY.toString());
+        run.setName("Build");
+        run.setConclusion(conclusion);
+        run.setHead_sha(headSha);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt);
+        run.setUpdated_at(createdAt.plusSeconds(durationSeconds));
+        return run;
+    }
+}
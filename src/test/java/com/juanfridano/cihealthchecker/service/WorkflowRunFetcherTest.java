@@ -0,0 +1,274 @@
+package com.juanfridano.cihealthchecker.service;
+
+import com.juanfridano.cihealthchecker.client.CreatedQuery;
+import com.juanfridano.cihealthchecker.client.CreatedQuery.Window;
+import com.juanfridano.cihealthchecker.client.GitHubClient;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.exception.CiProviderException;
+import com.juanfridano.cihealthchecker.model.GitHubWorkflowResponse;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.provider.CiRunSource;
+import com.juanfridano.cihealthchecker.provider.GitHubActionsRunSource;
+import com.juanfridano.cihealthchecker.provider.RunPage;
+import com.juanfridano.cihealthchecker.provider.RunQuery;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertTimeoutPreemptively;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class WorkflowRunFetcherTest {
+
+    private static final OffsetDateTime START = OffsetDateTime.of(2025, 6, 1, 0, 0, 0, 0, ZoneOffset.UTC);
+    private static final RepositoryRef REPOSITORY = RepositoryRef.parse("org/busy");
+
+    @Mock
+    private GitHubClient gitHubClient;
+
+    private GitHubProperties gitHubProperties;
+    private WorkflowRunFetcher fetcher;
+    private final List<WorkflowRun> dataset = new ArrayList<>();
+    private final List<String> queries = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void setUp() {
+        gitHubProperties = new GitHubProperties();
+        gitHubProperties.setToken("test-token");
+        gitHubProperties.setPerPage(50);
+        gitHubProperties.setResultCap(200);
+        fetcher = new WorkflowRunFetcher(List.of(new GitHubActionsRunSource(gitHubClient, gitHubProperties)), gitHubProperties, new SimpleMeterRegistry());
+    }
+
+    @Test
+    void fetchRuns_WhenWindowExceedsResultCap_ShouldSplitUntilEveryRunIsFetched() {
+        // Given: 600 runs over the first day plus a burst of 300 in a single hour
+        for (int i = 0; i < 600; i++) {
+            addRun(START.plusSeconds(i * 144L));
+        }
+        for (int i = 0; i < 300; i++) {
+            addRun(START.plusHours(5).plusSeconds(i * 12L));
+        }
+        simulateGitHub();
+        Set<Long> fetched = ConcurrentHashMap.newKeySet();
+
+        // When
+        fetcher.fetchRuns(REPOSITORY, CreatedQuery.between(START, START.plusDays(1).minusSeconds(1)),
+            runs -> runs.forEach(run -> assertThat(fetched.add(run.getId())).isTrue()));
+
+        // Then
+        assertThat(fetched).hasSize(dataset.size());
+        assertThat(queries).hasSizeGreaterThan(1);
+    }
+
+    @Test
+    void fetchRuns_WhenWindowFitsResultCap_ShouldNotSplit() {
+        // Given
+        for (int i = 0; i < 120; i++) {
+            addRun(START.plusMinutes(i));
+        }
+        simulateGitHub();
+        List<WorkflowRun> fetched = new CopyOnWriteArrayList<>();
+
+        // When
+        fetcher.fetchRuns(REPOSITORY, CreatedQuery.from(START), fetched::addAll);
+
+        // Then
+        assertThat(fetched).hasSize(120);
+        assertThat(queries).containsOnly(CreatedQuery.from(START));
+    }
+
+    @Test
+    void fetchRuns_ShouldRouteRepositoriesToTheirProviderAndRetryTransientFailures() {
+        // Given
+        gitHubProperties.getScheduler().setInitialBackoff(Duration.ofMillis(1));
+        AtomicInteger attempts = new AtomicInteger();
+        CiRunSource gitlab = new CiRunSource() {
+            @Override
+            public String provider() {
+                return "gitlab";
+            }
+
+            @Override
+            public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+                if (attempts.incrementAndGet() < 3) {
+                    throw new CiProviderException("gitlab", 502, "Bad Gateway", true);
+                }
+                WorkflowRun run = new WorkflowRun();
+                run.setId(7L);
+                run.setName("pipeline");
+                return new RunPage(List.of(run), 1L);
+            }
+        };
+        fetcher = new WorkflowRunFetcher(List.of(new GitHubActionsRunSource(gitHubClient, gitHubProperties), gitlab),
+            gitHubProperties, new SimpleMeterRegistry());
+        List<WorkflowRun> fetched = new CopyOnWriteArrayList<>();
+
+        // When
+        fetcher.fetchRuns(RepositoryRef.parse("gitlab:group/sub/project"), CreatedQuery.from(START), fetched::addAll);
+
+        // Then
+        assertThat(attempts).hasValue(3);
+        assertThat(fetched).singleElement()
+            .satisfies(run -> assertThat(run.getRepositoryName()).isEqualTo("gitlab:group/sub/project"));
+        verifyNoInteractions(gitHubClient);
+    }
+
+    @Test
+    void fetchRuns_ShouldGiveUpOnNonRetryableProviderFailures() {
+        // Given
+        CiRunSource jenkins = new CiRunSource() {
+            @Override
+            public String provider() {
+                return "jenkins";
+            }
+
+            @Override
+            public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+                throw new CiProviderException("jenkins", 404, "No such job", false);
+            }
+        };
+        fetcher = new WorkflowRunFetcher(List.of(jenkins), gitHubProperties, new SimpleMeterRegistry());
+
+        // When & Then
+        assertThatThrownBy(() -> fetcher.fetchRuns(RepositoryRef.parse("jenkins:folder/job"), CreatedQuery.from(START), runs -> { }))
+            .isInstanceOf(CiProviderException.class)
+            .hasMessage("No such job");
+        assertThatThrownBy(() -> fetcher.fetchRuns(RepositoryRef.parse("org/repo"), CreatedQuery.from(START), runs -> { }))
+            .isInstanceOf(IllegalArgumentException.class);
+    }
+
+    @Test
+    void fetchRuns_WhileAPageBacksOff_ShouldLetOtherPagesTakeItsPermit() {
+        // Given: one page permit, page 2 fails once and backs off for half a second
+        gitHubProperties.setFetchParallelism(1);
+        gitHubProperties.getScheduler().setInitialBackoff(Duration.ofMillis(500));
+        AtomicInteger page2Attempts = new AtomicInteger();
+        List<Integer> completed = new CopyOnWriteArrayList<>();
+        CiRunSource source = new CiRunSource() {
+            @Override
+            public String provider() {
+                return "test";
+            }
+
+            @Override
+            public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+                if (page == 2 && page2Attempts.incrementAndGet() == 1) {
+                    throw new CiProviderException("test", 503, "Service Unavailable", true);
+                }
+                completed.add(page);
+                WorkflowRun run = new WorkflowRun();
+                run.setId((long) page);
+                return new RunPage(List.of(run), 3L);
+            }
+        };
+        gitHubProperties.setPerPage(1);
+        fetcher = new WorkflowRunFetcher(List.of(source), gitHubProperties, new SimpleMeterRegistry());
+
+        // When
+        fetcher.fetchRuns(RepositoryRef.parse("test:org/repo"), CreatedQuery.from(START), runs -> { });
+
+        // Then
+        assertThat(completed).containsExactly(1, 3, 2);
+    }
+
+    @Test
+    void fetchRuns_WhenOneRepositoryFails_ShouldCancelTheOthers() {
+        // Given
+        CountDownLatch slowStarted = new CountDownLatch(1);
+        AtomicBoolean slowInterrupted = new AtomicBoolean();
+        CiRunSource source = new CiRunSource() {
+            @Override
+            public String provider() {
+                return "test";
+            }
+
+            @Override
+            public RunPage fetchPage(RepositoryRef repository, RunQuery query, int perPage, int page) {
+                if (repository.name().equals("failing")) {
+                    awaitQuietly(slowStarted);
+                    throw new CiProviderException("test", 404, "No such project", false);
+                }
+                slowStarted.countDown();
+                try {
+                    Thread.sleep(Duration.ofSeconds(30));
+                } catch (InterruptedException e) {
+                    slowInterrupted.set(true);
+                    Thread.currentThread().interrupt();
+                }
+                return new RunPage(List.of(), 0L);
+            }
+        };
+        fetcher = new WorkflowRunFetcher(List.of(source), gitHubProperties, new SimpleMeterRegistry());
+        List<RepositoryRef> repositories = List.of(RepositoryRef.parse("test:org/slow"), RepositoryRef.parse("test:org/failing"));
+
+        // When & Then
+        assertTimeoutPreemptively(Duration.ofSeconds(10), () ->
+            assertThatThrownBy(() -> fetcher.fetchRuns(repositories, CreatedQuery.from(START), runs -> { }))
+                .isInstanceOf(CiProviderException.class));
+        assertThat(slowInterrupted).isTrue();
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void addRun(OffsetDateTime createdAt) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId((long) dataset.size() + 1);
+        run.setName("Build");
+        run.setConclusion("success");
+        run.setCreated_at(createdAt);
+        dataset.add(run);
+    }
+
+    // Pages through the runs matching the created window, but like GitHub never beyond the result cap
+    private void simulateGitHub() {
+        when(gitHubClient.getWorkflowRuns(anyString(), anyString(), anyString(), anyString(), any(), any(), any(),
+            anyInt(), anyInt())).thenAnswer(invocation -> {
+            String created = invocation.getArgument(3);
+            int perPage = invocation.getArgument(7);
+            int page = invocation.getArgument(8);
+            queries.add(created);
+            Window window = Window.parse(created);
+            List<WorkflowRun> matching = dataset.stream()
+                .filter(run -> !run.getCreated_at().isBefore(window.start()))
+                .filter(run -> window.end() == null || !run.getCreated_at().isAfter(window.end()))
+                .toList();
+            int from = Math.min((page - 1) * perPage, Math.min(matching.size(), gitHubProperties.getResultCap()));
+            int to = Math.min(from + perPage, Math.min(matching.size(), gitHubProperties.getResultCap()));
+            GitHubWorkflowResponse response = new GitHubWorkflowResponse();
+            response.setTotalCount((long) matching.size());
+            response.setWorkflowRuns(new ArrayList<>(matching.subList(from, to)));
+            return response;
+        });
+    }
+}
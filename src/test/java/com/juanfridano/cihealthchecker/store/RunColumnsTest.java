@@ -0,0 +1,139 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.juanfridano.cihealthchecker.model.Conclusion;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.service.WorkflowRunAggregator;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class RunColumnsTest {
+
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+    private static final String[] CONCLUSIONS = {"success", "failure", "cancelled", "skipped", null, "brand_new_value"};
+
+    private final RunColumns columns = new RunColumns(16);
+
+    @Test
+    void put_ShouldRoundTripRunsAndOverwriteById() {
+        WorkflowRun inProgress = createRun(7L, "camunda/camunda", "Build", null, BASE);
+        inProgress.setUpdated_at(null);
+
+        assertThat(columns.put(inProgress)).isNull();
+        assertThat(columns.get(0)).isEqualTo(inProgress);
+        assertThat(columns.contains(inProgress)).isTrue();
+
+        WorkflowRun completed = createRun(7L, "camunda/camunda", "Build", "failure", BASE);
+        assertThat(columns.contains(completed)).isFalse();
+        assertThat(columns.put(completed)).isEqualTo(Conclusion.NONE_CODE);
+        assertThat(columns.size()).isEqualTo(1);
+        assertThat(columns.get(0)).isEqualTo(completed);
+    }
+
+    @Test
+    void put_ShouldGrowColumnsAndIndexBeyondInitialCapacity() {
+        for (long id = 1; id <= 10_000; id++) {
+            columns.put(createRun(id * 7919, "camunda/camunda", "Build", "success", BASE.plusSeconds(id)));
+        }
+
+        assertThat(columns.size()).isEqualTo(10_000);
+        assertThat(columns.contains(createRun(5_000 * 7919L, "camunda/camunda", "Build", "success", BASE.plusSeconds(5_000))))
+            .isTrue();
+    }
+
+    @Test
+    void aggregate_ShouldMatchAggregatingMaterializedRuns() {
+        Random random = new Random(42);
+        List<WorkflowRun> runs = new ArrayList<>();
+        for (long id = 1; id <= 2_000; id++) {
+            WorkflowRun run = createRun(id, random.nextBoolean() ? "camunda/camunda" : "camunda/zeebe",
+                "Workflow " + random.nextInt(20), CONCLUSIONS[random.nextInt(CONCLUSIONS.length)],
+                BASE.minusMinutes(random.nextInt(10_000)));
+            run.setUpdated_at(run.getRun_started_at().plusSeconds(random.nextInt(7_200)));
+            runs.add(run);
+            columns.put(run);
+        }
+        OffsetDateTime since = BASE.minusDays(3);
+
+        WorkflowRunAggregator aggregator = new WorkflowRunAggregator();
+        aggregator.accept(runs.stream()
+            .filter(run -> "camunda/camunda".equals(run.getRepositoryName()))
+            .filter(run -> !run.getCreated_at().isBefore(since))
+            .toList());
+
+        assertThat(columns.aggregate(Set.of("camunda/camunda"), since))
+            .usingRecursiveFieldByFieldElementComparator()
+            .containsExactlyInAnyOrderElementsOf(aggregator.toEntries());
+    }
+
+    @Test
+    void writeTo_ShouldRoundTripThroughTheColumnarFormat() throws IOException {
+        WorkflowRun inProgress = createRun(1L, "camunda/camunda", "Build", null, BASE);
+        inProgress.setUpdated_at(null);
+        columns.put(inProgress);
+        columns.put(createRun(2L, "camunda/zeebe", null, "brand_new_value", BASE.plusHours(1)));
+        WorkflowRun failed = createRun(3L, "camunda/camunda", "Build", "failure", BASE.plusHours(2));
+        failed.setHead_sha("3f786850e387550fdab836ed7e6dc881de23001b");
+        failed.setRun_attempt(2);
+        columns.put(failed);
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        columns.writeTo(out);
+        RunColumns read = RunColumns.readFrom(new ByteArrayInputStream(out.toByteArray()));
+
+        assertThat(read.size()).isEqualTo(3);
+        assertThat(read.get(2).getHead_sha()).isEqualTo("3f786850e387550fdab836ed7e6dc881de23001b");
+        assertThat(read.get(2).getRun_attempt()).isEqualTo(2);
+        for (int row = 0; row < 3; row++) {
+            assertThat(read.get(row)).isEqualTo(columns.get(row));
+            assertThat(read.contains(columns.get(row))).isTrue();
+        }
+        assertThat(read.aggregate(Set.of("camunda/camunda", "camunda/zeebe"), BASE))
+            .containsExactlyInAnyOrderElementsOf(columns.aggregate(Set.of("camunda/camunda", "camunda/zeebe"), BASE));
+    }
+
+    @Test
+    void forEachByCreation_ShouldVisitRunsOldestFirst() {
+        columns.put(createRun(1L, "camunda/camunda", "Build", "success", BASE.plusHours(2)));
+        columns.put(createRun(2L, "camunda/camunda", "Build", "success", BASE));
+        columns.put(createRun(3L, "camunda/camunda", "Build", "failure", BASE.plusHours(1)));
+        List<Long> ids = new ArrayList<>();
+
+        columns.forEachByCreation(run -> ids.add(run.getId()));
+
+        assertThat(ids).containsExactly(2L, 3L, 1L);
+    }
+
+    @Test
+    void highWaterMark_ShouldPreferOldestInProgressRun() {
+        columns.put(createRun(1L, "camunda/camunda", "Build", "success", BASE));
+        columns.put(createRun(2L, "camunda/camunda", "Build", null, BASE.plusHours(1)));
+        columns.put(createRun(3L, "camunda/camunda", "Build", "success", BASE.plusHours(2)));
+
+        assertThat(columns.highWaterMark("camunda/camunda")).isEqualTo(BASE.plusHours(1));
+        assertThat(columns.highWaterMark("camunda/other")).isNull();
+    }
+
+    private WorkflowRun createRun(Long id, String repository, String name, String conclusion, OffsetDateTime createdAt) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId(id);
+        run.setRepositoryName(repository);
+        run.setName(name);
+        run.setConclusion(conclusion);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt.plusSeconds(30));
+        run.setUpdated_at(createdAt.plusMinutes(10));
+        return run;
+    }
+}
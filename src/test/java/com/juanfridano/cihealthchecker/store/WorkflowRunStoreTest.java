@@ -0,0 +1,145 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WorkflowRunStoreTest {
+
+    private static final RepositoryRef REPOSITORY = new RepositoryRef("camunda", "camunda");
+    private static final OffsetDateTime BASE = OffsetDateTime.of(2025, 6, 1, 12, 0, 0, 0, ZoneOffset.UTC);
+
+    @TempDir
+    Path tempDir;
+
+    private final ObjectMapper objectMapper = JsonMapper.builder().findAndAddModules().build();
+    private GitHubProperties gitHubProperties;
+    private WorkflowRunStore store;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gitHubProperties = new GitHubProperties();
+        gitHubProperties.getStore().setPath(tempDir.resolve("runs.jsonl").toString());
+        store = new WorkflowRunStore(gitHubProperties, objectMapper);
+        store.load();
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void upsertAll_ShouldOnlyAppendNewOrChangedRuns() throws Exception {
+        WorkflowRun run = createRun(1L, "Build", null, BASE);
+
+        assertThat(store.upsertAll(List.of(run, createRun(2L, "Build", "success", BASE.plusHours(1))))).isEqualTo(2);
+        assertThat(store.upsertAll(List.of(createRun(2L, "Build", "success", BASE.plusHours(1))))).isZero();
+        assertThat(store.upsertAll(List.of(createRun(1L, "Build", "failure", BASE)))).isEqualTo(1);
+
+        assertThat(Files.readAllLines(tempDir.resolve("runs.jsonl"))).hasSize(3);
+        assertThat(store.size()).isEqualTo(2);
+    }
+
+    @Test
+    void addCompletionListener_ShouldReplayOldestFirstAndPassOnChangedConclusions() {
+        store.upsertAll(List.of(createRun(1L, "Build", "failure", BASE.plusHours(1)), createRun(2L, "Build", "success", BASE)));
+        List<String> completions = new ArrayList<>();
+
+        store.addCompletionListener((run, previous) -> completions.add(run.getId() + ":" + previous + "->" + run.getConclusion()));
+        store.upsertAll(List.of(createRun(1L, "Build", "failure", BASE.plusHours(1))));
+        WorkflowRun rerun = createRun(1L, "Build", "success", BASE.plusHours(1));
+        rerun.setUpdated_at(BASE.plusHours(2));
+        store.upsertAll(List.of(rerun));
+
+        assertThat(completions).containsExactly("2:null->success", "1:null->failure", "1:FAILURE->success");
+    }
+
+    @Test
+    void load_ShouldReplayLatestVersionOfEachRun() throws Exception {
+        store.upsertAll(List.of(createRun(1L, "Build", null, BASE)));
+        store.upsertAll(List.of(createRun(1L, "Build", "success", BASE)));
+        store.close();
+
+        WorkflowRunStore reloaded = new WorkflowRunStore(gitHubProperties, objectMapper);
+        reloaded.load();
+        try {
+            List<WorkflowRun> runs = reloaded.findCreatedSince(List.of(REPOSITORY), BASE.minusDays(1));
+            assertThat(runs).hasSize(1);
+            assertThat(runs.get(0).getConclusion()).isEqualTo("success");
+        } finally {
+            reloaded.close();
+        }
+    }
+
+    @Test
+    void getHighWaterMark_ShouldStopAtOldestInProgressRun() {
+        assertThat(store.getHighWaterMark(REPOSITORY)).isEmpty();
+
+        store.upsertAll(List.of(
+            createRun(1L, "Build", "success", BASE),
+            createRun(2L, "Build", null, BASE.plusHours(1)),
+            createRun(3L, "Build", "success", BASE.plusHours(2))));
+        assertThat(store.getHighWaterMark(REPOSITORY)).contains(BASE.plusHours(1));
+
+        store.upsertAll(List.of(createRun(2L, "Build", "failure", BASE.plusHours(1))));
+        assertThat(store.getHighWaterMark(REPOSITORY)).contains(BASE.plusHours(2));
+    }
+
+    @Test
+    void covers_ShouldOnlyCoverWindowsStartingAtOrAfterTheOldestSyncedRun() throws Exception {
+        assertThat(store.covers(List.of(REPOSITORY), BASE)).isFalse();
+
+        store.upsertAll(List.of(createRun(1L, "Build", "success", BASE.minusDays(3))));
+        store.close();
+        store = new WorkflowRunStore(gitHubProperties, objectMapper);
+        store.load();
+        store.markSynced(REPOSITORY, BASE.minusDays(1));
+
+        assertThat(store.covers(List.of(REPOSITORY), BASE.minusDays(3))).isTrue();
+        assertThat(store.covers(List.of(REPOSITORY), BASE.minusDays(4))).isFalse();
+        assertThat(store.covers(List.of(REPOSITORY, new RepositoryRef("camunda", "other")), BASE)).isFalse();
+    }
+
+    @Test
+    void findCreatedSince_ShouldFilterByRepositoryAndCreationTime() {
+        WorkflowRun otherRepositoryRun = createRun(3L, "Build", "success", BASE);
+        otherRepositoryRun.setRepositoryName("camunda/other");
+        store.upsertAll(List.of(
+            createRun(1L, "Build", "success", BASE.minusDays(5)),
+            createRun(2L, "Build", "success", BASE),
+            otherRepositoryRun));
+
+        assertThat(store.findCreatedSince(List.of(REPOSITORY), BASE.minusDays(1)))
+            .extracting(WorkflowRun::getId)
+            .containsExactly(2L);
+    }
+
+    private WorkflowRun createRun(Long id, String name, String conclusion, OffsetDateTime createdAt) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId(id);
+        run.setRepositoryName(REPOSITORY.toString());
+        run.setName(name);
+        run.setConclusion(conclusion);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt);
+        run.setUpdated_at(createdAt.plusMinutes(10));
+        return run;
+    }
+}
@@ -0,0 +1,93 @@
+package com.juanfridano.cihealthchecker.store;
+
+import com.fasterxml.jackson.databind.json.JsonMapper;
+import com.juanfridano.cihealthchecker.config.GitHubProperties;
+import com.juanfridano.cihealthchecker.model.RepositoryRef;
+import com.juanfridano.cihealthchecker.model.WorkflowRun;
+import com.juanfridano.cihealthchecker.service.WorkflowRunFetcher;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.ArgumentCaptor;
+
+import java.nio.file.Path;
+import java.time.OffsetDateTime;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.function.Consumer;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+
+class WorkflowRunSyncServiceTest {
+
+    private static final RepositoryRef REPOSITORY = new RepositoryRef("camunda", "camunda");
+
+    @TempDir
+    Path tempDir;
+
+    private final WorkflowRunFetcher fetcher = mock(WorkflowRunFetcher.class);
+    private GitHubProperties gitHubProperties;
+    private WorkflowRunStore store;
+    private WorkflowRunSyncService syncService;
+
+    @BeforeEach
+    void setUp() throws Exception {
+        gitHubProperties = new GitHubProperties();
+        gitHubProperties.getStore().setPath(tempDir.resolve("runs.jsonl").toString());
+        store = new WorkflowRunStore(gitHubProperties, JsonMapper.builder().findAndAddModules().build());
+        store.load();
+        syncService = new WorkflowRunSyncService(fetcher, store, gitHubProperties);
+    }
+
+    @AfterEach
+    void tearDown() throws Exception {
+        store.close();
+    }
+
+    @Test
+    void sync_WithRecentHighWaterMark_ShouldGoBackOverTheResyncWindow() {
+        gitHubProperties.getStore().setResyncDays(3);
+        store.upsertAll(List.of(createRun(1L, "failure", OffsetDateTime.now(ZoneOffset.UTC).minusHours(1))));
+
+        syncService.sync(REPOSITORY);
+
+        assertThat(syncedFrom()).isCloseTo(OffsetDateTime.now(ZoneOffset.UTC).minusDays(3), within(1, ChronoUnit.MINUTES));
+    }
+
+    @Test
+    void sync_WithOlderRunStillInProgress_ShouldStartAtThatRun() {
+        OffsetDateTime created = OffsetDateTime.now(ZoneOffset.UTC).minusDays(5).truncatedTo(ChronoUnit.SECONDS);
+        store.upsertAll(List.of(createRun(1L, null, created)));
+
+        syncService.sync(REPOSITORY);
+
+        assertThat(syncedFrom()).isEqualTo(created);
+    }
+
+    @SuppressWarnings("unchecked")
+    private OffsetDateTime syncedFrom() {
+        ArgumentCaptor<String> createdQuery = ArgumentCaptor.forClass(String.class);
+        verify(fetcher).fetchRuns(eq(REPOSITORY), createdQuery.capture(), any(Consumer.class));
+        return OffsetDateTime.parse(createdQuery.getValue().substring(">=".length()));
+    }
+
+    private WorkflowRun createRun(long id, String conclusion, OffsetDateTime createdAt) {
+        WorkflowRun run = new WorkflowRun();
+        run.setId(id);
+        run.setRepositoryName(REPOSITORY.toString());
+        run.setName("Build");
+        run.setConclusion(conclusion);
+        run.setCreated_at(createdAt);
+        run.setRun_started_at(createdAt);
+        run.setUpdated_at(createdAt.plusMinutes(10));
+        return run;
+    }
+}